@@ -0,0 +1,45 @@
+package com.moviebooking.config;
+
+import com.moviebooking.patterns.singleton.AppConfigManager;
+import com.moviebooking.patterns.singleton.ConfigSnapshot;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Applies moviebook.config.* properties (e.g. moviebook.config.seat.max.per.booking=8) over the
+ * AppConfigManager defaults on startup, so application-{profile}.properties and environment
+ * variables can tune them. Invalid values stop the application from starting.
+ */
+@Component
+public class AppConfigBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(AppConfigBinder.class);
+    private static final String PREFIX = "moviebook.config";
+
+    private final Environment environment;
+
+    public AppConfigBinder(Environment environment) {
+        this.environment = environment;
+    }
+
+    @PostConstruct
+    public void init() {
+        Map<String, String> overrides = Binder.get(environment)
+                .bind(PREFIX, Bindable.mapOf(String.class, String.class))
+                .orElse(Map.of());
+        if (overrides.isEmpty()) return;
+        try {
+            ConfigSnapshot snapshot = AppConfigManager.getInstance().update(overrides);
+            log.info("Applied {} {}.* overrides, config v{}", overrides.size(), PREFIX, snapshot.version());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalStateException("Invalid " + PREFIX + " property: " + e.getMessage(), e);
+        }
+    }
+}
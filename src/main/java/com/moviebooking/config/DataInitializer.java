@@ -216,6 +216,8 @@ public class DataInitializer implements CommandLineRunner {
         t1.setTheaterType(TheaterType.REGULAR);
         t1.setTotalScreens(3);
         t1.setFacilities("Parking, Food Court, Wheelchair Access");
+        t1.setLatitude(new BigDecimal("12.99720000"));
+        t1.setLongitude(new BigDecimal("77.69590000"));
         t1.setIsActive(true);
         t1 = theaterRepository.save(t1);
 
@@ -233,6 +235,8 @@ public class DataInitializer implements CommandLineRunner {
         t2.setTheaterType(TheaterType.IMAX);
         t2.setTotalScreens(2);
         t2.setFacilities("IMAX, Dolby Atmos, Premium Lounge, Valet Parking");
+        t2.setLatitude(new BigDecimal("12.97560000"));
+        t2.setLongitude(new BigDecimal("77.60650000"));
         t2.setIsActive(true);
         t2 = theaterRepository.save(t2);
 
@@ -249,6 +253,8 @@ public class DataInitializer implements CommandLineRunner {
         t3.setTheaterType(TheaterType.FOUR_DX);
         t3.setTotalScreens(1);
         t3.setFacilities("4DX Motion Seats, Wind, Water, Scent Effects");
+        t3.setLatitude(new BigDecimal("12.99170000"));
+        t3.setLongitude(new BigDecimal("77.57060000"));
         t3.setIsActive(true);
         t3 = theaterRepository.save(t3);
 
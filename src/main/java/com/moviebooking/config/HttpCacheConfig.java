@@ -0,0 +1,25 @@
+package com.moviebooking.config;
+
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+
+/**
+ * Content-hash ETags for public responses that have no version counter.
+ * Versioned endpoints (movies, reviews, showtimes) set their own ETags in the controller and
+ * answer 304 before building a body; this filter still renders the body, but a matching
+ * If-None-Match sends no payload back.
+ */
+@Configuration
+public class HttpCacheConfig {
+
+    @Bean
+    public FilterRegistrationBean<ShallowEtagHeaderFilter> menuEtagFilter() {
+        FilterRegistrationBean<ShallowEtagHeaderFilter> registration =
+                new FilterRegistrationBean<>(new ShallowEtagHeaderFilter());
+        registration.addUrlPatterns("/api/food/menu", "/api/food/menu/*");
+        registration.setName("menuEtagFilter");
+        return registration;
+    }
+}
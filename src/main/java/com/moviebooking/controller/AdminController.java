@@ -1,13 +1,23 @@
 package com.moviebooking.controller;
 
 import com.moviebooking.dto.*;
+import com.moviebooking.entity.Holiday;
 import com.moviebooking.entity.Movie;
+import com.moviebooking.entity.PromoCode;
+import com.moviebooking.entity.User;
 import com.moviebooking.entity.enums.TheaterType;
+import com.moviebooking.exception.BadRequestException;
+import com.moviebooking.patterns.singleton.AppConfigManager;
+import com.moviebooking.patterns.singleton.ConfigSnapshot;
+import com.moviebooking.patterns.strategy.HolidayCalendar;
+import com.moviebooking.patterns.strategy.PricingEngine;
 import com.moviebooking.service.*;
 import jakarta.validation.Valid;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -20,13 +30,26 @@ public class AdminController {
     private final MovieService movieService;
     private final TheaterService theaterService;
     private final ShowtimeService showtimeService;
+    private final EmailDispatcher emailDispatcher;
+    private final MovieCatalogCache catalogCache;
+    private final RecommendationEngine recommendationEngine;
+    private final PricingEngine pricingEngine;
+    private final HolidayCalendar holidayCalendar;
 
     public AdminController(AdminService adminService, MovieService movieService,
-                          TheaterService theaterService, ShowtimeService showtimeService) {
+                          TheaterService theaterService, ShowtimeService showtimeService,
+                          EmailDispatcher emailDispatcher, MovieCatalogCache catalogCache,
+                          RecommendationEngine recommendationEngine, PricingEngine pricingEngine,
+                          HolidayCalendar holidayCalendar) {
         this.adminService = adminService;
         this.movieService = movieService;
         this.theaterService = theaterService;
         this.showtimeService = showtimeService;
+        this.emailDispatcher = emailDispatcher;
+        this.catalogCache = catalogCache;
+        this.recommendationEngine = recommendationEngine;
+        this.pricingEngine = pricingEngine;
+        this.holidayCalendar = holidayCalendar;
     }
 
     // ---- Dashboard ----
@@ -69,11 +92,20 @@ public class AdminController {
     }
 
     // ---- Theater Management ----
+    /** @deprecated unbounded; use /theaters/page */
+    @Deprecated
     @GetMapping("/theaters")
     public ResponseEntity<ApiResponse<List<TheaterDto>>> getAllTheaters() {
         return ResponseEntity.ok(ApiResponse.success(theaterService.getAllTheaters()));
     }
 
+    @GetMapping("/theaters/page")
+    public ResponseEntity<ApiResponse<CursorPage<TheaterDto>>> getTheatersPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + CursorPage.DEFAULT_SIZE) int size) {
+        return ResponseEntity.ok(ApiResponse.success(theaterService.getTheatersPage(cursor, size)));
+    }
+
     @GetMapping("/theaters/{id}")
     public ResponseEntity<ApiResponse<TheaterDto>> getTheater(@PathVariable Long id) {
         return ResponseEntity.ok(ApiResponse.success(theaterService.getTheaterById(id)));
@@ -83,11 +115,19 @@ public class AdminController {
     public ResponseEntity<ApiResponse<TheaterDto>> createTheater(@Valid @RequestBody AdminTheaterRequest req) {
         TheaterDto theater = theaterService.createTheater(req.getName(), req.getLocation(), req.getCity(),
                 req.getState(), req.getPincode(), TheaterType.valueOf(req.getTheaterType()),
-                req.getTotalScreens(), req.getFacilities());
+                req.getTotalScreens(), req.getFacilities(), req.getLatitude(), req.getLongitude());
         return ResponseEntity.ok(ApiResponse.success(theater));
     }
 
     // ---- Showtime Management ----
+    @GetMapping("/showtimes/page")
+    public ResponseEntity<ApiResponse<CursorPage<ShowtimeDto>>> getShowtimesPage(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + CursorPage.DEFAULT_SIZE) int size) {
+        return ResponseEntity.ok(ApiResponse.success(showtimeService.getShowtimesPage(from, cursor, size)));
+    }
+
     @PostMapping("/showtimes")
     public ResponseEntity<ApiResponse<ShowtimeDto>> createShowtime(@Valid @RequestBody AdminShowtimeRequest req) {
         ShowtimeDto showtime = showtimeService.createShowtime(req.getMovieId(), req.getScreenId(),
@@ -102,22 +142,22 @@ public class AdminController {
     }
 
     // ---- User Management ----
+    /** @deprecated unbounded; use /users/page */
+    @Deprecated
     @GetMapping("/users")
     public ResponseEntity<ApiResponse<List<Map<String, Object>>>> getAllUsers() {
-        List<Map<String, Object>> users = adminService.getAllUsers().stream().map(u -> {
-            Map<String, Object> map = new java.util.HashMap<>();
-            map.put("id", u.getId());
-            map.put("email", u.getEmail());
-            map.put("fullName", u.getFullName());
-            map.put("phone", u.getPhone());
-            map.put("role", u.getRole().name());
-            map.put("isActive", u.getIsActive());
-            map.put("createdAt", u.getCreatedAt());
-            return map;
-        }).collect(Collectors.toList());
+        List<Map<String, Object>> users = adminService.getAllUsers().stream()
+                .map(this::toUserMap).collect(Collectors.toList());
         return ResponseEntity.ok(ApiResponse.success(users));
     }
 
+    @GetMapping("/users/page")
+    public ResponseEntity<ApiResponse<CursorPage<Map<String, Object>>>> getUsersPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + CursorPage.DEFAULT_SIZE) int size) {
+        return ResponseEntity.ok(ApiResponse.success(adminService.getUsersPage(cursor, size).map(this::toUserMap)));
+    }
+
     @PostMapping("/users/{id}/toggle-status")
     public ResponseEntity<ApiResponse<String>> toggleUserStatus(@PathVariable Long id) {
         adminService.toggleUserStatus(id);
@@ -125,23 +165,126 @@ public class AdminController {
     }
 
     // ---- Promo Codes ----
+    /** @deprecated unbounded; use /promo-codes/page */
+    @Deprecated
     @GetMapping("/promo-codes")
     public ResponseEntity<ApiResponse<List<Map<String, Object>>>> getPromoCodes() {
-        List<Map<String, Object>> codes = adminService.getAllPromoCodes().stream().map(pc -> {
-            Map<String, Object> map = new java.util.HashMap<>();
-            map.put("id", pc.getId());
-            map.put("code", pc.getCode());
-            map.put("discountType", pc.getDiscountType().name());
-            map.put("discountValue", pc.getDiscountValue());
-            map.put("minimumAmount", pc.getMinimumAmount());
-            map.put("maxDiscount", pc.getMaxDiscount());
-            map.put("maxUsage", pc.getMaxUsage());
-            map.put("currentUsage", pc.getCurrentUsage());
-            map.put("validFrom", pc.getValidFrom());
-            map.put("validUntil", pc.getValidUntil());
-            map.put("isActive", pc.getIsActive());
-            return map;
-        }).collect(Collectors.toList());
+        List<Map<String, Object>> codes = adminService.getAllPromoCodes().stream()
+                .map(this::toPromoCodeMap).collect(Collectors.toList());
         return ResponseEntity.ok(ApiResponse.success(codes));
     }
+
+    @GetMapping("/promo-codes/page")
+    public ResponseEntity<ApiResponse<CursorPage<Map<String, Object>>>> getPromoCodesPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + CursorPage.DEFAULT_SIZE) int size) {
+        return ResponseEntity.ok(ApiResponse.success(adminService.getPromoCodesPage(cursor, size).map(this::toPromoCodeMap)));
+    }
+
+    // ---- Email Delivery ----
+    @GetMapping("/email/stats")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> getEmailStats() {
+        return ResponseEntity.ok(ApiResponse.success(emailDispatcher.getStats()));
+    }
+
+    @GetMapping("/cache/catalog/stats")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> getCatalogCacheStats() {
+        return ResponseEntity.ok(ApiResponse.success(catalogCache.getStats()));
+    }
+
+    // ---- Configuration ----
+    @GetMapping("/config")
+    public ResponseEntity<ApiResponse<ConfigSnapshot>> getConfig() {
+        return ResponseEntity.ok(ApiResponse.success(AppConfigManager.getInstance().snapshot()));
+    }
+
+    /** Change several settings at once; all are applied together or, if any is invalid, none */
+    @PutMapping("/config")
+    public ResponseEntity<ApiResponse<ConfigSnapshot>> updateConfig(@RequestBody Map<String, String> changes) {
+        if (changes == null || changes.isEmpty()) {
+            throw new BadRequestException("No configuration changes given");
+        }
+        try {
+            return ResponseEntity.ok(ApiResponse.success("Configuration updated", AppConfigManager.getInstance().update(changes)));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid configuration: " + e.getMessage());
+        }
+    }
+
+    // ---- Pricing ----
+    @GetMapping("/pricing/rules")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> getPricingRules() {
+        return ResponseEntity.ok(ApiResponse.success(pricingEngine.currentRules().describe()));
+    }
+
+    @PostMapping("/pricing/rules/reload")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> reloadPricingRules() {
+        return ResponseEntity.ok(ApiResponse.success("Pricing rules reloaded", pricingEngine.reload().describe()));
+    }
+
+    @GetMapping("/pricing/holidays")
+    public ResponseEntity<ApiResponse<List<Map<String, Object>>>> getHolidays(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        LocalDate start = from != null ? from : LocalDate.now().withDayOfYear(1);
+        LocalDate end = to != null ? to : start.plusYears(1).minusDays(1);
+        List<Map<String, Object>> holidays = holidayCalendar.list(start, end).stream()
+                .map(this::toHolidayMap).collect(Collectors.toList());
+        return ResponseEntity.ok(ApiResponse.success(holidays));
+    }
+
+    @PostMapping("/pricing/holidays")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> addHoliday(@Valid @RequestBody AdminHolidayRequest req) {
+        Holiday holiday = holidayCalendar.add(req.getDate(), req.getName(), req.getState(), req.getCity());
+        return ResponseEntity.ok(ApiResponse.success("Holiday added", toHolidayMap(holiday)));
+    }
+
+    @DeleteMapping("/pricing/holidays/{id}")
+    public ResponseEntity<ApiResponse<String>> removeHoliday(@PathVariable Long id) {
+        holidayCalendar.remove(id);
+        return ResponseEntity.ok(ApiResponse.success("Holiday removed"));
+    }
+
+    @GetMapping("/recommendations/stats")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> getRecommendationStats() {
+        return ResponseEntity.ok(ApiResponse.success(recommendationEngine.getStats()));
+    }
+
+    private Map<String, Object> toUserMap(User u) {
+        Map<String, Object> map = new java.util.HashMap<>();
+        map.put("id", u.getId());
+        map.put("email", u.getEmail());
+        map.put("fullName", u.getFullName());
+        map.put("phone", u.getPhone());
+        map.put("role", u.getRole().name());
+        map.put("isActive", u.getIsActive());
+        map.put("createdAt", u.getCreatedAt());
+        return map;
+    }
+
+    private Map<String, Object> toPromoCodeMap(PromoCode pc) {
+        Map<String, Object> map = new java.util.HashMap<>();
+        map.put("id", pc.getId());
+        map.put("code", pc.getCode());
+        map.put("discountType", pc.getDiscountType().name());
+        map.put("discountValue", pc.getDiscountValue());
+        map.put("minimumAmount", pc.getMinimumAmount());
+        map.put("maxDiscount", pc.getMaxDiscount());
+        map.put("maxUsage", pc.getMaxUsage());
+        map.put("currentUsage", pc.getCurrentUsage());
+        map.put("validFrom", pc.getValidFrom());
+        map.put("validUntil", pc.getValidUntil());
+        map.put("isActive", pc.getIsActive());
+        return map;
+    }
+
+    private Map<String, Object> toHolidayMap(Holiday h) {
+        Map<String, Object> map = new java.util.HashMap<>();
+        map.put("id", h.getId());
+        map.put("date", h.getHolidayDate());
+        map.put("name", h.getName());
+        map.put("state", h.getState());
+        map.put("city", h.getCity());
+        return map;
+    }
 }
@@ -1,10 +1,17 @@
 package com.moviebooking.controller;
 
 import com.moviebooking.dto.ApiResponse;
+import com.moviebooking.dto.CubeQueryRequest;
+import com.moviebooking.exception.BadRequestException;
 import com.moviebooking.service.AnalyticsService;
+import com.moviebooking.service.RevenueRollupService;
+import com.moviebooking.service.SalesCube;
+import com.moviebooking.service.SeatHeatmapService;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
 
@@ -13,9 +20,16 @@ import java.util.Map;
 public class AnalyticsController {
 
     private final AnalyticsService analyticsService;
+    private final RevenueRollupService revenueRollupService;
+    private final SalesCube salesCube;
+    private final SeatHeatmapService seatHeatmapService;
 
-    public AnalyticsController(AnalyticsService analyticsService) {
+    public AnalyticsController(AnalyticsService analyticsService, RevenueRollupService revenueRollupService,
+                               SalesCube salesCube, SeatHeatmapService seatHeatmapService) {
         this.analyticsService = analyticsService;
+        this.revenueRollupService = revenueRollupService;
+        this.salesCube = salesCube;
+        this.seatHeatmapService = seatHeatmapService;
     }
 
     @GetMapping("/summary")
@@ -29,6 +43,58 @@ public class AnalyticsController {
         return ResponseEntity.ok(ApiResponse.success(analyticsService.getDailyRevenue(days)));
     }
 
+    /**
+     * Confirmed revenue over an arbitrary date range from the daily rollup.
+     * groupBy is one of day, theater, movie, paymentMethod.
+     */
+    @GetMapping("/revenue/range")
+    public ResponseEntity<ApiResponse<List<Map<String, Object>>>> getRevenueRange(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "day") String groupBy,
+            @RequestParam(required = false) Long theaterId,
+            @RequestParam(required = false) Long movieId) {
+        return ResponseEntity.ok(ApiResponse.success(
+                revenueRollupService.getRange(from, to, parseGroupBy(groupBy), theaterId, movieId)));
+    }
+
+    @PostMapping("/rollup/backfill")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> backfillRollup(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(ApiResponse.success("Revenue rollup rebuilt", revenueRollupService.backfill(from, to)));
+    }
+
+    /**
+     * Ad-hoc slice of seat sales: any group-by and filter combination over movie, theater,
+     * theater/screen/seat type, payment method, date, weekday and hour.
+     */
+    @PostMapping("/cube/query")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> queryCube(@RequestBody CubeQueryRequest request) {
+        return ResponseEntity.ok(ApiResponse.success(salesCube.query(request)));
+    }
+
+    @GetMapping("/cube/stats")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> getCubeStats() {
+        return ResponseEntity.ok(ApiResponse.success(salesCube.getStats()));
+    }
+
+    @PostMapping("/cube/rebuild")
+    public ResponseEntity<ApiResponse<Void>> rebuildCube() {
+        salesCube.requestRebuild();
+        return ResponseEntity.ok(ApiResponse.success("Sales cube rebuild queued"));
+    }
+
+    @GetMapping("/heatmap/screens/{screenId}")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> getSeatHeatmap(@PathVariable Long screenId) {
+        return ResponseEntity.ok(ApiResponse.success(seatHeatmapService.getHeatmap(screenId)));
+    }
+
+    @PostMapping("/heatmap/backfill")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> backfillSeatHeatmap() {
+        return ResponseEntity.ok(ApiResponse.success("Seat heatmap rebuilt", seatHeatmapService.backfill()));
+    }
+
     @GetMapping("/bookings/status")
     public ResponseEntity<ApiResponse<Map<String, Long>>> getBookingStatus() {
         return ResponseEntity.ok(ApiResponse.success(analyticsService.getBookingStatusDistribution()));
@@ -48,4 +114,14 @@ public class AnalyticsController {
     public ResponseEntity<ApiResponse<Map<String, Long>>> getPaymentMethods() {
         return ResponseEntity.ok(ApiResponse.success(analyticsService.getPaymentMethodDistribution()));
     }
+
+    private RevenueRollupService.GroupBy parseGroupBy(String groupBy) {
+        return switch (groupBy.toLowerCase()) {
+            case "day" -> RevenueRollupService.GroupBy.DAY;
+            case "theater" -> RevenueRollupService.GroupBy.THEATER;
+            case "movie" -> RevenueRollupService.GroupBy.MOVIE;
+            case "paymentmethod" -> RevenueRollupService.GroupBy.PAYMENT_METHOD;
+            default -> throw new BadRequestException("groupBy must be one of day, theater, movie, paymentMethod");
+        };
+    }
 }
@@ -0,0 +1,49 @@
+package com.moviebooking.controller;
+
+import com.moviebooking.dto.ApiResponse;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * Conditional GET handling for the public read endpoints.
+ * The ETag is compared before the body supplier runs, so a matching If-None-Match costs
+ * neither a lookup nor serialisation.
+ */
+final class ConditionalResponses {
+
+    /** Catalog data changes rarely; clients may reuse it briefly, then revalidate */
+    static final CacheControl CATALOG = CacheControl.maxAge(Duration.ofSeconds(60)).cachePublic();
+    /** Seat counts change with every booking, so always revalidate */
+    static final CacheControl SHOWTIMES = CacheControl.noCache().cachePublic();
+
+    private ConditionalResponses() {
+    }
+
+    static <T> ResponseEntity<ApiResponse<T>> ok(WebRequest request, String etag, CacheControl cacheControl,
+                                                Supplier<T> body) {
+        if (matches(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(cacheControl).build();
+        }
+        return ResponseEntity.ok().eTag(etag).cacheControl(cacheControl).body(ApiResponse.success(body.get()));
+    }
+
+    /**
+     * If-None-Match uses weak comparison: W/ prefixes are ignored. "*" is not honoured: it would
+     * answer 304 before the lookup that decides whether the resource exists at all.
+     */
+    private static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) return false;
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) tag = tag.substring(2);
+            if (tag.equals(etag)) return true;
+        }
+        return false;
+    }
+}
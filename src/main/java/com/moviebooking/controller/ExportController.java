@@ -0,0 +1,64 @@
+package com.moviebooking.controller;
+
+import com.moviebooking.exception.BadRequestException;
+import com.moviebooking.service.ExportService;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Bulk finance dumps. The file is written to the response while rows are read, gzip-compressed
+ * unless gzip=false, so exports of any size run in constant memory.
+ */
+@RestController
+@RequestMapping("/api/admin/export")
+public class ExportController {
+
+    private static final int GZIP_BUFFER_BYTES = 64 * 1024;
+
+    private final ExportService exportService;
+
+    public ExportController(ExportService exportService) {
+        this.exportService = exportService;
+    }
+
+    @GetMapping("/{dataset}")
+    public void export(@PathVariable String dataset,
+                       @RequestParam(defaultValue = "csv") String format,
+                       @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                       @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                       @RequestParam(required = false) Long theaterId,
+                       @RequestParam(defaultValue = "true") boolean gzip,
+                       HttpServletResponse response) throws IOException {
+        ExportService.Dataset exportDataset = parse(ExportService.Dataset.class, dataset, "dataset must be bookings or payments");
+        ExportService.Format exportFormat = parse(ExportService.Format.class, format, "format must be csv or ndjson");
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new BadRequestException("from must not be after to");
+        }
+
+        String extension = exportFormat == ExportService.Format.CSV ? "csv" : "ndjson";
+        String filename = exportDataset.name().toLowerCase() + "-" + LocalDate.now() + "." + extension + (gzip ? ".gz" : "");
+        response.setContentType(gzip ? "application/gzip"
+                : exportFormat == ExportService.Format.CSV ? "text/csv;charset=UTF-8" : "application/x-ndjson;charset=UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"");
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "no-store");
+
+        OutputStream out = response.getOutputStream();
+        if (gzip) out = new GZIPOutputStream(out, GZIP_BUFFER_BYTES);
+        exportService.export(exportDataset, exportFormat, from, to, theaterId, out);
+    }
+
+    private static <E extends Enum<E>> E parse(Class<E> type, String value, String message) {
+        try {
+            return Enum.valueOf(type, value.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException(message);
+        }
+    }
+}
@@ -7,9 +7,11 @@ import com.moviebooking.entity.enums.FoodCategory;
 import com.moviebooking.patterns.decorator.BookingComponent;
 import com.moviebooking.service.FoodService;
 import jakarta.validation.Valid;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.Duration;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -18,6 +20,12 @@ import java.util.Map;
 @RequestMapping("/api/food")
 public class FoodController {
 
+    /**
+     * The menu only changes through data loads; its ETag is a content hash (see HttpCacheConfig).
+     * Private because the endpoint requires authentication.
+     */
+    private static final CacheControl MENU_CACHE = CacheControl.maxAge(Duration.ofMinutes(5)).cachePrivate();
+
     private final FoodService foodService;
 
     public FoodController(FoodService foodService) {
@@ -27,14 +35,14 @@ public class FoodController {
     @GetMapping("/menu")
     public ResponseEntity<ApiResponse<List<FoodItem>>> getMenu() {
         List<FoodItem> items = foodService.getAvailableItems();
-        return ResponseEntity.ok(ApiResponse.success("Menu retrieved", items));
+        return ResponseEntity.ok().cacheControl(MENU_CACHE).body(ApiResponse.success("Menu retrieved", items));
     }
 
     @GetMapping("/menu/{category}")
     public ResponseEntity<ApiResponse<List<FoodItem>>> getMenuByCategory(@PathVariable String category) {
         FoodCategory cat = FoodCategory.valueOf(category.toUpperCase());
         List<FoodItem> items = foodService.getItemsByCategory(cat);
-        return ResponseEntity.ok(ApiResponse.success("Menu items retrieved", items));
+        return ResponseEntity.ok().cacheControl(MENU_CACHE).body(ApiResponse.success("Menu items retrieved", items));
     }
 
     @PostMapping("/order")
@@ -1,6 +1,8 @@
 package com.moviebooking.controller;
 
+import com.moviebooking.patterns.singleton.AppConfigManager;
 import org.springframework.stereotype.Controller;
+import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 
@@ -33,7 +35,9 @@ public class HomeController {
     }
 
     @GetMapping("/payment/{bookingId}")
-    public String paymentPage(@PathVariable Long bookingId) {
+    public String paymentPage(@PathVariable Long bookingId, Model model) {
+        model.addAttribute("gstPercent",
+                AppConfigManager.getInstance().snapshot().gstRate().movePointRight(2).stripTrailingZeros().toPlainString());
         return "payment";
     }
 
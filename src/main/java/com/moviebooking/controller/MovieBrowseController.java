@@ -1,12 +1,18 @@
 package com.moviebooking.controller;
 
 import com.moviebooking.dto.ApiResponse;
+import com.moviebooking.dto.AutocompleteSuggestion;
+import com.moviebooking.dto.CursorPage;
 import com.moviebooking.dto.MovieDto;
+import com.moviebooking.service.AutocompleteService;
+import com.moviebooking.service.ContentVersions;
 import com.moviebooking.service.MovieService;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
+import java.util.function.Supplier;
 
 /**
  * Public movie browsing API - no authentication required.
@@ -16,44 +22,73 @@ import java.util.List;
 public class MovieBrowseController {
 
     private final MovieService movieService;
+    private final AutocompleteService autocompleteService;
+    private final ContentVersions contentVersions;
 
-    public MovieBrowseController(MovieService movieService) {
+    public MovieBrowseController(MovieService movieService, AutocompleteService autocompleteService,
+                                 ContentVersions contentVersions) {
         this.movieService = movieService;
+        this.autocompleteService = autocompleteService;
+        this.contentVersions = contentVersions;
     }
 
+    /** @deprecated unbounded; use /browse/now-showing/page */
+    @Deprecated
     @GetMapping("/browse/now-showing")
-    public ResponseEntity<ApiResponse<List<MovieDto>>> getNowShowing() {
-        return ResponseEntity.ok(ApiResponse.success(movieService.getNowShowingMovies()));
+    public ResponseEntity<ApiResponse<List<MovieDto>>> getNowShowing(WebRequest request) {
+        return catalog(request, movieService::getNowShowingMovies);
+    }
+
+    @GetMapping("/browse/now-showing/page")
+    public ResponseEntity<ApiResponse<CursorPage<MovieDto>>> getNowShowingPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + CursorPage.DEFAULT_SIZE) int size,
+            WebRequest request) {
+        return catalog(request, () -> movieService.getNowShowingPage(cursor, size));
     }
 
     @GetMapping("/browse/upcoming")
-    public ResponseEntity<ApiResponse<List<MovieDto>>> getUpcoming() {
-        return ResponseEntity.ok(ApiResponse.success(movieService.getUpcomingMovies()));
+    public ResponseEntity<ApiResponse<List<MovieDto>>> getUpcoming(WebRequest request) {
+        return catalog(request, movieService::getUpcomingMovies);
     }
 
     @GetMapping("/browse/trending")
     public ResponseEntity<ApiResponse<List<MovieDto>>> getTrending(
-            @RequestParam(defaultValue = "5") int limit) {
-        return ResponseEntity.ok(ApiResponse.success(movieService.getTrendingMovies(limit)));
+            @RequestParam(defaultValue = "5") int limit, WebRequest request) {
+        return catalog(request, () -> movieService.getTrendingMovies(limit));
     }
 
     @GetMapping("/browse/{id}")
-    public ResponseEntity<ApiResponse<MovieDto>> getMovie(@PathVariable Long id) {
-        return ResponseEntity.ok(ApiResponse.success(movieService.getMovieById(id)));
+    public ResponseEntity<ApiResponse<MovieDto>> getMovie(@PathVariable Long id, WebRequest request) {
+        return catalog(request, () -> movieService.getMovieById(id));
     }
 
     @GetMapping("/search")
-    public ResponseEntity<ApiResponse<List<MovieDto>>> searchMovies(@RequestParam String q) {
-        return ResponseEntity.ok(ApiResponse.success(movieService.searchMovies(q)));
+    public ResponseEntity<ApiResponse<List<MovieDto>>> searchMovies(@RequestParam String q, WebRequest request) {
+        return catalog(request, () -> movieService.searchMovies(q));
+    }
+
+    /** Popularity-ranked and rebuilt in the background, so no validator; just a short max-age */
+    @GetMapping("/search/autocomplete")
+    public ResponseEntity<ApiResponse<List<AutocompleteSuggestion>>> autocomplete(
+            @RequestParam String q, @RequestParam(defaultValue = "8") int limit) {
+        return ResponseEntity.ok().cacheControl(ConditionalResponses.CATALOG)
+                .body(ApiResponse.success(autocompleteService.suggest(q, limit)));
     }
 
     @GetMapping("/browse/genre/{genre}")
-    public ResponseEntity<ApiResponse<List<MovieDto>>> getByGenre(@PathVariable String genre) {
-        return ResponseEntity.ok(ApiResponse.success(movieService.getMoviesByGenre(genre)));
+    public ResponseEntity<ApiResponse<List<MovieDto>>> getByGenre(@PathVariable String genre, WebRequest request) {
+        return catalog(request, () -> movieService.getMoviesByGenre(genre));
     }
 
     @GetMapping("/browse/language/{language}")
-    public ResponseEntity<ApiResponse<List<MovieDto>>> getByLanguage(@PathVariable String language) {
-        return ResponseEntity.ok(ApiResponse.success(movieService.getMoviesByLanguage(language)));
+    public ResponseEntity<ApiResponse<List<MovieDto>>> getByLanguage(@PathVariable String language,
+                                                                     WebRequest request) {
+        return catalog(request, () -> movieService.getMoviesByLanguage(language));
+    }
+
+    private <T> ResponseEntity<ApiResponse<T>> catalog(WebRequest request, Supplier<T> body) {
+        return ConditionalResponses.ok(request, contentVersions.etag(ContentVersions.Scope.CATALOG),
+                ConditionalResponses.CATALOG, body);
     }
 }
@@ -0,0 +1,45 @@
+package com.moviebooking.controller;
+
+import com.moviebooking.dto.ApiResponse;
+import com.moviebooking.dto.MovieDto;
+import com.moviebooking.entity.User;
+import com.moviebooking.repository.UserRepository;
+import com.moviebooking.service.MovieService;
+import com.moviebooking.service.RecommendationEngine;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Per-user movie recommendations; requires authentication.
+ */
+@RestController
+@RequestMapping("/api/movies")
+public class RecommendationController {
+
+    private final RecommendationEngine recommendationEngine;
+    private final MovieService movieService;
+    private final UserRepository userRepository;
+
+    public RecommendationController(RecommendationEngine recommendationEngine, MovieService movieService,
+                                    UserRepository userRepository) {
+        this.recommendationEngine = recommendationEngine;
+        this.movieService = movieService;
+        this.userRepository = userRepository;
+    }
+
+    @GetMapping("/recommended")
+    public ResponseEntity<ApiResponse<List<MovieDto>>> getRecommended(
+            @AuthenticationPrincipal UserDetails userDetails,
+            @RequestParam(defaultValue = "10") int limit) {
+        User user = userRepository.findByEmail(userDetails.getUsername()).orElseThrow();
+        int capped = Math.max(1, Math.min(limit, recommendationEngine.getTopK()));
+        List<MovieDto> movies = movieService.getNowShowingByIds(recommendationEngine.recommendFor(user.getId(), capped));
+        return ResponseEntity.ok().cacheControl(CacheControl.noStore())
+                .body(ApiResponse.success(movies));
+    }
+}
@@ -2,17 +2,21 @@ package com.moviebooking.controller;
 
 import com.moviebooking.dto.ApiResponse;
 import com.moviebooking.dto.CreateReviewRequest;
+import com.moviebooking.dto.CursorPage;
 import com.moviebooking.dto.ReviewDto;
 import com.moviebooking.entity.User;
 import com.moviebooking.repository.UserRepository;
+import com.moviebooking.service.ContentVersions;
 import com.moviebooking.service.ReviewService;
 import jakarta.validation.Valid;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
+import java.util.function.Supplier;
 
 @RestController
 @RequestMapping("/api/reviews")
@@ -20,20 +24,33 @@ public class ReviewController {
 
     private final ReviewService reviewService;
     private final UserRepository userRepository;
+    private final ContentVersions contentVersions;
 
-    public ReviewController(ReviewService reviewService, UserRepository userRepository) {
+    public ReviewController(ReviewService reviewService, UserRepository userRepository,
+                            ContentVersions contentVersions) {
         this.reviewService = reviewService;
         this.userRepository = userRepository;
+        this.contentVersions = contentVersions;
     }
 
     @GetMapping("/movie/{movieId}")
-    public ResponseEntity<ApiResponse<List<ReviewDto>>> getMovieReviews(@PathVariable Long movieId) {
-        return ResponseEntity.ok(ApiResponse.success(reviewService.getReviewsForMovie(movieId)));
+    public ResponseEntity<ApiResponse<List<ReviewDto>>> getMovieReviews(@PathVariable Long movieId,
+                                                                        WebRequest request) {
+        return catalog(request, () -> reviewService.getReviewsForMovie(movieId));
+    }
+
+    @GetMapping("/movie/{movieId}/page")
+    public ResponseEntity<ApiResponse<CursorPage<ReviewDto>>> getMovieReviewsPage(
+            @PathVariable Long movieId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + CursorPage.DEFAULT_SIZE) int size,
+            WebRequest request) {
+        return catalog(request, () -> reviewService.getReviewsForMoviePage(movieId, cursor, size));
     }
 
     @GetMapping("/movie/{movieId}/rating")
-    public ResponseEntity<ApiResponse<Double>> getAverageRating(@PathVariable Long movieId) {
-        return ResponseEntity.ok(ApiResponse.success(reviewService.getAverageRating(movieId)));
+    public ResponseEntity<ApiResponse<Double>> getAverageRating(@PathVariable Long movieId, WebRequest request) {
+        return catalog(request, () -> reviewService.getAverageRating(movieId));
     }
 
     @PostMapping
@@ -64,4 +81,9 @@ public class ReviewController {
         reviewService.deleteReview(user, movieId);
         return ResponseEntity.ok(ApiResponse.success("Review deleted"));
     }
+
+    private <T> ResponseEntity<ApiResponse<T>> catalog(WebRequest request, Supplier<T> body) {
+        return ConditionalResponses.ok(request, contentVersions.etag(ContentVersions.Scope.CATALOG),
+                ConditionalResponses.CATALOG, body);
+    }
 }
@@ -4,6 +4,8 @@ import com.moviebooking.dto.ApiResponse;
 import com.moviebooking.dto.SeatLockRequest;
 import com.moviebooking.entity.SeatLock;
 import com.moviebooking.entity.User;
+import com.moviebooking.patterns.singleton.AppConfigManager;
+import com.moviebooking.service.PriceQuoteService;
 import com.moviebooking.service.SeatService;
 import com.moviebooking.service.UserService;
 import jakarta.validation.Valid;
@@ -12,6 +14,7 @@ import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 
+import java.math.BigDecimal;
 import java.util.List;
 import java.util.Map;
 
@@ -21,10 +24,12 @@ public class SeatController {
 
     private final SeatService seatService;
     private final UserService userService;
+    private final PriceQuoteService priceQuotes;
 
-    public SeatController(SeatService seatService, UserService userService) {
+    public SeatController(SeatService seatService, UserService userService, PriceQuoteService priceQuotes) {
         this.seatService = seatService;
         this.userService = userService;
+        this.priceQuotes = priceQuotes;
     }
 
     @GetMapping("/showtime/{showtimeId}")
@@ -38,8 +43,13 @@ public class SeatController {
                                                          @AuthenticationPrincipal UserDetails userDetails) {
         User user = userService.getUserByEmail(userDetails.getUsername());
         List<SeatLock> locks = seatService.lockSeats(request.getShowtimeId(), request.getSeatIds(), user);
-        return ResponseEntity.ok(ApiResponse.success("Seats locked for 10 minutes",
-                Map.of("lockedSeats", locks.size(), "expiresAt", locks.get(0).getLockedUntil())));
+        List<PriceQuoteService.Quote> quotes = priceQuotes.quotesFor(locks);
+        BigDecimal quotedAmount = quotes.stream().map(PriceQuoteService.Quote::price).reduce(BigDecimal.ZERO, BigDecimal::add);
+        int minutes = AppConfigManager.getInstance().snapshot().seatLockTimeoutMinutes();
+        return ResponseEntity.ok(ApiResponse.success("Seats locked for " + minutes + " minutes",
+                Map.of("lockedSeats", locks.size(), "expiresAt", locks.get(0).getLockedUntil(),
+                        "quotedAmount", quotedAmount,
+                        "pricingVersion", quotes.isEmpty() ? 0L : quotes.get(0).pricingVersion())));
     }
 
     @PostMapping("/unlock")
@@ -1,14 +1,20 @@
 package com.moviebooking.controller;
 
 import com.moviebooking.dto.ApiResponse;
+import com.moviebooking.dto.ScheduleGridDto;
 import com.moviebooking.dto.ShowtimeDto;
+import com.moviebooking.service.ContentVersions;
+import com.moviebooking.service.ShowtimePriceSummaryService;
 import com.moviebooking.service.ShowtimeService;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
 
 /**
  * Public showtime browsing API.
@@ -18,32 +24,59 @@ import java.util.List;
 public class ShowtimeController {
 
     private final ShowtimeService showtimeService;
+    private final ContentVersions contentVersions;
+    private final ShowtimePriceSummaryService priceSummaries;
 
-    public ShowtimeController(ShowtimeService showtimeService) {
+    public ShowtimeController(ShowtimeService showtimeService, ContentVersions contentVersions,
+                              ShowtimePriceSummaryService priceSummaries) {
         this.showtimeService = showtimeService;
+        this.contentVersions = contentVersions;
+        this.priceSummaries = priceSummaries;
     }
 
     @GetMapping("/movie/{movieId}")
-    public ResponseEntity<ApiResponse<List<ShowtimeDto>>> getShowtimesForMovie(@PathVariable Long movieId) {
-        return ResponseEntity.ok(ApiResponse.success(showtimeService.getShowtimesForMovie(movieId)));
+    public ResponseEntity<ApiResponse<List<ShowtimeDto>>> getShowtimesForMovie(@PathVariable Long movieId,
+                                                                             WebRequest request) {
+        return showtimes(request, () -> showtimeService.getShowtimesForMovie(movieId));
     }
 
     @GetMapping("/movie/{movieId}/date/{date}")
     public ResponseEntity<ApiResponse<List<ShowtimeDto>>> getShowtimesForMovieAndDate(
             @PathVariable Long movieId,
-            @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
-        return ResponseEntity.ok(ApiResponse.success(showtimeService.getShowtimesForMovieAndDate(movieId, date)));
+            @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            WebRequest request) {
+        return showtimes(request, () -> showtimeService.getShowtimesForMovieAndDate(movieId, date));
     }
 
     @GetMapping("/theater/{theaterId}/date/{date}")
     public ResponseEntity<ApiResponse<List<ShowtimeDto>>> getShowtimesForTheater(
             @PathVariable Long theaterId,
-            @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
-        return ResponseEntity.ok(ApiResponse.success(showtimeService.getShowtimesForTheaterAndDate(theaterId, date)));
+            @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            WebRequest request) {
+        return showtimes(request, () -> showtimeService.getShowtimesForTheaterAndDate(theaterId, date));
+    }
+
+    @GetMapping("/schedule/date/{date}")
+    public ResponseEntity<ApiResponse<ScheduleGridDto>> getScheduleGrid(
+            @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            WebRequest request) {
+        return showtimes(request, () -> showtimeService.getScheduleGrid(date));
+    }
+
+    /** Min/max price per seat type for up to pricing.summary.max-showtimes showtimes, e.g. ?ids=1,2,3 */
+    @GetMapping("/prices")
+    public ResponseEntity<ApiResponse<List<Map<String, Object>>>> getPriceSummaries(@RequestParam List<Long> ids) {
+        return ResponseEntity.ok(ApiResponse.success(priceSummaries.getSummaries(ids)));
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<ApiResponse<ShowtimeDto>> getShowtimeById(@PathVariable Long id) {
-        return ResponseEntity.ok(ApiResponse.success(showtimeService.getShowtimeById(id)));
+    public ResponseEntity<ApiResponse<ShowtimeDto>> getShowtimeById(@PathVariable Long id, WebRequest request) {
+        return showtimes(request, () -> showtimeService.getShowtimeById(id));
+    }
+
+    /** Showtime listings include movie titles, so both catalog and showtime changes invalidate them */
+    private <T> ResponseEntity<ApiResponse<T>> showtimes(WebRequest request, Supplier<T> body) {
+        String etag = contentVersions.etag(ContentVersions.Scope.CATALOG, ContentVersions.Scope.SHOWTIMES);
+        return ConditionalResponses.ok(request, etag, ConditionalResponses.SHOWTIMES, body);
     }
 }
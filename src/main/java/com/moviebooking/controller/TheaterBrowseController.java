@@ -0,0 +1,40 @@
+package com.moviebooking.controller;
+
+import com.moviebooking.dto.ApiResponse;
+import com.moviebooking.dto.NearbyTheaterDto;
+import com.moviebooking.service.TheaterService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Public theater browsing API - no authentication required.
+ */
+@RestController
+@RequestMapping("/api/theaters/browse")
+public class TheaterBrowseController {
+
+    private final TheaterService theaterService;
+
+    public TheaterBrowseController(TheaterService theaterService) {
+        this.theaterService = theaterService;
+    }
+
+    @GetMapping("/nearby")
+    public ResponseEntity<ApiResponse<List<NearbyTheaterDto>>> getNearby(
+            @RequestParam double lat, @RequestParam double lng,
+            @RequestParam(defaultValue = "10") double radiusKm,
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(ApiResponse.success(theaterService.getNearbyTheaters(lat, lng, radiusKm, limit)));
+    }
+
+    @GetMapping("/nearby/showtimes")
+    public ResponseEntity<ApiResponse<List<NearbyTheaterDto>>> getNearbyShowtimes(
+            @RequestParam Long movieId, @RequestParam double lat, @RequestParam double lng,
+            @RequestParam(defaultValue = "10") double radiusKm,
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(ApiResponse.success(
+                theaterService.getNearbyShowtimes(movieId, lat, lng, radiusKm, limit)));
+    }
+}
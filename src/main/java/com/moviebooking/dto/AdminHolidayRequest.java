@@ -0,0 +1,22 @@
+package com.moviebooking.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDate;
+
+@Getter
+@Setter
+public class AdminHolidayRequest {
+
+    @NotNull
+    private LocalDate date;
+
+    @NotBlank
+    private String name;
+
+    private String state; // omit for a nationwide holiday
+    private String city;  // requires state
+}
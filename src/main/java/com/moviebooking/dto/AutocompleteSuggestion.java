@@ -0,0 +1,17 @@
+package com.moviebooking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class AutocompleteSuggestion {
+
+    public enum Type {
+        MOVIE, PERSON, GENRE, THEATER
+    }
+
+    private String text;
+    private Type type;
+    private Long id; // movie or theater id, null for people and genres
+}
@@ -27,6 +27,7 @@ public class BookingDto {
     private BigDecimal taxAmount;
     private BigDecimal discountAmount;
     private BigDecimal totalAmount;
+    private Long pricingVersion;
     private String status;
     private String qrCodeUrl;
     private LocalDateTime bookingDatetime;
@@ -56,6 +57,7 @@ public class BookingDto {
         dto.setTaxAmount(b.getTaxAmount());
         dto.setDiscountAmount(b.getDiscountAmount());
         dto.setTotalAmount(b.getTotalAmount());
+        dto.setPricingVersion(b.getPricingVersion());
         dto.setStatus(b.getStatus().name());
         dto.setQrCodeUrl(b.getQrCodeUrl());
         dto.setBookingDatetime(b.getBookingDatetime());
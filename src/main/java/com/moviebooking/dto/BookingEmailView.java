@@ -0,0 +1,34 @@
+package com.moviebooking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Flat, read-only projection of everything the booking email templates need.
+ * Loaded with a single constructor-expression query so rendering never touches lazy associations.
+ */
+@Getter
+@AllArgsConstructor
+public class BookingEmailView {
+    private Long bookingId;
+    private String bookingReference;
+    private String email;
+    private String firstName;
+    private String lastName;
+    private String movieTitle;
+    private String theaterName;
+    private String screenName;
+    private LocalDateTime showDatetime;
+    private BigDecimal ticketAmount;
+    private BigDecimal foodAmount;
+    private BigDecimal taxAmount;
+    private BigDecimal discountAmount;
+    private BigDecimal totalAmount;
+
+    public String getFullName() {
+        return firstName + " " + lastName;
+    }
+}
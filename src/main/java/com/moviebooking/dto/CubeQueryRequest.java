@@ -0,0 +1,29 @@
+package com.moviebooking.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Ad-hoc slice over the sales cube. Dimension names are those of SalesCube.Dimension
+ * (case-insensitive); filter values match either the id or the label shown in results.
+ */
+@Getter
+@Setter
+public class CubeQueryRequest {
+
+    private List<String> groupBy = new ArrayList<>();
+
+    private Map<String, List<String>> filters = new HashMap<>();
+
+    private LocalDate from;
+
+    private LocalDate to;
+
+    private Integer limit;
+}
@@ -0,0 +1,106 @@
+package com.moviebooking.dto;
+
+import com.moviebooking.exception.BadRequestException;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One page of a keyset-paginated list.
+ *
+ * The cursor is an opaque token holding the sort key and id of the last row returned; the next
+ * page is read with "WHERE (key, id) after cursor", so its cost does not grow with page depth.
+ */
+@Getter
+public class CursorPage<T> {
+
+    public static final int DEFAULT_SIZE = 20;
+    public static final int MAX_SIZE = 100;
+
+    /** First-page positions for keyset queries, so the first page uses the same query as the rest */
+    public static final LocalDate FIRST_DATE_DESC = LocalDate.of(9999, 12, 31);
+    public static final LocalDateTime FIRST_DATETIME_DESC = LocalDateTime.of(9999, 12, 31, 23, 59);
+    public static final LocalDateTime FIRST_DATETIME_ASC = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private final List<T> items;
+    private final String nextCursor;
+    private final boolean hasMore;
+
+    private CursorPage(List<T> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+        this.hasMore = nextCursor != null;
+    }
+
+    /**
+     * Build a page from a query that fetched up to size + 1 rows; the extra row only signals that
+     * another page exists.
+     */
+    public static <T> CursorPage<T> of(List<T> fetched, int size, Function<T, Cursor> cursorOf) {
+        if (fetched.size() <= size) {
+            return new CursorPage<>(fetched, null);
+        }
+        List<T> items = fetched.subList(0, size);
+        return new CursorPage<>(items, cursorOf.apply(items.get(size - 1)).encode());
+    }
+
+    public <R> CursorPage<R> map(Function<T, R> mapper) {
+        return new CursorPage<>(items.stream().map(mapper).toList(), nextCursor);
+    }
+
+    public static int validateSize(int size) {
+        if (size < 1 || size > MAX_SIZE) {
+            throw new BadRequestException("Page size must be between 1 and " + MAX_SIZE);
+        }
+        return size;
+    }
+
+    /**
+     * Position after a row: its sort key (as text) and id.
+     */
+    public record Cursor(String key, long id) {
+
+        public static Cursor of(Object key, Long id) {
+            return new Cursor(String.valueOf(key), id);
+        }
+
+        public LocalDate dateKey() {
+            try {
+                return LocalDate.parse(key);
+            } catch (DateTimeParseException e) {
+                throw new BadRequestException("Invalid page cursor");
+            }
+        }
+
+        public LocalDateTime dateTimeKey() {
+            try {
+                return LocalDateTime.parse(key);
+            } catch (DateTimeParseException e) {
+                throw new BadRequestException("Invalid page cursor");
+            }
+        }
+
+        public String encode() {
+            String raw = key + "\n" + id;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        /** @return the decoded cursor, or null for the first page */
+        public static Cursor decode(String token) {
+            if (token == null || token.isBlank()) return null;
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+                int split = raw.lastIndexOf('\n');
+                return new Cursor(raw.substring(0, split), Long.parseLong(raw.substring(split + 1)));
+            } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+                throw new BadRequestException("Invalid page cursor");
+            }
+        }
+    }
+}
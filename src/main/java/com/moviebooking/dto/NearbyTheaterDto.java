@@ -0,0 +1,14 @@
+package com.moviebooking.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+public class NearbyTheaterDto {
+    private TheaterDto theater;
+    private double distanceKm;
+    private List<ShowtimeDto> showtimes; // only set for "showtimes near me" queries
+}
@@ -0,0 +1,36 @@
+package com.moviebooking.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * One day's showtimes across all theaters, grouped theater -> screen.
+ */
+@Getter
+@Setter
+public class ScheduleGridDto {
+    private LocalDate date;
+    private List<TheaterSchedule> theaters;
+
+    @Getter
+    @Setter
+    public static class TheaterSchedule {
+        private Long theaterId;
+        private String theaterName;
+        private String theaterCity;
+        private String theaterType;
+        private List<ScreenSchedule> screens;
+    }
+
+    @Getter
+    @Setter
+    public static class ScreenSchedule {
+        private Long screenId;
+        private String screenName;
+        private String screenType;
+        private List<ShowtimeDto> showtimes;
+    }
+}
@@ -1,7 +1,11 @@
 package com.moviebooking.dto;
 
 import com.moviebooking.entity.Showtime;
+import com.moviebooking.entity.enums.ScreenType;
+import com.moviebooking.entity.enums.ShowtimeStatus;
+import com.moviebooking.entity.enums.TheaterType;
 import lombok.Getter;
+import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 import java.math.BigDecimal;
@@ -11,6 +15,7 @@ import java.time.LocalTime;
 
 @Getter
 @Setter
+@NoArgsConstructor
 public class ShowtimeDto {
     private Long id;
     private Long movieId;
@@ -31,6 +36,35 @@ public class ShowtimeDto {
     private String status;
     private String pricingStrategy;
 
+    /**
+     * Projection constructor used by ShowtimeRepository's "SELECT new" queries, so listings are
+     * read in one statement instead of lazily loading movie, screen and theater per row.
+     */
+    public ShowtimeDto(Long id, Long movieId, String movieTitle, Long screenId, String screenName,
+                       ScreenType screenType, Long theaterId, String theaterName, String theaterCity,
+                       TheaterType theaterType, LocalDate showDate, LocalTime showTime, LocalDateTime showDatetime,
+                       BigDecimal basePrice, Integer availableSeats, Integer totalSeats, ShowtimeStatus status,
+                       String pricingStrategy) {
+        this.id = id;
+        this.movieId = movieId;
+        this.movieTitle = movieTitle;
+        this.screenId = screenId;
+        this.screenName = screenName;
+        this.screenType = screenType.name();
+        this.theaterId = theaterId;
+        this.theaterName = theaterName;
+        this.theaterCity = theaterCity;
+        this.theaterType = theaterType.name();
+        this.showDate = showDate;
+        this.showTime = showTime;
+        this.showDatetime = showDatetime;
+        this.basePrice = basePrice;
+        this.availableSeats = availableSeats;
+        this.totalSeats = totalSeats;
+        this.status = status.name();
+        this.pricingStrategy = pricingStrategy;
+    }
+
     public static ShowtimeDto fromEntity(Showtime s) {
         ShowtimeDto dto = new ShowtimeDto();
         dto.setId(s.getId());
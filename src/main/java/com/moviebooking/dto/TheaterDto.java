@@ -4,6 +4,7 @@ import com.moviebooking.entity.Theater;
 import lombok.Getter;
 import lombok.Setter;
 
+import java.math.BigDecimal;
 import java.util.List;
 
 @Getter
@@ -15,6 +16,8 @@ public class TheaterDto {
     private String city;
     private String state;
     private String pincode;
+    private BigDecimal latitude;
+    private BigDecimal longitude;
     private String theaterType;
     private Integer totalScreens;
     private String facilities;
@@ -45,6 +48,8 @@ public class TheaterDto {
         dto.setCity(t.getCity());
         dto.setState(t.getState());
         dto.setPincode(t.getPincode());
+        dto.setLatitude(t.getLatitude());
+        dto.setLongitude(t.getLongitude());
         dto.setTheaterType(t.getTheaterType().name());
         dto.setTotalScreens(t.getTotalScreens());
         dto.setFacilities(t.getFacilities());
@@ -0,0 +1,43 @@
+package com.moviebooking.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * One counter from the most recent LiveAnalyticsStore snapshot. The table is rewritten as a whole
+ * on each snapshot and read back on startup so the dashboard has figures before the first reconcile.
+ */
+@Entity
+@Table(name = "analytics_counters")
+@Getter
+@Setter
+@NoArgsConstructor
+public class AnalyticsCounter {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 30)
+    private String metric;
+
+    @Column(name = "dimension_key", nullable = false, length = 50)
+    private String dimensionKey;
+
+    @Column(name = "counter_value", nullable = false)
+    private Long value;
+
+    @Column(name = "snapshot_at", nullable = false)
+    private LocalDateTime snapshotAt;
+
+    public AnalyticsCounter(String metric, String dimensionKey, long value, LocalDateTime snapshotAt) {
+        this.metric = metric;
+        this.dimensionKey = dimensionKey;
+        this.value = value;
+        this.snapshotAt = snapshotAt;
+    }
+}
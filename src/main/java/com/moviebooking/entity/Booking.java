@@ -12,7 +12,10 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "bookings")
+@Table(name = "bookings", indexes = {
+    @Index(name = "idx_bookings_showtime_status", columnList = "showtime_id, status"),
+    @Index(name = "idx_bookings_status_datetime", columnList = "status, booking_datetime")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -63,6 +66,10 @@ public class Booking {
     @Column(name = "total_amount", nullable = false, precision = 10, scale = 2)
     private BigDecimal totalAmount;
 
+    /** Version of the pricing rules the seats were priced with */
+    @Column(name = "pricing_version")
+    private Long pricingVersion;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "promo_code_id")
     private PromoCode promoCode;
@@ -0,0 +1,59 @@
+package com.moviebooking.entity;
+
+import com.moviebooking.entity.enums.PaymentMethod;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Confirmed-booking totals per booking date, theater, movie and payment method. Maintained in the
+ * confirming and cancelling transactions by RevenueRollupService and rebuilt from bookings by its
+ * backfill. The unique key leads with the date, so date-range reports are one index range scan.
+ */
+@Entity
+@Table(name = "daily_revenue_rollup", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_daily_revenue_rollup_key",
+                      columnNames = {"rollup_date", "theater_id", "movie_id", "payment_method"})
+})
+@Getter
+@Setter
+@NoArgsConstructor
+public class DailyRevenueRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "rollup_date", nullable = false)
+    private LocalDate rollupDate;
+
+    @Column(name = "theater_id", nullable = false)
+    private Long theaterId;
+
+    @Column(name = "movie_id", nullable = false)
+    private Long movieId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "payment_method", nullable = false, length = 20)
+    private PaymentMethod paymentMethod;
+
+    @Column(nullable = false, precision = 14, scale = 2)
+    private BigDecimal revenue = BigDecimal.ZERO;
+
+    @Column(nullable = false)
+    private Long bookings = 0L;
+
+    @Column(nullable = false)
+    private Long seats = 0L;
+
+    public DailyRevenueRollup(LocalDate rollupDate, Long theaterId, Long movieId, PaymentMethod paymentMethod) {
+        this.rollupDate = rollupDate;
+        this.theaterId = theaterId;
+        this.movieId = movieId;
+        this.paymentMethod = paymentMethod;
+    }
+}
@@ -0,0 +1,47 @@
+package com.moviebooking.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * A holiday or event day that prices shows as holidays. Without a state it applies everywhere;
+ * with a state and no city, to that state; with both, to that city only.
+ */
+@Entity
+@Table(name = "holidays", indexes = {
+    @Index(name = "idx_holidays_date", columnList = "holiday_date")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+public class Holiday {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "holiday_date", nullable = false)
+    private LocalDate holidayDate;
+
+    @Column(nullable = false, length = 100)
+    private String name;
+
+    @Column(length = 100)
+    private String state;
+
+    @Column(length = 100)
+    private String city;
+
+    @Column(name = "created_at", updatable = false)
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+}
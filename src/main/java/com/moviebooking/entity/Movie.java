@@ -5,6 +5,7 @@ import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -13,7 +14,9 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "movies")
+@Table(name = "movies", indexes = {
+    @Index(name = "idx_movies_status_release", columnList = "status, release_date, id")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -66,6 +69,15 @@ public class Movie {
     @Column(length = 255)
     private String producer;
 
+    // Review aggregates, maintained only through MovieRepository.adjustRating
+    @Column(name = "rating_sum", updatable = false, nullable = false)
+    @ColumnDefault("0")
+    private Long ratingSum = 0L;
+
+    @Column(name = "rating_count", updatable = false, nullable = false)
+    @ColumnDefault("0")
+    private Long ratingCount = 0L;
+
     @Column(name = "created_at", updatable = false)
     private LocalDateTime createdAt;
 
@@ -10,6 +10,8 @@ import java.time.LocalDateTime;
 @Entity
 @Table(name = "reviews", uniqueConstraints = {
     @UniqueConstraint(columnNames = {"movie_id", "user_id"})
+}, indexes = {
+    @Index(name = "idx_reviews_movie_created", columnList = "movie_id, created_at, id")
 })
 @Getter
 @Setter
@@ -16,6 +16,8 @@ import java.util.List;
 @Entity
 @Table(name = "showtimes", uniqueConstraints = {
     @UniqueConstraint(columnNames = {"screen_id", "show_datetime"})
+}, indexes = {
+    @Index(name = "idx_showtimes_show_datetime", columnList = "show_datetime, id")
 })
 @Getter
 @Setter
@@ -12,7 +12,9 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "theaters")
+@Table(name = "theaters", indexes = {
+    @Index(name = "idx_theaters_name", columnList = "name, id")
+})
 @Getter
 @Setter
 @NoArgsConstructor
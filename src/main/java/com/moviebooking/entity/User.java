@@ -13,7 +13,9 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "users")
+@Table(name = "users", indexes = {
+    @Index(name = "idx_users_created", columnList = "created_at, id")
+})
 @Getter
 @Setter
 @NoArgsConstructor
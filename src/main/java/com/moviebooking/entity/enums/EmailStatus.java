@@ -0,0 +1,8 @@
+package com.moviebooking.entity.enums;
+
+public enum EmailStatus {
+    PENDING,
+    SENDING,
+    SENT,
+    FAILED
+}
@@ -0,0 +1,7 @@
+package com.moviebooking.entity.enums;
+
+public enum EmailType {
+    BOOKING_CONFIRMATION,
+    BOOKING_CANCELLATION,
+    SHOW_REMINDER
+}
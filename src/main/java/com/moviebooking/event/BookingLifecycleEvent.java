@@ -0,0 +1,49 @@
+package com.moviebooking.event;
+
+import com.moviebooking.entity.Booking;
+import com.moviebooking.entity.enums.BookingStatus;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Published whenever a booking changes status. Carries the values listeners aggregate so they
+ * never need to load the booking again.
+ */
+@Getter
+@AllArgsConstructor
+public class BookingLifecycleEvent {
+
+    private final Long bookingId;
+    /** Null for a newly created booking */
+    private final BookingStatus previousStatus;
+    private final BookingStatus status;
+    private final Long userId;
+    private final Long movieId;
+    private final Long theaterId;
+    private final Long showtimeId;
+    private final LocalDateTime showDatetime;
+    private final int numSeats;
+    private final BigDecimal totalAmount;
+    private final LocalDate bookingDate;
+    /** When the booking was confirmed; null if it never was */
+    private final LocalDateTime confirmedAt;
+    /** Seats whose booking seats a cancellation deleted; empty for other changes */
+    private final List<Long> releasedSeatIds;
+
+    public static BookingLifecycleEvent of(Booking booking, BookingStatus previousStatus) {
+        return of(booking, previousStatus, List.of());
+    }
+
+    public static BookingLifecycleEvent of(Booking booking, BookingStatus previousStatus, List<Long> releasedSeatIds) {
+        return new BookingLifecycleEvent(booking.getId(), previousStatus, booking.getStatus(),
+                booking.getUser().getId(), booking.getMovie().getId(), booking.getTheater().getId(),
+                booking.getShowtime().getId(), booking.getShowtime().getShowDatetime(), booking.getNumSeats(),
+                booking.getTotalAmount(), booking.getBookingDatetime().toLocalDate(),
+                booking.getConfirmedDatetime(), List.copyOf(releasedSeatIds));
+    }
+}
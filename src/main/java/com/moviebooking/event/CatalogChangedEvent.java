@@ -0,0 +1,25 @@
+package com.moviebooking.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Published (via Spring's ApplicationEventPublisher) whenever movie catalog data changes.
+ * Listeners use it to invalidate anything derived from the catalog.
+ */
+@Getter
+@AllArgsConstructor
+public class CatalogChangedEvent {
+
+    public enum ChangeType {
+        MOVIE_CREATED, MOVIE_UPDATED, MOVIE_DELETED, REVIEW_CHANGED
+    }
+
+    private final Long movieId;
+    private final ChangeType changeType;
+
+    /** Whether the change can move a movie in or out of catalog listings, not just alter its fields */
+    public boolean affectsMembership() {
+        return changeType != ChangeType.REVIEW_CHANGED;
+    }
+}
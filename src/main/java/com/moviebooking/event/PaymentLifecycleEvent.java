@@ -0,0 +1,24 @@
+package com.moviebooking.event;
+
+import com.moviebooking.entity.enums.PaymentMethod;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+
+/**
+ * Published when a payment succeeds or is refunded.
+ */
+@Getter
+@AllArgsConstructor
+public class PaymentLifecycleEvent {
+
+    public enum Type {
+        SUCCEEDED, REFUNDED
+    }
+
+    private final Long paymentId;
+    private final Type type;
+    private final PaymentMethod paymentMethod;
+    private final BigDecimal amount;
+}
@@ -19,7 +19,7 @@ public class SeatAvailabilityHandler extends BookingValidationHandler {
             return ValidationResult.failure("No seats selected.", getHandlerName());
         }
 
-        int maxSeats = AppConfigManager.getInstance().getInt("seat.max.per.booking");
+        int maxSeats = AppConfigManager.getInstance().snapshot().seatMaxPerBooking();
         if (seatIds.size() > maxSeats) {
             return ValidationResult.failure("Maximum " + maxSeats + " seats per booking.", getHandlerName());
         }
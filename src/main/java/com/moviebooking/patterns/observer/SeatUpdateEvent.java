@@ -5,6 +5,7 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -19,9 +20,16 @@ public class SeatUpdateEvent {
 
     private Long showtimeId;
     private List<SeatStatusDto> updatedSeats;
-    private String eventType; // LOCKED, BOOKED, RELEASED, EXPIRED
+    private String eventType; // LOCKED, BOOKED, RELEASED, EXPIRED, PRICE_UPDATE
     private Long triggeredByUserId;
     private LocalDateTime timestamp;
+    private List<PriceDto> prices; // PRICE_UPDATE only: final price for each base price on the screen
+    private Long pricingVersion;
+
+    public SeatUpdateEvent(Long showtimeId, List<SeatStatusDto> updatedSeats, String eventType,
+                           Long triggeredByUserId, LocalDateTime timestamp) {
+        this(showtimeId, updatedSeats, eventType, triggeredByUserId, timestamp, null, null);
+    }
 
     @Getter
     @Setter
@@ -33,4 +41,13 @@ public class SeatUpdateEvent {
         private String status; // AVAILABLE, LOCKED, BOOKED
         private Long lockedByUserId;
     }
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class PriceDto {
+        private BigDecimal basePrice;
+        private BigDecimal price;
+    }
 }
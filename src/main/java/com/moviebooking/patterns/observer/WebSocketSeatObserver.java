@@ -24,7 +24,8 @@ public class WebSocketSeatObserver implements SeatObserver {
     @Override
     public void onSeatStatusChanged(SeatUpdateEvent event) {
         String destination = "/topic/seats/" + event.getShowtimeId();
-        log.info("WebSocket broadcast to {}: {} seat(s) updated", destination, event.getUpdatedSeats().size());
+        log.info("WebSocket broadcast to {}: {} seat(s) updated ({})", destination, event.getUpdatedSeats().size(),
+                event.getEventType());
         messagingTemplate.convertAndSend(destination, event);
     }
 }
@@ -3,28 +3,38 @@ package com.moviebooking.patterns.singleton;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.math.BigDecimal;
-import java.time.LocalTime;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * Singleton Pattern - Application Configuration Manager.
  * Manages app-wide configuration settings like pricing multipliers,
  * lock timeouts, booking limits, etc.
  * Thread-safe with double-checked locking.
+ *
+ * Settings are held in an immutable ConfigSnapshot: reads are a volatile load with values already
+ * parsed, and every update builds, validates and publishes a whole new snapshot. Built-in defaults
+ * are overridden at startup from moviebook.config.* properties (see AppConfigBinder), so each
+ * Spring profile can set its own values, and at runtime through the admin config endpoint.
  */
 public class AppConfigManager {
 
     private static final Logger log = LoggerFactory.getLogger(AppConfigManager.class);
 
+    private static final String PROFILE_PREFIX = "pricing.profile.";
+
     private static volatile AppConfigManager instance;
-    private final Map<String, String> configMap;
+    private volatile ConfigSnapshot snapshot;
+    private final List<ConfigListener> listeners = new CopyOnWriteArrayList<>();
 
     // Private constructor prevents external instantiation
     private AppConfigManager() {
-        configMap = new ConcurrentHashMap<>();
-        loadDefaultConfig();
+        Map<String, String> defaults = new HashMap<>();
+        loadDefaultConfig(defaults);
+        snapshot = ConfigSnapshot.parse(1, defaults);
         log.info("AppConfigManager initialized with default configuration");
     }
 
@@ -42,7 +52,7 @@ public class AppConfigManager {
         return instance;
     }
 
-    private void loadDefaultConfig() {
+    private static void loadDefaultConfig(Map<String, String> configMap) {
         // Seat lock settings
         configMap.put("seat.lock.timeout.minutes", "10");
         configMap.put("seat.max.per.booking", "10");
@@ -55,7 +65,10 @@ public class AppConfigManager {
         configMap.put("pricing.morning.discount", "0.80");
         configMap.put("pricing.high.demand.threshold", "0.70");
         configMap.put("pricing.high.demand.multiplier", "1.25");
+        configMap.put("pricing.low.demand.threshold", "0.30");
         configMap.put("pricing.low.demand.multiplier", "0.90");
+        configMap.put("pricing.velocity.forecast.threshold", "0.85");
+        configMap.put("pricing.velocity.multiplier", "1.15");
 
         // Peak hours (evening shows)
         configMap.put("pricing.peak.start", "18:00");
@@ -65,58 +78,99 @@ public class AppConfigManager {
         configMap.put("pricing.morning.start", "08:00");
         configMap.put("pricing.morning.end", "12:00");
 
+        // Strategies applied per Showtime.pricingStrategy; FLAT is the opt-in for no adjustments
+        configMap.put("pricing.profile.STANDARD", "PEAK_HOUR,WEEKEND,DEMAND_BASED,SALES_VELOCITY");
+        configMap.put("pricing.profile.DYNAMIC", "PEAK_HOUR,WEEKEND,DEMAND_BASED,SALES_VELOCITY");
+        configMap.put("pricing.profile.FLAT", "");
+        configMap.put("pricing.profile.default", "DYNAMIC");
+
         // Booking settings
         configMap.put("booking.cancellation.full.refund.hours", "24");
         configMap.put("booking.cancellation.half.refund.hours", "6");
-        configMap.put("booking.max.advance.days", "7");
 
         // QR Code settings
         configMap.put("qr.code.width", "300");
         configMap.put("qr.code.height", "300");
 
-        // Application info
+        // Application info (read-only)
         configMap.put("app.name", "MovieBook");
         configMap.put("app.version", "1.0.0");
         configMap.put("app.currency", "INR");
         configMap.put("app.currency.symbol", "₹");
     }
 
+    /** Current settings; hold on to the returned snapshot to read several values consistently */
+    public ConfigSnapshot snapshot() {
+        return snapshot;
+    }
+
+    /** Raw value; typed settings are read from {@link #snapshot()}, parsed once per update */
     public String get(String key) {
-        return configMap.get(key);
+        return snapshot.values().get(key);
     }
 
     public String get(String key, String defaultValue) {
-        return configMap.getOrDefault(key, defaultValue);
+        return snapshot.values().getOrDefault(key, defaultValue);
     }
 
-    public int getInt(String key) {
-        return Integer.parseInt(configMap.get(key));
+    public void set(String key, String value) {
+        update(Map.of(key, value));
     }
 
-    public int getInt(String key, int defaultValue) {
-        String val = configMap.get(key);
-        return val != null ? Integer.parseInt(val) : defaultValue;
+    /**
+     * Apply several changes as one new snapshot. Only known keys may be set, plus pricing
+     * profiles (pricing.profile.*); application info (app.*) is read-only. Every listener validates the candidate first; if any rejects
+     * it, nothing changes.
+     *
+     * @throws IllegalArgumentException naming the offending key
+     */
+    public synchronized ConfigSnapshot update(Map<String, String> changes) {
+        ConfigSnapshot current = snapshot;
+        Map<String, String> values = new HashMap<>(current.values());
+        for (Map.Entry<String, String> change : changes.entrySet()) {
+            String key = change.getKey();
+            if (key.startsWith(PROFILE_PREFIX) && !key.equals(PROFILE_PREFIX + "default")) {
+                key = PROFILE_PREFIX + key.substring(PROFILE_PREFIX.length()).toUpperCase(); // profile names are upper case
+            }
+            if (!values.containsKey(key) && !key.startsWith(PROFILE_PREFIX)) {
+                throw new IllegalArgumentException("Unknown configuration key: " + key);
+            }
+            if (key.startsWith("app.")) {
+                throw new IllegalArgumentException(key + " is read-only");
+            }
+            if (change.getValue() == null) {
+                throw new IllegalArgumentException(key + " must have a value");
+            }
+            values.put(key, change.getValue().trim());
+        }
+        ConfigSnapshot candidate = ConfigSnapshot.parse(current.version() + 1, values);
+        for (ConfigListener listener : listeners) {
+            listener.validate(candidate);
+        }
+        snapshot = candidate;
+        log.info("Config v{} applied: {}", candidate.version(), changes);
+        for (ConfigListener listener : listeners) {
+            listener.onChange(candidate, changes.keySet());
+        }
+        return candidate;
     }
 
-    public BigDecimal getBigDecimal(String key) {
-        return new BigDecimal(configMap.get(key));
+    public void addListener(ConfigListener listener) {
+        listeners.add(listener);
     }
 
-    public BigDecimal getBigDecimal(String key, BigDecimal defaultValue) {
-        String val = configMap.get(key);
-        return val != null ? new BigDecimal(val) : defaultValue;
+    public Map<String, String> getAllConfig() {
+        return snapshot.values();
     }
 
-    public LocalTime getTime(String key) {
-        return LocalTime.parse(configMap.get(key));
-    }
+    /** Subsystem that derives state from the configuration */
+    public interface ConfigListener {
 
-    public void set(String key, String value) {
-        configMap.put(key, value);
-        log.info("Config updated: {} = {}", key, value);
-    }
+        /** Throw IllegalArgumentException to reject a candidate snapshot */
+        default void validate(ConfigSnapshot candidate) {
+        }
 
-    public Map<String, String> getAllConfig() {
-        return Map.copyOf(configMap);
+        /** Called on the updating thread after the snapshot is published */
+        void onChange(ConfigSnapshot snapshot, Set<String> changedKeys);
     }
 }
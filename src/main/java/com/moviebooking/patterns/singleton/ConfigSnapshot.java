@@ -0,0 +1,80 @@
+package com.moviebooking.patterns.singleton;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+/**
+ * Immutable, pre-parsed view of the application configuration. AppConfigManager builds a new
+ * snapshot for every change and publishes it with one volatile write, so readers get typed values
+ * without parsing or locking. values() keeps every key as text for subsystems that compile their
+ * own settings from it (see PricingRules).
+ */
+public record ConfigSnapshot(
+        long version,
+        Map<String, String> values,
+        int seatLockTimeoutMinutes,
+        int seatMaxPerBooking,
+        BigDecimal gstRate,
+        int fullRefundHours,
+        int halfRefundHours,
+        int qrCodeWidth,
+        int qrCodeHeight,
+        String appName,
+        String appVersion,
+        String currency,
+        String currencySymbol) {
+
+    /**
+     * @throws IllegalArgumentException naming the first missing or invalid key
+     */
+    public static ConfigSnapshot parse(long version, Map<String, String> values) {
+        int fullRefundHours = positiveInt(values, "booking.cancellation.full.refund.hours");
+        int halfRefundHours = positiveInt(values, "booking.cancellation.half.refund.hours");
+        if (halfRefundHours > fullRefundHours) {
+            throw new IllegalArgumentException(
+                    "booking.cancellation.half.refund.hours must not exceed booking.cancellation.full.refund.hours");
+        }
+        BigDecimal gstRate = decimal(values, "pricing.gst.rate");
+        if (gstRate.signum() < 0 || gstRate.compareTo(BigDecimal.ONE) > 0) {
+            throw new IllegalArgumentException("pricing.gst.rate must be between 0 and 1");
+        }
+        return new ConfigSnapshot(version, Map.copyOf(values),
+                positiveInt(values, "seat.lock.timeout.minutes"),
+                positiveInt(values, "seat.max.per.booking"),
+                gstRate,
+                fullRefundHours,
+                halfRefundHours,
+                positiveInt(values, "qr.code.width"),
+                positiveInt(values, "qr.code.height"),
+                text(values, "app.name"),
+                text(values, "app.version"),
+                text(values, "app.currency"),
+                text(values, "app.currency.symbol"));
+    }
+
+    private static String text(Map<String, String> values, String key) {
+        String value = values.get(key);
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException(key + " is not set");
+        }
+        return value.trim();
+    }
+
+    private static int positiveInt(Map<String, String> values, String key) {
+        try {
+            int value = Integer.parseInt(text(values, key));
+            if (value <= 0) throw new IllegalArgumentException(key + " must be positive");
+            return value;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(key + " must be a whole number");
+        }
+    }
+
+    private static BigDecimal decimal(Map<String, String> values, String key) {
+        try {
+            return new BigDecimal(text(values, key));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(key + " must be a number");
+        }
+    }
+}
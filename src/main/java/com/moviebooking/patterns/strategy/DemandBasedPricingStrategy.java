@@ -1,7 +1,5 @@
 package com.moviebooking.patterns.strategy;
 
-import com.moviebooking.patterns.singleton.AppConfigManager;
-
 import java.math.BigDecimal;
 
 /**
@@ -11,21 +9,24 @@ import java.math.BigDecimal;
  */
 public class DemandBasedPricingStrategy implements PricingStrategy {
 
+    public enum DemandLevel { LOW, NORMAL, HIGH }
+
+    /** Demand level for an occupancy; prices change only when a showtime moves between levels */
+    public static DemandLevel levelOf(PricingRules rules, double occupancy) {
+        if (occupancy >= rules.getHighDemandThreshold()) return DemandLevel.HIGH;
+        if (occupancy < rules.getLowDemandThreshold()) return DemandLevel.LOW;
+        return DemandLevel.NORMAL;
+    }
+
     @Override
     public BigDecimal calculateMultiplier(PricingContext context) {
-        AppConfigManager config = AppConfigManager.getInstance();
-        double occupancy = context.getOccupancyRate();
-        double highThreshold = config.getBigDecimal("pricing.high.demand.threshold").doubleValue();
-
-        if (occupancy >= highThreshold) {
-            // High demand: 25% increase
-            return config.getBigDecimal("pricing.high.demand.multiplier");
-        } else if (occupancy < 0.30) {
-            // Low demand: 10% discount
-            return config.getBigDecimal("pricing.low.demand.multiplier");
-        }
+        PricingRules rules = context.getRules();
 
-        return BigDecimal.ONE;
+        return switch (levelOf(rules, context.getOccupancyRate())) {
+            case HIGH -> rules.getHighDemandMultiplier();  // High demand: 25% increase
+            case LOW -> rules.getLowDemandMultiplier();    // Low demand: 10% discount
+            case NORMAL -> BigDecimal.ONE;
+        };
     }
 
     @Override
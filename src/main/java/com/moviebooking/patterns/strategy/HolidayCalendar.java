@@ -0,0 +1,155 @@
+package com.moviebooking.patterns.strategy;
+
+import com.moviebooking.entity.Holiday;
+import com.moviebooking.exception.BadRequestException;
+import com.moviebooking.exception.ResourceNotFoundException;
+import com.moviebooking.repository.HolidayRepository;
+import com.moviebooking.repository.ScreenRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Holiday and event calendar for pricing, with nationwide, state and city entries.
+ *
+ * The holidays table is compiled into one bitset per region and year, bit = day of year, and
+ * swapped in whole after every admin change. Screens are mapped to their theater's state and city
+ * regions once, so a lookup is three map probes and three bit tests and needs only the screen id,
+ * which a lazy Screen reference carries without being loaded. Both are loaded when the application
+ * is ready; a screen created later is resolved on its first lookup. A screen that cannot be found
+ * yet (its theater not committed) is not cached, and theater writes drop their screens' entries.
+ */
+@Component
+public class HolidayCalendar {
+
+    private static final Logger log = LoggerFactory.getLogger(HolidayCalendar.class);
+    private static final String NATIONAL = "*";
+
+    private final HolidayRepository holidayRepository;
+    private final ScreenRepository screenRepository;
+    private final Map<Long, TheaterRegion> screenRegions = new ConcurrentHashMap<>();
+    private volatile Map<String, Map<Integer, BitSet>> calendars = Map.of();
+
+    public HolidayCalendar(HolidayRepository holidayRepository, ScreenRepository screenRepository) {
+        this.holidayRepository = holidayRepository;
+        this.screenRepository = screenRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        for (Object[] row : screenRepository.findRegions()) {
+            screenRegions.put((Long) row[0], TheaterRegion.of((String) row[1], (String) row[2]));
+        }
+        reload();
+    }
+
+    /** Rebuild the bitsets from the holidays table */
+    public synchronized void reload() {
+        Map<String, Map<Integer, BitSet>> compiled = new HashMap<>();
+        List<Holiday> holidays = holidayRepository.findAll();
+        for (Holiday holiday : holidays) {
+            LocalDate date = holiday.getHolidayDate();
+            compiled.computeIfAbsent(regionKey(holiday.getState(), holiday.getCity()), k -> new HashMap<>())
+                    .computeIfAbsent(date.getYear(), y -> new BitSet(366))
+                    .set(date.getDayOfYear() - 1);
+        }
+        calendars = compiled;
+        log.info("Holiday calendar loaded: {} entries across {} regions, {} screens mapped",
+                holidays.size(), compiled.size(), screenRegions.size());
+    }
+
+    /** Whether the date is a holiday where the screen's theater is */
+    public boolean isHoliday(Long screenId, LocalDate date) {
+        Map<String, Map<Integer, BitSet>> current = calendars;
+        if (current.isEmpty()) return false;
+        if (isSet(current, NATIONAL, date)) return true;
+        TheaterRegion region = screenRegions.get(screenId);
+        if (region == null) {
+            region = loadRegion(screenId);
+            if (region == null) return false;
+            screenRegions.put(screenId, region);
+        }
+        return isSet(current, region.stateKey(), date) || isSet(current, region.cityKey(), date);
+    }
+
+    /** Forget the screens' regions once the theater write commits; they are re-read on next lookup */
+    public void invalidateScreensAfterCommit(Collection<Long> screenIds) {
+        List<Long> ids = List.copyOf(screenIds);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    ids.forEach(screenRegions::remove);
+                }
+            });
+        } else {
+            ids.forEach(screenRegions::remove);
+        }
+    }
+
+    public List<Holiday> list(LocalDate from, LocalDate to) {
+        return holidayRepository.findByHolidayDateBetweenOrderByHolidayDate(from, to);
+    }
+
+    public Holiday add(LocalDate date, String name, String state, String city) {
+        state = state != null && !state.isBlank() ? state.trim() : null;
+        city = city != null && !city.isBlank() ? city.trim() : null;
+        if (city != null && state == null) {
+            throw new BadRequestException("A city holiday needs its state");
+        }
+        String key = regionKey(state, city);
+        for (Holiday existing : holidayRepository.findByHolidayDate(date)) {
+            if (regionKey(existing.getState(), existing.getCity()).equals(key)) {
+                throw new BadRequestException("Holiday already exists on " + date + " for this region: " + existing.getName());
+            }
+        }
+        Holiday holiday = new Holiday();
+        holiday.setHolidayDate(date);
+        holiday.setName(name.trim());
+        holiday.setState(state);
+        holiday.setCity(city);
+        holiday = holidayRepository.save(holiday);
+        reload();
+        return holiday;
+    }
+
+    public void remove(Long id) {
+        Holiday holiday = holidayRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Holiday", "id", id));
+        holidayRepository.delete(holiday);
+        reload();
+    }
+
+    /** Null if the screen is not visible yet */
+    private TheaterRegion loadRegion(Long screenId) {
+        List<Object[]> rows = screenRepository.findRegionById(screenId);
+        return rows.isEmpty() ? null : TheaterRegion.of((String) rows.get(0)[1], (String) rows.get(0)[2]);
+    }
+
+    private static boolean isSet(Map<String, Map<Integer, BitSet>> calendars, String region, LocalDate date) {
+        Map<Integer, BitSet> years = calendars.get(region);
+        if (years == null) return false;
+        BitSet days = years.get(date.getYear());
+        return days != null && days.get(date.getDayOfYear() - 1);
+    }
+
+    private static String regionKey(String state, String city) {
+        if (state == null || state.isBlank()) return NATIONAL;
+        String stateKey = state.trim().toLowerCase(Locale.ROOT);
+        return city == null || city.isBlank() ? stateKey : stateKey + "/" + city.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private record TheaterRegion(String stateKey, String cityKey) {
+        static TheaterRegion of(String state, String city) {
+            return state == null ? new TheaterRegion("", "") : new TheaterRegion(regionKey(state, null), regionKey(state, city));
+        }
+    }
+}
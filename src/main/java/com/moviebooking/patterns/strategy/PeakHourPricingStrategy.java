@@ -1,7 +1,5 @@
 package com.moviebooking.patterns.strategy;
 
-import com.moviebooking.patterns.singleton.AppConfigManager;
-
 import java.math.BigDecimal;
 import java.time.LocalTime;
 
@@ -12,20 +10,15 @@ public class PeakHourPricingStrategy implements PricingStrategy {
 
     @Override
     public BigDecimal calculateMultiplier(PricingContext context) {
-        AppConfigManager config = AppConfigManager.getInstance();
+        PricingRules rules = context.getRules();
         LocalTime showTime = context.getShowDateTime().toLocalTime();
 
-        LocalTime peakStart = config.getTime("pricing.peak.start");
-        LocalTime peakEnd = config.getTime("pricing.peak.end");
-        LocalTime morningStart = config.getTime("pricing.morning.start");
-        LocalTime morningEnd = config.getTime("pricing.morning.end");
-
-        if (!showTime.isBefore(peakStart) && !showTime.isAfter(peakEnd)) {
+        if (!showTime.isBefore(rules.getPeakStart()) && !showTime.isAfter(rules.getPeakEnd())) {
             // Evening peak hours: 30% surcharge
-            return config.getBigDecimal("pricing.peak.multiplier");
-        } else if (!showTime.isBefore(morningStart) && !showTime.isAfter(morningEnd)) {
+            return rules.getPeakMultiplier();
+        } else if (!showTime.isBefore(rules.getMorningStart()) && !showTime.isAfter(rules.getMorningEnd())) {
             // Morning shows: 20% discount
-            return config.getBigDecimal("pricing.morning.discount");
+            return rules.getMorningDiscount();
         }
 
         return BigDecimal.ONE;
@@ -14,6 +14,7 @@ import java.time.LocalDateTime;
 @Builder
 public class PricingContext {
 
+    private final PricingRules rules;
     private final Showtime showtime;
     private final BigDecimal basePrice;
     private final double occupancyRate;  // 0.0 to 1.0
@@ -21,4 +22,6 @@ public class PricingContext {
     private final boolean isWeekend;
     private final boolean isHoliday;
     private final int daysUntilShow;
+    private final double salesVelocity;      // seats per hour over the recent window
+    private final double forecastOccupancy;  // projected occupancy at show time, 0.0 to 1.0
 }
@@ -1,6 +1,9 @@
 package com.moviebooking.patterns.strategy;
 
 import com.moviebooking.entity.Showtime;
+import com.moviebooking.exception.BadRequestException;
+import com.moviebooking.patterns.singleton.AppConfigManager;
+import com.moviebooking.patterns.singleton.ConfigSnapshot;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
@@ -12,53 +15,86 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Pricing Engine - Applies multiple pricing strategies and computes final price.
- * Combines all applicable strategy multipliers.
+ * Combines the multipliers of the strategies in the showtime's pricing profile.
+ * Strategies read their settings from a compiled PricingRules snapshot that is replaced,
+ * never mutated, when pricing configuration changes.
  */
 @Component
 public class PricingEngine {
 
     private static final Logger log = LoggerFactory.getLogger(PricingEngine.class);
 
-    private final List<PricingStrategy> strategies;
+    private final Map<String, PricingStrategy> strategies = new LinkedHashMap<>();
+    private final SalesVelocityTracker velocityTracker;
+    private final HolidayCalendar holidayCalendar;
+    private final AtomicLong versions = new AtomicLong();
+    private volatile PricingRules rules;
+
+    public PricingEngine(SalesVelocityTracker velocityTracker, HolidayCalendar holidayCalendar) {
+        this.velocityTracker = velocityTracker;
+        this.holidayCalendar = holidayCalendar;
+        for (PricingStrategy strategy : List.of(new StandardPricingStrategy(), new PeakHourPricingStrategy(),
+                new WeekendPricingStrategy(), new DemandBasedPricingStrategy(), new VelocityPricingStrategy())) {
+            strategies.put(strategy.getStrategyName(), strategy);
+        }
+        reload();
+        AppConfigManager.getInstance().addListener(new AppConfigManager.ConfigListener() {
+            @Override
+            public void validate(ConfigSnapshot candidate) {
+                PricingRules.compile(0, candidate.values(), strategies);
+            }
 
-    public PricingEngine() {
-        this.strategies = new ArrayList<>();
-        // Default strategies
-        this.strategies.add(new PeakHourPricingStrategy());
-        this.strategies.add(new WeekendPricingStrategy());
-        this.strategies.add(new DemandBasedPricingStrategy());
+            @Override
+            public void onChange(ConfigSnapshot snapshot, Set<String> changedKeys) {
+                if (changedKeys.stream().anyMatch(key -> key.startsWith("pricing."))) reload();
+            }
+        });
+    }
+
+    /** The snapshot to price with; quotes should record its version */
+    public PricingRules currentRules() {
+        return rules;
+    }
+
+    /**
+     * Recompile the rules from AppConfigManager and swap them in.
+     * @throws BadRequestException if the configuration does not compile; the current rules stay
+     */
+    public synchronized PricingRules reload() {
+        try {
+            PricingRules compiled = PricingRules.compile(versions.incrementAndGet(),
+                    AppConfigManager.getInstance().getAllConfig(), strategies);
+            rules = compiled;
+            log.info("Pricing rules v{} compiled, profiles {}", compiled.getVersion(), compiled.getProfiles().keySet());
+            return compiled;
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid pricing configuration: " + e.getMessage());
+        }
     }
 
     /**
      * Calculate the final price for a showtime seat.
-     * Applies all strategy multipliers cumulatively.
+     * Applies the profile's strategy multipliers cumulatively.
      */
     public BigDecimal calculateFinalPrice(BigDecimal basePrice, Showtime showtime) {
-        double occupancy = 1.0 - ((double) showtime.getAvailableSeats() / showtime.getTotalSeats());
-        LocalDateTime showDateTime = showtime.getShowDatetime();
-        LocalDate showDate = showtime.getShowDate();
-        boolean isWeekend = showDate.getDayOfWeek() == DayOfWeek.SATURDAY ||
-                            showDate.getDayOfWeek() == DayOfWeek.SUNDAY;
-        int daysUntilShow = (int) ChronoUnit.DAYS.between(LocalDate.now(), showDate);
+        return calculateFinalPrice(basePrice, showtime, rules);
+    }
 
-        PricingContext context = PricingContext.builder()
-                .showtime(showtime)
-                .basePrice(basePrice)
-                .occupancyRate(occupancy)
-                .showDateTime(showDateTime)
-                .isWeekend(isWeekend)
-                .isHoliday(false) // Could be extended to check holiday calendar
-                .daysUntilShow(daysUntilShow)
-                .build();
+    public BigDecimal calculateFinalPrice(BigDecimal basePrice, Showtime showtime, PricingRules rules) {
+        PricingContext context = buildContext(basePrice, showtime, rules);
 
         BigDecimal combinedMultiplier = BigDecimal.ONE;
         StringBuilder appliedStrategies = new StringBuilder();
 
-        for (PricingStrategy strategy : strategies) {
+        for (PricingStrategy strategy : rules.strategiesFor(showtime.getPricingStrategy())) {
             BigDecimal multiplier = strategy.calculateMultiplier(context);
             if (multiplier.compareTo(BigDecimal.ONE) != 0) {
                 combinedMultiplier = combinedMultiplier.multiply(multiplier);
@@ -81,36 +117,47 @@ public class PricingEngine {
      * Get the pricing breakdown (which strategies applied) for display.
      */
     public List<PricingBreakdown> getPricingBreakdown(BigDecimal basePrice, Showtime showtime) {
+        PricingRules rules = this.rules;
+        PricingContext context = buildContext(basePrice, showtime, rules);
+
+        List<PricingBreakdown> breakdowns = new ArrayList<>();
+        breakdowns.add(new PricingBreakdown("Base Price", BigDecimal.ONE, basePrice));
+
+        BigDecimal runningPrice = basePrice;
+        for (PricingStrategy strategy : rules.strategiesFor(showtime.getPricingStrategy())) {
+            BigDecimal multiplier = strategy.calculateMultiplier(context);
+            if (multiplier.compareTo(BigDecimal.ONE) != 0) {
+                runningPrice = runningPrice.multiply(multiplier).setScale(2, RoundingMode.HALF_UP);
+                breakdowns.add(new PricingBreakdown(strategy.getStrategyName(), multiplier, runningPrice));
+            }
+        }
+
+        return breakdowns;
+    }
+
+    private PricingContext buildContext(BigDecimal basePrice, Showtime showtime, PricingRules rules) {
         double occupancy = 1.0 - ((double) showtime.getAvailableSeats() / showtime.getTotalSeats());
         LocalDateTime showDateTime = showtime.getShowDatetime();
         LocalDate showDate = showtime.getShowDate();
         boolean isWeekend = showDate.getDayOfWeek() == DayOfWeek.SATURDAY ||
                             showDate.getDayOfWeek() == DayOfWeek.SUNDAY;
+        // Only the screen id is read, which a lazy Screen reference holds without loading
+        boolean isHoliday = holidayCalendar.isHoliday(showtime.getScreen().getId(), showDate);
         int daysUntilShow = (int) ChronoUnit.DAYS.between(LocalDate.now(), showDate);
+        SalesVelocityTracker.Velocity velocity = velocityTracker.measure(showtime, rules.getVelocityForecastThreshold());
 
-        PricingContext context = PricingContext.builder()
+        return PricingContext.builder()
+                .rules(rules)
                 .showtime(showtime)
                 .basePrice(basePrice)
                 .occupancyRate(occupancy)
                 .showDateTime(showDateTime)
                 .isWeekend(isWeekend)
-                .isHoliday(false)
+                .isHoliday(isHoliday)
                 .daysUntilShow(daysUntilShow)
+                .salesVelocity(velocity.seatsPerHour())
+                .forecastOccupancy(velocity.forecastOccupancy())
                 .build();
-
-        List<PricingBreakdown> breakdowns = new ArrayList<>();
-        breakdowns.add(new PricingBreakdown("Base Price", BigDecimal.ONE, basePrice));
-
-        BigDecimal runningPrice = basePrice;
-        for (PricingStrategy strategy : strategies) {
-            BigDecimal multiplier = strategy.calculateMultiplier(context);
-            if (multiplier.compareTo(BigDecimal.ONE) != 0) {
-                runningPrice = runningPrice.multiply(multiplier).setScale(2, RoundingMode.HALF_UP);
-                breakdowns.add(new PricingBreakdown(strategy.getStrategyName(), multiplier, runningPrice));
-            }
-        }
-
-        return breakdowns;
     }
 
     public record PricingBreakdown(String strategyName, BigDecimal multiplier, BigDecimal priceAfter) {}
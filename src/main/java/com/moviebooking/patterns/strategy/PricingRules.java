@@ -0,0 +1,164 @@
+package com.moviebooking.patterns.strategy;
+
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+
+/**
+ * Immutable, pre-parsed pricing configuration. Compiled from the pricing.* keys of the
+ * AppConfigManager snapshot whenever they change and swapped into PricingEngine as a whole, so
+ * strategies read plain fields and every price computed from one snapshot carries the same version.
+ *
+ * Profiles map a showtime's pricingStrategy to the strategies applied to it. pricing.profile.NAME
+ * lists strategy names (comma-separated, empty for none); each strategy is also a profile of its
+ * own, and pricing.profile.default names the profile used for unknown or missing values.
+ */
+@Getter
+public final class PricingRules {
+
+    private static final String PROFILE_PREFIX = "pricing.profile.";
+
+    private final long version;
+    private final LocalDateTime compiledAt;
+
+    private final LocalTime peakStart;
+    private final LocalTime peakEnd;
+    private final BigDecimal peakMultiplier;
+    private final LocalTime morningStart;
+    private final LocalTime morningEnd;
+    private final BigDecimal morningDiscount;
+    private final BigDecimal weekendMultiplier;
+    private final BigDecimal holidayMultiplier;
+    private final double highDemandThreshold;
+    private final BigDecimal highDemandMultiplier;
+    private final double lowDemandThreshold;
+    private final BigDecimal lowDemandMultiplier;
+    private final double velocityForecastThreshold;
+    private final BigDecimal velocityMultiplier;
+
+    private final Map<String, List<PricingStrategy>> profiles;
+    private final String defaultProfile;
+
+    private PricingRules(long version, Map<String, String> config, Map<String, PricingStrategy> strategies) {
+        this.version = version;
+        this.compiledAt = LocalDateTime.now();
+        this.peakStart = time(config, "pricing.peak.start");
+        this.peakEnd = time(config, "pricing.peak.end");
+        this.peakMultiplier = multiplier(config, "pricing.peak.multiplier");
+        this.morningStart = time(config, "pricing.morning.start");
+        this.morningEnd = time(config, "pricing.morning.end");
+        this.morningDiscount = multiplier(config, "pricing.morning.discount");
+        this.weekendMultiplier = multiplier(config, "pricing.weekend.multiplier");
+        this.holidayMultiplier = multiplier(config, "pricing.holiday.multiplier");
+        this.highDemandThreshold = fraction(config, "pricing.high.demand.threshold");
+        this.highDemandMultiplier = multiplier(config, "pricing.high.demand.multiplier");
+        this.lowDemandThreshold = fraction(config, "pricing.low.demand.threshold");
+        this.lowDemandMultiplier = multiplier(config, "pricing.low.demand.multiplier");
+        this.velocityForecastThreshold = fraction(config, "pricing.velocity.forecast.threshold");
+        this.velocityMultiplier = multiplier(config, "pricing.velocity.multiplier");
+
+        Map<String, List<PricingStrategy>> compiled = new HashMap<>();
+        strategies.forEach((name, strategy) -> compiled.put(name, List.of(strategy)));
+        for (Map.Entry<String, String> entry : config.entrySet()) {
+            if (!entry.getKey().startsWith(PROFILE_PREFIX) || entry.getKey().equals(PROFILE_PREFIX + "default")) continue;
+            List<PricingStrategy> members = new ArrayList<>();
+            for (String name : entry.getValue().split(",")) {
+                if (name.isBlank()) continue;
+                PricingStrategy strategy = strategies.get(name.trim().toUpperCase());
+                if (strategy == null) {
+                    throw new IllegalArgumentException(entry.getKey() + ": unknown strategy '" + name.trim() + "'");
+                }
+                members.add(strategy);
+            }
+            compiled.put(entry.getKey().substring(PROFILE_PREFIX.length()).toUpperCase(), List.copyOf(members));
+        }
+        this.profiles = Map.copyOf(compiled);
+        this.defaultProfile = require(config, PROFILE_PREFIX + "default").toUpperCase();
+        if (!profiles.containsKey(defaultProfile)) {
+            throw new IllegalArgumentException(PROFILE_PREFIX + "default: unknown profile '" + defaultProfile + "'");
+        }
+        if (peakStart.isAfter(peakEnd) || morningStart.isAfter(morningEnd)) {
+            throw new IllegalArgumentException("pricing time windows must start before they end");
+        }
+        if (lowDemandThreshold > highDemandThreshold) {
+            throw new IllegalArgumentException("pricing.low.demand.threshold must not exceed pricing.high.demand.threshold");
+        }
+    }
+
+    /**
+     * @throws IllegalArgumentException naming the first missing or malformed key
+     */
+    public static PricingRules compile(long version, Map<String, String> config, Map<String, PricingStrategy> strategies) {
+        return new PricingRules(version, config, strategies);
+    }
+
+    /** Strategies for a showtime's pricingStrategy value; unknown or null values get the default profile */
+    public List<PricingStrategy> strategiesFor(String pricingStrategy) {
+        List<PricingStrategy> profile = pricingStrategy != null ? profiles.get(pricingStrategy.toUpperCase()) : null;
+        return profile != null ? profile : profiles.get(defaultProfile);
+    }
+
+    public Map<String, Object> describe() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("version", version);
+        result.put("compiledAt", compiledAt);
+        result.put("peakWindow", peakStart + "-" + peakEnd);
+        result.put("peakMultiplier", peakMultiplier);
+        result.put("morningWindow", morningStart + "-" + morningEnd);
+        result.put("morningDiscount", morningDiscount);
+        result.put("weekendMultiplier", weekendMultiplier);
+        result.put("holidayMultiplier", holidayMultiplier);
+        result.put("highDemandThreshold", highDemandThreshold);
+        result.put("highDemandMultiplier", highDemandMultiplier);
+        result.put("lowDemandThreshold", lowDemandThreshold);
+        result.put("lowDemandMultiplier", lowDemandMultiplier);
+        result.put("velocityForecastThreshold", velocityForecastThreshold);
+        result.put("velocityMultiplier", velocityMultiplier);
+        Map<String, List<String>> profileNames = new TreeMap<>();
+        profiles.forEach((name, members) ->
+                profileNames.put(name, members.stream().map(PricingStrategy::getStrategyName).toList()));
+        result.put("profiles", profileNames);
+        result.put("defaultProfile", defaultProfile);
+        return result;
+    }
+
+    private static String require(Map<String, String> config, String key) {
+        String value = config.get(key);
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException(key + " is not set");
+        }
+        return value.trim();
+    }
+
+    private static LocalTime time(Map<String, String> config, String key) {
+        try {
+            return LocalTime.parse(require(config, key));
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException(key + " must be a time like 18:00");
+        }
+    }
+
+    private static BigDecimal multiplier(Map<String, String> config, String key) {
+        try {
+            BigDecimal value = new BigDecimal(require(config, key));
+            if (value.signum() <= 0) throw new IllegalArgumentException(key + " must be positive");
+            return value;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(key + " must be a number");
+        }
+    }
+
+    private static double fraction(Map<String, String> config, String key) {
+        try {
+            double value = Double.parseDouble(require(config, key));
+            if (value < 0.0 || value > 1.0) throw new IllegalArgumentException(key + " must be between 0 and 1");
+            return value;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(key + " must be a number");
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package com.moviebooking.patterns.strategy;
+
+import com.moviebooking.entity.Showtime;
+import com.moviebooking.entity.enums.BookingStatus;
+import com.moviebooking.event.BookingLifecycleEvent;
+import com.moviebooking.repository.BookingRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Per-showtime sales velocity over a sliding window, and a forecast of occupancy at show time.
+ *
+ * Each showtime has a ring of time buckets. A bucket slot holds its bucket number and seat count
+ * packed into one long, so recording a sale is a CAS loop with no locks, and a slot left over from
+ * an earlier lap of the ring is reset by the same CAS that counts into it. Reads sum the slots whose
+ * bucket number falls in the window. A cancelled sale is taken back out of the bucket it was counted
+ * in, if that bucket is still in the window.
+ *
+ * The forecast blends the window rate with the showtime's lifetime rate (sold seats over time on
+ * sale) and projects it over the time left before the show, at most a day ahead since early
+ * bursts rarely keep their pace for a week. Readers only touch memory.
+ */
+@Component
+public class SalesVelocityTracker {
+
+    private static final Logger log = LoggerFactory.getLogger(SalesVelocityTracker.class);
+    private static final int COUNT_BITS = 24;
+    private static final long COUNT_MASK = (1L << COUNT_BITS) - 1;
+    private static final double WINDOW_WEIGHT = 0.6;
+    private static final double HORIZON_HOURS = 24.0;
+
+    private final BookingRepository bookingRepository;
+    private final int buckets;
+    private final long bucketMillis;
+    private final Map<Long, AtomicLongArray> rings = new ConcurrentHashMap<>();
+
+    public SalesVelocityTracker(BookingRepository bookingRepository,
+                                @Value("${pricing.velocity.window-minutes:60}") int windowMinutes,
+                                @Value("${pricing.velocity.buckets:12}") int buckets) {
+        this.bookingRepository = bookingRepository;
+        this.buckets = Math.max(1, buckets);
+        this.bucketMillis = Math.max(1, Duration.ofMinutes(windowMinutes).toMillis() / this.buckets);
+    }
+
+    /** Refill the window from bookings confirmed in it, so a restart does not read as zero demand */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        LocalDateTime since = LocalDateTime.now().minus(Duration.ofMillis(bucketMillis * buckets));
+        int sales = 0;
+        for (Object[] row : bookingRepository.findConfirmedSalesSince(since)) {
+            long at = ((LocalDateTime) row[1]).atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+            record((Long) row[0], (Integer) row[2], at);
+            sales++;
+        }
+        log.info("Sales velocity warmed up from {} recent bookings over {} showtimes", sales, rings.size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookingEvent(BookingLifecycleEvent event) {
+        if (event.getStatus() == BookingStatus.CONFIRMED && event.getPreviousStatus() != BookingStatus.CONFIRMED) {
+            record(event.getShowtimeId(), event.getNumSeats(), System.currentTimeMillis());
+        } else if (event.getStatus() == BookingStatus.CANCELLED && event.getPreviousStatus() == BookingStatus.CONFIRMED
+                && event.getConfirmedAt() != null) {
+            long confirmedAt = event.getConfirmedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+            record(event.getShowtimeId(), -event.getNumSeats(), confirmedAt);
+        }
+    }
+
+    /** Count seats sold at the given time; negative seats take back a cancelled sale, never below zero */
+    void record(Long showtimeId, int seats, long atMillis) {
+        long bucket = atMillis / bucketMillis;
+        if (bucket <= currentBucket() - buckets) return;
+        AtomicLongArray ring = seats > 0
+                ? rings.computeIfAbsent(showtimeId, id -> new AtomicLongArray(buckets))
+                : rings.get(showtimeId);
+        if (ring == null) return;
+        int slot = (int) (bucket % buckets);
+        while (true) {
+            long current = ring.get(slot);
+            long currentBucket = current >>> COUNT_BITS;
+            if (currentBucket > bucket) return; // slot already reused by a later bucket
+            long next;
+            if (currentBucket == bucket) {
+                next = (bucket << COUNT_BITS) | Math.max(0, (current & COUNT_MASK) + seats);
+            } else if (seats > 0) {
+                next = (bucket << COUNT_BITS) | seats;
+            } else {
+                return; // nothing of that bucket left to take back
+            }
+            if (ring.compareAndSet(slot, current, next)) return;
+        }
+    }
+
+    /** Seats confirmed for the showtime within the window */
+    public int windowSeats(Long showtimeId) {
+        AtomicLongArray ring = rings.get(showtimeId);
+        if (ring == null) return 0;
+        long oldest = currentBucket() - buckets + 1;
+        long seats = 0;
+        for (int slot = 0; slot < buckets; slot++) {
+            long value = ring.get(slot);
+            if ((value >>> COUNT_BITS) >= oldest) seats += value & COUNT_MASK;
+        }
+        return (int) seats;
+    }
+
+    /** @param fillingFastThreshold forecast occupancy from which a selling showtime counts as filling fast */
+    public Velocity measure(Showtime showtime, double fillingFastThreshold) {
+        int windowSeats = windowSeats(showtime.getId());
+        double windowHours = bucketMillis * buckets / 3_600_000.0;
+        double windowRate = windowSeats / windowHours;
+
+        int total = showtime.getTotalSeats();
+        int sold = total - showtime.getAvailableSeats();
+        LocalDateTime now = LocalDateTime.now();
+        double rate = windowRate;
+        if (showtime.getCreatedAt() != null) {
+            double hoursOnSale = Math.max(1.0, Duration.between(showtime.getCreatedAt(), now).toMinutes() / 60.0);
+            rate = WINDOW_WEIGHT * windowRate + (1 - WINDOW_WEIGHT) * (sold / hoursOnSale);
+        }
+        double hoursLeft = Math.min(HORIZON_HOURS,
+                Math.max(0.0, Duration.between(now, showtime.getShowDatetime()).toMinutes() / 60.0));
+        double forecast = total > 0 ? Math.min(1.0, (sold + rate * hoursLeft) / total) : 0.0;
+        return new Velocity(windowSeats, windowRate, forecast, windowSeats > 0 && forecast >= fillingFastThreshold);
+    }
+
+    /** Drop rings with no sale inside the window; a sale racing the removal may go uncounted */
+    @Scheduled(fixedDelayString = "${pricing.velocity.window-minutes:60}", timeUnit = TimeUnit.MINUTES)
+    public void evictIdle() {
+        rings.keySet().removeIf(showtimeId -> windowSeats(showtimeId) == 0);
+    }
+
+    private long currentBucket() {
+        return System.currentTimeMillis() / bucketMillis;
+    }
+
+    /**
+     * @param seatsPerHour      window rate
+     * @param forecastOccupancy projected occupancy at show time, 0.0 to 1.0
+     * @param fillingFast       selling now and forecast to reach the filling-fast threshold
+     */
+    public record Velocity(int windowSeats, double seatsPerHour, double forecastOccupancy, boolean fillingFast) {}
+}
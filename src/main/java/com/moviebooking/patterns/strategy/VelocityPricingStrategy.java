@@ -0,0 +1,29 @@
+package com.moviebooking.patterns.strategy;
+
+import java.math.BigDecimal;
+
+/**
+ * Velocity pricing - surcharge for showtimes selling fast enough to be forecast near full.
+ * Only applies below the high-demand threshold, where DemandBasedPricingStrategy takes over,
+ * so the two never stack.
+ */
+public class VelocityPricingStrategy implements PricingStrategy {
+
+    @Override
+    public BigDecimal calculateMultiplier(PricingContext context) {
+        PricingRules rules = context.getRules();
+
+        if (context.getOccupancyRate() < rules.getHighDemandThreshold() && context.getSalesVelocity() > 0
+                && context.getForecastOccupancy() >= rules.getVelocityForecastThreshold()) {
+            // Filling fast
+            return rules.getVelocityMultiplier();
+        }
+
+        return BigDecimal.ONE;
+    }
+
+    @Override
+    public String getStrategyName() {
+        return "SALES_VELOCITY";
+    }
+}
@@ -1,7 +1,5 @@
 package com.moviebooking.patterns.strategy;
 
-import com.moviebooking.patterns.singleton.AppConfigManager;
-
 import java.math.BigDecimal;
 
 /**
@@ -11,12 +9,12 @@ public class WeekendPricingStrategy implements PricingStrategy {
 
     @Override
     public BigDecimal calculateMultiplier(PricingContext context) {
-        AppConfigManager config = AppConfigManager.getInstance();
+        PricingRules rules = context.getRules();
 
         if (context.isHoliday()) {
-            return config.getBigDecimal("pricing.holiday.multiplier");
+            return rules.getHolidayMultiplier();
         } else if (context.isWeekend()) {
-            return config.getBigDecimal("pricing.weekend.multiplier");
+            return rules.getWeekendMultiplier();
         }
 
         return BigDecimal.ONE;
@@ -0,0 +1,15 @@
+package com.moviebooking.repository;
+
+import com.moviebooking.entity.AnalyticsCounter;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface AnalyticsCounterRepository extends JpaRepository<AnalyticsCounter, Long> {
+
+    @Modifying
+    @Query("DELETE FROM AnalyticsCounter c")
+    int deleteAllCounters();
+}
@@ -1,11 +1,15 @@
 package com.moviebooking.repository;
 
+import com.moviebooking.dto.BookingEmailView;
 import com.moviebooking.entity.Booking;
 import com.moviebooking.entity.enums.BookingStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -13,6 +17,7 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface BookingRepository extends JpaRepository<Booking, Long> {
@@ -27,6 +32,10 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
 
     List<Booking> findByShowtimeIdAndStatus(Long showtimeId, BookingStatus status);
 
+    /** screen id, showtime created (on sale) at, booking confirmed at; the seat heatmap's per-booking facts */
+    @Query("SELECT b.showtime.screen.id, b.showtime.createdAt, b.confirmedDatetime FROM Booking b WHERE b.id = :bookingId")
+    List<Object[]> findHeatFacts(@Param("bookingId") Long bookingId);
+
     @Query("SELECT b FROM Booking b WHERE b.user.id = :userId AND b.showtime.showDate >= :date AND b.status = 'CONFIRMED' ORDER BY b.showtime.showDatetime ASC")
     List<Booking> findUpcomingBookings(@Param("userId") Long userId, @Param("date") LocalDate date);
 
@@ -35,4 +44,87 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
 
     @Query("SELECT SUM(b.totalAmount) FROM Booking b WHERE b.status = 'CONFIRMED' AND b.bookingDatetime BETWEEN :start AND :end")
     java.math.BigDecimal getTotalRevenue(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+
+    // ---- Analytics aggregates (small projections, computed by the database) ----
+
+    /** booking date, confirmed revenue for each day in the range that has bookings */
+    @Query("SELECT cast(b.bookingDatetime as LocalDate), SUM(b.totalAmount) FROM Booking b " +
+           "WHERE b.status = 'CONFIRMED' AND b.bookingDatetime >= :start AND b.bookingDatetime < :end " +
+           "GROUP BY cast(b.bookingDatetime as LocalDate)")
+    List<Object[]> sumRevenueByDay(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+
+    /**
+     * booking date, theater id, movie id, payment method, revenue, bookings, seats for confirmed
+     * bookings in [start, end); the source of daily_revenue_rollup
+     */
+    @Query("SELECT cast(b.bookingDatetime as LocalDate), b.theater.id, b.movie.id, p.paymentMethod, " +
+           "SUM(b.totalAmount), COUNT(b), SUM(b.numSeats) FROM Booking b " +
+           "JOIN Payment p ON p.booking = b AND p.status = 'SUCCESS' " +
+           "WHERE b.status = 'CONFIRMED' AND b.bookingDatetime >= :start AND b.bookingDatetime < :end " +
+           "GROUP BY cast(b.bookingDatetime as LocalDate), b.theater.id, b.movie.id, p.paymentMethod")
+    List<Object[]> aggregateRevenueRollup(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+
+    @Query("SELECT MIN(b.bookingDatetime) FROM Booking b WHERE b.status = 'CONFIRMED'")
+    LocalDateTime findFirstConfirmedBookingDatetime();
+
+    /**
+     * Flat booking rows for the finance export, read through a forward-only cursor. Scalar rows keep
+     * the persistence context empty; the caller must consume the stream inside a transaction.
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("SELECT b.id, b.bookingReference, b.status, b.bookingDatetime, b.confirmedDatetime, b.cancelledDatetime, " +
+           "b.user.id, b.movie.id, b.movie.title, b.theater.id, b.theater.name, b.showtime.id, b.showtime.showDatetime, " +
+           "b.numSeats, b.ticketAmount, b.foodAmount, b.taxAmount, b.discountAmount, b.totalAmount " +
+           "FROM Booking b WHERE b.bookingDatetime >= :start AND b.bookingDatetime < :end " +
+           "AND (:theaterId IS NULL OR b.theater.id = :theaterId) ORDER BY b.id")
+    Stream<Object[]> streamExportRows(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end,
+                                      @Param("theaterId") Long theaterId);
+
+    /** showtime id, confirmed at, seats for bookings confirmed since the given time */
+    @Query("SELECT b.showtime.id, b.confirmedDatetime, b.numSeats FROM Booking b " +
+           "WHERE b.status = 'CONFIRMED' AND b.confirmedDatetime >= :since")
+    List<Object[]> findConfirmedSalesSince(@Param("since") LocalDateTime since);
+
+    /** status, booking count, total amount */
+    @Query("SELECT b.status, COUNT(b), COALESCE(SUM(b.totalAmount), 0) FROM Booking b GROUP BY b.status")
+    List<Object[]> aggregateByStatus();
+
+    /** movie id, title, genre, status, confirmed bookings, revenue, seats; every movie, most booked first */
+    @Query("SELECT m.id, m.title, m.genre, m.status, COUNT(b.id), COALESCE(SUM(b.totalAmount), 0), " +
+           "COALESCE(SUM(b.numSeats), 0) FROM Movie m LEFT JOIN Booking b ON b.movie = m AND b.status = 'CONFIRMED' " +
+           "GROUP BY m.id, m.title, m.genre, m.status ORDER BY COUNT(b.id) DESC, m.id")
+    List<Object[]> aggregateMoviePerformance();
+
+    @Query("SELECT new com.moviebooking.dto.BookingEmailView(b.id, b.bookingReference, u.email, u.firstName, u.lastName, " +
+           "m.title, t.name, sc.screenName, s.showDatetime, b.ticketAmount, b.foodAmount, b.taxAmount, b.discountAmount, b.totalAmount) " +
+           "FROM Booking b JOIN b.user u JOIN b.movie m JOIN b.theater t JOIN b.screen sc JOIN b.showtime s WHERE b.id IN :ids")
+    List<BookingEmailView> findEmailViews(@Param("ids") List<Long> ids);
+
+    /**
+     * Confirmed bookings whose show starts in [from, to) and whose owner has not opted out of reminders.
+     * Returns (bookingId, showDatetime) pairs; driven by the show_datetime index so each slice is read once.
+     */
+    @Query("SELECT b.id, s.showDatetime FROM Booking b JOIN b.showtime s LEFT JOIN UserPreference p ON p.user = b.user " +
+           "WHERE b.status = 'CONFIRMED' AND s.showDatetime >= :from AND s.showDatetime < :to " +
+           "AND (p.id IS NULL OR p.showReminders = true)")
+    List<Object[]> findReminderCandidates(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    @Query("SELECT s.movie.id, COUNT(b) FROM Booking b JOIN b.showtime s WHERE b.status = 'CONFIRMED' GROUP BY s.movie.id")
+    List<Object[]> countConfirmedByMovie();
+
+    /** user id, movie id, theater type for every confirmed booking */
+    @Query("SELECT b.user.id, b.movie.id, b.theater.theaterType FROM Booking b WHERE b.status = 'CONFIRMED'")
+    List<Object[]> findConfirmedHistory();
+
+    @Query("SELECT b.user.id, b.movie.id, b.theater.theaterType FROM Booking b " +
+           "WHERE b.status = 'CONFIRMED' AND b.user.id = :userId")
+    List<Object[]> findConfirmedHistoryForUser(@Param("userId") Long userId);
+
+    @Query("SELECT sc.theater.id, COUNT(b) FROM Booking b JOIN b.showtime s JOIN s.screen sc " +
+           "WHERE b.status = 'CONFIRMED' GROUP BY sc.theater.id")
+    List<Object[]> countConfirmedByTheater();
 }
@@ -1,6 +1,7 @@
 package com.moviebooking.repository;
 
 import com.moviebooking.entity.BookingSeat;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -19,4 +20,32 @@ public interface BookingSeatRepository extends JpaRepository<BookingSeat, Long>
     List<Long> findBookedSeatIdsForShowtime(@Param("showtimeId") Long showtimeId);
 
     boolean existsBySeatIdAndShowtimeId(Long seatId, Long showtimeId);
+
+    @Query("SELECT bs.booking.id, bs.seat.seatLabel FROM BookingSeat bs WHERE bs.booking.id IN :bookingIds ORDER BY bs.seat.id")
+    List<Object[]> findSeatLabelsForBookings(@Param("bookingIds") List<Long> bookingIds);
+
+    String SALES_FACTS = "SELECT bs.id, b.id, b.movie.id, b.movie.title, b.theater.id, b.theater.name, " +
+            "b.theater.theaterType, b.screen.screenType, bs.seat.seatType, p.paymentMethod, b.bookingDatetime, bs.seatPrice " +
+            "FROM BookingSeat bs JOIN bs.booking b JOIN Payment p ON p.booking = b AND p.status = 'SUCCESS' " +
+            "WHERE b.status = 'CONFIRMED' ";
+
+    /** One row per sold seat of confirmed bookings, keyset-paged by booking seat id (see SalesCube) */
+    @Query(SALES_FACTS + "AND bs.id > :afterId ORDER BY bs.id")
+    List<Object[]> findSalesFactsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query(SALES_FACTS + "AND b.id = :bookingId ORDER BY bs.id")
+    List<Object[]> findSalesFactsForBooking(@Param("bookingId") Long bookingId);
+
+    /** screen id, seat id, showtime created (on sale) at, booking confirmed at */
+    @Query("SELECT bs.showtime.screen.id, bs.seat.id, bs.showtime.createdAt, bs.booking.confirmedDatetime " +
+           "FROM BookingSeat bs WHERE bs.booking.id = :bookingId")
+    List<Object[]> findHeatFactsForBooking(@Param("bookingId") Long bookingId);
+
+    /** Same columns for confirmed seats with booking seat id in [fromId, toId) */
+    @Query("SELECT bs.showtime.screen.id, bs.seat.id, bs.showtime.createdAt, bs.booking.confirmedDatetime " +
+           "FROM BookingSeat bs WHERE bs.booking.status = 'CONFIRMED' AND bs.id >= :fromId AND bs.id < :toId")
+    List<Object[]> findHeatFactsInIdRange(@Param("fromId") Long fromId, @Param("toId") Long toId);
+
+    @Query("SELECT MIN(bs.id), MAX(bs.id) FROM BookingSeat bs")
+    List<Object[]> findIdBounds();
 }
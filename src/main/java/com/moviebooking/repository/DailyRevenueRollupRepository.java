@@ -0,0 +1,64 @@
+package com.moviebooking.repository;
+
+import com.moviebooking.entity.DailyRevenueRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface DailyRevenueRollupRepository extends JpaRepository<DailyRevenueRollup, Long> {
+
+    String RANGE_FILTER = "WHERE r.rollupDate >= :from AND r.rollupDate <= :to " +
+            "AND (:theaterId IS NULL OR r.theaterId = :theaterId) AND (:movieId IS NULL OR r.movieId = :movieId) ";
+
+    /**
+     * Add to the row for the key, creating it if missing, in one statement. Standard MERGE, which
+     * both H2 and PostgreSQL 15+ accept; method is the PaymentMethod name.
+     */
+    @Modifying
+    @Query(value = "MERGE INTO daily_revenue_rollup r " +
+           "USING (VALUES (CAST(:date AS DATE), CAST(:theaterId AS BIGINT), CAST(:movieId AS BIGINT), " +
+           "CAST(:method AS VARCHAR(20)))) AS k (rollup_date, theater_id, movie_id, payment_method) " +
+           "ON r.rollup_date = k.rollup_date AND r.theater_id = k.theater_id " +
+           "AND r.movie_id = k.movie_id AND r.payment_method = k.payment_method " +
+           "WHEN MATCHED THEN UPDATE SET revenue = r.revenue + :revenue, bookings = r.bookings + :bookings, " +
+           "seats = r.seats + :seats " +
+           "WHEN NOT MATCHED THEN INSERT (rollup_date, theater_id, movie_id, payment_method, revenue, bookings, seats) " +
+           "VALUES (k.rollup_date, k.theater_id, k.movie_id, k.payment_method, :revenue, :bookings, :seats)",
+           nativeQuery = true)
+    int upsertIncrement(@Param("date") LocalDate date, @Param("theaterId") Long theaterId, @Param("movieId") Long movieId,
+                        @Param("method") String method, @Param("revenue") BigDecimal revenue,
+                        @Param("bookings") long bookings, @Param("seats") long seats);
+
+    @Modifying
+    @Query("DELETE FROM DailyRevenueRollup r WHERE r.rollupDate >= :from AND r.rollupDate <= :to")
+    int deleteRange(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    // ---- Range reports: key, revenue, bookings, seats ----
+
+    @Query("SELECT r.rollupDate, SUM(r.revenue), SUM(r.bookings), SUM(r.seats) FROM DailyRevenueRollup r " +
+           RANGE_FILTER + "GROUP BY r.rollupDate ORDER BY r.rollupDate")
+    List<Object[]> sumByDay(@Param("from") LocalDate from, @Param("to") LocalDate to,
+                            @Param("theaterId") Long theaterId, @Param("movieId") Long movieId);
+
+    @Query("SELECT r.theaterId, SUM(r.revenue), SUM(r.bookings), SUM(r.seats) FROM DailyRevenueRollup r " +
+           RANGE_FILTER + "GROUP BY r.theaterId ORDER BY SUM(r.revenue) DESC")
+    List<Object[]> sumByTheater(@Param("from") LocalDate from, @Param("to") LocalDate to,
+                                @Param("theaterId") Long theaterId, @Param("movieId") Long movieId);
+
+    @Query("SELECT r.movieId, SUM(r.revenue), SUM(r.bookings), SUM(r.seats) FROM DailyRevenueRollup r " +
+           RANGE_FILTER + "GROUP BY r.movieId ORDER BY SUM(r.revenue) DESC")
+    List<Object[]> sumByMovie(@Param("from") LocalDate from, @Param("to") LocalDate to,
+                              @Param("theaterId") Long theaterId, @Param("movieId") Long movieId);
+
+    @Query("SELECT r.paymentMethod, SUM(r.revenue), SUM(r.bookings), SUM(r.seats) FROM DailyRevenueRollup r " +
+           RANGE_FILTER + "GROUP BY r.paymentMethod ORDER BY SUM(r.revenue) DESC")
+    List<Object[]> sumByPaymentMethod(@Param("from") LocalDate from, @Param("to") LocalDate to,
+                                      @Param("theaterId") Long theaterId, @Param("movieId") Long movieId);
+}
@@ -0,0 +1,34 @@
+package com.moviebooking.repository;
+
+import com.moviebooking.entity.EmailOutbox;
+import com.moviebooking.entity.enums.EmailStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface EmailOutboxRepository extends JpaRepository<EmailOutbox, Long> {
+
+    @Query("SELECT e FROM EmailOutbox e WHERE e.status = 'PENDING' AND e.nextAttemptAt <= :now ORDER BY e.nextAttemptAt ASC, e.id ASC")
+    List<EmailOutbox> findDue(@Param("now") LocalDateTime now, Pageable pageable);
+
+    @Modifying
+    @Query("UPDATE EmailOutbox e SET e.status = 'SENDING' WHERE e.id IN :ids AND e.status = 'PENDING'")
+    int claim(@Param("ids") List<Long> ids);
+
+    @Modifying
+    @Query("UPDATE EmailOutbox e SET e.status = 'PENDING' WHERE e.status = 'SENDING'")
+    int resetInFlight();
+
+    @Modifying
+    @Query("UPDATE EmailOutbox e SET e.status = 'PENDING' WHERE e.id IN :ids AND e.status = 'SENDING'")
+    int release(@Param("ids") List<Long> ids);
+
+    long countByStatus(EmailStatus status);
+}
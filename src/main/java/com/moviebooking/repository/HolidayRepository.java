@@ -0,0 +1,16 @@
+package com.moviebooking.repository;
+
+import com.moviebooking.entity.Holiday;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface HolidayRepository extends JpaRepository<Holiday, Long> {
+
+    List<Holiday> findByHolidayDateBetweenOrderByHolidayDate(LocalDate from, LocalDate to);
+
+    List<Holiday> findByHolidayDate(LocalDate holidayDate);
+}
@@ -2,6 +2,7 @@ package com.moviebooking.repository;
 
 import com.moviebooking.entity.MovieCast;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -12,4 +13,7 @@ public interface MovieCastRepository extends JpaRepository<MovieCast, Long> {
     List<MovieCast> findByMovieIdOrderByDisplayOrderAsc(Long movieId);
 
     List<MovieCast> findByPersonNameContainingIgnoreCase(String personName);
+
+    @Query("SELECT c.movie.id, c.personName, c.characterName FROM MovieCast c")
+    List<Object[]> findAllSearchFields();
 }
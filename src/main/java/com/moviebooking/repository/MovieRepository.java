@@ -5,10 +5,13 @@ import com.moviebooking.entity.enums.MovieStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -21,6 +24,12 @@ public interface MovieRepository extends JpaRepository<Movie, Long> {
     @Query("SELECT m FROM Movie m WHERE m.status = :status ORDER BY m.releaseDate DESC")
     List<Movie> findByStatusOrderByReleaseDateDesc(@Param("status") MovieStatus status);
 
+    /** Keyset page ordered by (releaseDate, id) descending, starting after the given row */
+    @Query("SELECT m FROM Movie m WHERE m.status = :status AND (m.releaseDate < :releaseDate " +
+           "OR (m.releaseDate = :releaseDate AND m.id < :id)) ORDER BY m.releaseDate DESC, m.id DESC")
+    List<Movie> findPageByStatus(@Param("status") MovieStatus status, @Param("releaseDate") LocalDate releaseDate,
+                                 @Param("id") Long id, Pageable pageable);
+
     @Query("SELECT m FROM Movie m WHERE LOWER(m.title) LIKE LOWER(CONCAT('%', :query, '%')) " +
            "OR LOWER(m.genre) LIKE LOWER(CONCAT('%', :query, '%')) " +
            "OR LOWER(m.language) LIKE LOWER(CONCAT('%', :query, '%')) " +
@@ -33,4 +42,30 @@ public interface MovieRepository extends JpaRepository<Movie, Long> {
 
     @Query("SELECT m FROM Movie m WHERE m.status = 'NOW_SHOWING' ORDER BY m.imdbRating DESC")
     List<Movie> findTrendingMovies(Pageable pageable);
+
+    @Modifying
+    @Query("UPDATE Movie m SET m.ratingSum = m.ratingSum + :sumDelta, m.ratingCount = m.ratingCount + :countDelta " +
+           "WHERE m.id = :movieId")
+    int adjustRating(@Param("movieId") Long movieId, @Param("sumDelta") long sumDelta, @Param("countDelta") long countDelta);
+
+    @Modifying
+    @Query("UPDATE Movie m SET " +
+           "m.ratingSum = (SELECT COALESCE(SUM(r.rating), 0) FROM Review r WHERE r.movie.id = m.id), " +
+           "m.ratingCount = (SELECT COUNT(r) FROM Review r WHERE r.movie.id = m.id) " +
+           "WHERE m.id IN :movieIds")
+    int recomputeRating(@Param("movieIds") List<Long> movieIds);
+
+    @Query("SELECT m.id, m.ratingSum, m.ratingCount FROM Movie m")
+    List<Object[]> findRatingAggregates();
+
+    @Query("SELECT m.id, m.ratingSum, m.ratingCount FROM Movie m WHERE m.id IN :movieIds")
+    List<Object[]> findRatingAggregates(@Param("movieIds") Collection<Long> movieIds);
+
+    /** id, genre, language, status, imdbRating for every movie; feeds the recommendation model */
+    @Query("SELECT m.id, m.genre, m.language, m.status, m.imdbRating FROM Movie m")
+    List<Object[]> findRecommendationFeatures();
+
+    /** id, title, genre, status for every movie; labels for the live analytics counters */
+    @Query("SELECT m.id, m.title, m.genre, m.status FROM Movie m")
+    List<Object[]> findAnalyticsLabels();
 }
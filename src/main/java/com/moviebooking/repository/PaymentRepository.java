@@ -1,15 +1,20 @@
 package com.moviebooking.repository;
 
 import com.moviebooking.entity.Payment;
+import com.moviebooking.entity.enums.PaymentMethod;
 import com.moviebooking.entity.enums.PaymentStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface PaymentRepository extends JpaRepository<Payment, Long> {
@@ -22,4 +27,26 @@ public interface PaymentRepository extends JpaRepository<Payment, Long> {
 
     @Query("SELECT p FROM Payment p WHERE p.status = 'SUCCESS' AND p.paymentDatetime BETWEEN :start AND :end")
     List<Payment> findSuccessfulPaymentsBetween(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+
+    /** Flat payment rows for the finance export; see BookingRepository.streamExportRows */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("SELECT p.id, p.booking.id, p.booking.bookingReference, p.booking.theater.id, p.paymentMethod, p.status, " +
+           "p.amount, p.transactionId, p.gatewayName, p.paymentDatetime, p.successDatetime, p.failureReason, " +
+           "p.refundAmount, p.refundDatetime, p.refundTransactionId " +
+           "FROM Payment p WHERE p.paymentDatetime >= :start AND p.paymentDatetime < :end " +
+           "AND (:theaterId IS NULL OR p.booking.theater.id = :theaterId) ORDER BY p.id")
+    Stream<Object[]> streamExportRows(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end,
+                                      @Param("theaterId") Long theaterId);
+
+    /** Method of the payment that paid for a booking, latest first (failed attempts excluded) */
+    @Query("SELECT p.paymentMethod FROM Payment p WHERE p.booking.id = :bookingId " +
+           "AND p.status IN ('SUCCESS', 'REFUNDED') ORDER BY p.id DESC")
+    List<PaymentMethod> findSettledMethodsForBooking(@Param("bookingId") Long bookingId);
+
+    @Query("SELECT p.paymentMethod, COUNT(p) FROM Payment p WHERE p.status = 'SUCCESS' GROUP BY p.paymentMethod")
+    List<Object[]> countSuccessfulByMethod();
 }
@@ -1,6 +1,7 @@
 package com.moviebooking.repository;
 
 import com.moviebooking.entity.PromoCode;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -19,4 +20,8 @@ public interface PromoCodeRepository extends JpaRepository<PromoCode, Long> {
     List<PromoCode> findActivePromoCodes(@Param("now") LocalDateTime now);
 
     boolean existsByCode(String code);
+
+    /** Keyset page, newest first, starting after the given id */
+    @Query("SELECT pc FROM PromoCode pc WHERE pc.id < :id ORDER BY pc.id DESC")
+    List<PromoCode> findPage(@Param("id") Long id, Pageable pageable);
 }
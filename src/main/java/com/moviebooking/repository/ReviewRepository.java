@@ -1,11 +1,14 @@
 package com.moviebooking.repository;
 
 import com.moviebooking.entity.Review;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -14,6 +17,13 @@ public interface ReviewRepository extends JpaRepository<Review, Long> {
 
     List<Review> findByMovieIdOrderByCreatedAtDesc(Long movieId);
 
+    /** Keyset page ordered by (createdAt, id) descending, starting after the given row */
+    @Query("SELECT r FROM Review r JOIN FETCH r.movie JOIN FETCH r.user WHERE r.movie.id = :movieId " +
+           "AND (r.createdAt < :createdAt OR (r.createdAt = :createdAt AND r.id < :id)) " +
+           "ORDER BY r.createdAt DESC, r.id DESC")
+    List<Review> findPageByMovie(@Param("movieId") Long movieId, @Param("createdAt") LocalDateTime createdAt,
+                                 @Param("id") Long id, Pageable pageable);
+
     List<Review> findByUserId(Long userId);
 
     Optional<Review> findByMovieIdAndUserId(Long movieId, Long userId);
@@ -22,4 +32,10 @@ public interface ReviewRepository extends JpaRepository<Review, Long> {
 
     @Query("SELECT AVG(r.rating) FROM Review r WHERE r.movie.id = :movieId")
     Double getAverageRatingForMovie(@Param("movieId") Long movieId);
+
+    @Query("SELECT r.movie.id, SUM(r.rating), COUNT(r) FROM Review r GROUP BY r.movie.id")
+    List<Object[]> aggregateRatingsByMovie();
+
+    @Query("SELECT r.movie.id, SUM(r.rating), COUNT(r) FROM Review r WHERE r.movie.id IN :movieIds GROUP BY r.movie.id")
+    List<Object[]> aggregateRatingsByMovie(@Param("movieIds") Collection<Long> movieIds);
 }
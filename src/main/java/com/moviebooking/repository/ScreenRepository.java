@@ -2,6 +2,8 @@ package com.moviebooking.repository;
 
 import com.moviebooking.entity.Screen;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -15,4 +17,11 @@ public interface ScreenRepository extends JpaRepository<Screen, Long> {
     List<Screen> findByTheaterIdAndIsActiveTrue(Long theaterId);
 
     Optional<Screen> findByTheaterIdAndScreenNumber(Long theaterId, Integer screenNumber);
+
+    /** (screen id, theater state, theater city) of every screen, for regional calendars */
+    @Query("SELECT sc.id, t.state, t.city FROM Screen sc JOIN sc.theater t")
+    List<Object[]> findRegions();
+
+    @Query("SELECT sc.id, t.state, t.city FROM Screen sc JOIN sc.theater t WHERE sc.id = :id")
+    List<Object[]> findRegionById(@Param("id") Long id);
 }
@@ -29,4 +29,16 @@ public interface SeatLockRepository extends JpaRepository<SeatLock, Long> {
 
     @Query("SELECT sl.seat.id FROM SeatLock sl WHERE sl.showtime.id = :showtimeId AND sl.isActive = true AND sl.lockedUntil > :now")
     List<Long> findLockedSeatIdsForShowtime(@Param("showtimeId") Long showtimeId, @Param("now") LocalDateTime now);
+
+    /** Seats under a live lock held by anyone other than the given user */
+    @Query("SELECT sl.seat.id FROM SeatLock sl WHERE sl.showtime.id = :showtimeId AND sl.isActive = true " +
+           "AND sl.lockedUntil > :now AND sl.user.id <> :userId")
+    List<Long> findSeatIdsLockedByOthers(@Param("showtimeId") Long showtimeId, @Param("userId") Long userId,
+                                         @Param("now") LocalDateTime now);
+
+    /** The user's live locks; active locks past their expiry are not holds any more */
+    @Query("SELECT sl FROM SeatLock sl WHERE sl.user.id = :userId AND sl.showtime.id = :showtimeId " +
+           "AND sl.isActive = true AND sl.lockedUntil > :now")
+    List<SeatLock> findLiveLocks(@Param("userId") Long userId, @Param("showtimeId") Long showtimeId,
+                                 @Param("now") LocalDateTime now);
 }
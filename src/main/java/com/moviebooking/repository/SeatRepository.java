@@ -3,6 +3,8 @@ package com.moviebooking.repository;
 import com.moviebooking.entity.Seat;
 import com.moviebooking.entity.enums.SeatType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -17,4 +19,13 @@ public interface SeatRepository extends JpaRepository<Seat, Long> {
     List<Seat> findByScreenIdAndSeatType(Long screenId, SeatType seatType);
 
     List<Seat> findByIdIn(List<Long> seatIds);
+
+    /** Scalar layout columns for ScreenLayout, in seat id order */
+    @Query("SELECT s.id, s.rowLetter, s.seatNumber, s.seatLabel, s.seatType, s.basePrice, s.isAvailable, " +
+           "s.isAisle, s.isWheelchair FROM Seat s WHERE s.screen.id = :screenId ORDER BY s.id")
+    List<Object[]> findLayoutRows(@Param("screenId") Long screenId);
+
+    @Query("SELECT s.screen.id, s.id, s.rowLetter, s.seatNumber, s.seatLabel, s.seatType, s.basePrice, " +
+           "s.isAvailable, s.isAisle, s.isWheelchair FROM Seat s ORDER BY s.screen.id, s.id")
+    List<Object[]> findAllLayoutRows();
 }
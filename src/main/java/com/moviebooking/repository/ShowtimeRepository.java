@@ -1,7 +1,9 @@
 package com.moviebooking.repository;
 
+import com.moviebooking.dto.ShowtimeDto;
 import com.moviebooking.entity.Showtime;
 import com.moviebooking.entity.enums.ShowtimeStatus;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -9,26 +11,82 @@ import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface ShowtimeRepository extends JpaRepository<Showtime, Long> {
 
+    /** Flat ShowtimeDto projection; movie, screen and theater are joined in the same statement */
+    String SHOWTIME_DTO_SELECT = "SELECT new com.moviebooking.dto.ShowtimeDto(s.id, m.id, m.title, sc.id, sc.screenName, " +
+            "sc.screenType, t.id, t.name, t.city, t.theaterType, s.showDate, s.showTime, s.showDatetime, s.basePrice, " +
+            "s.availableSeats, s.totalSeats, s.status, s.pricingStrategy) " +
+            "FROM Showtime s JOIN s.movie m JOIN s.screen sc JOIN sc.theater t ";
+
     List<Showtime> findByMovieIdAndStatus(Long movieId, ShowtimeStatus status);
 
     List<Showtime> findByMovieIdAndShowDateAndStatus(Long movieId, LocalDate showDate, ShowtimeStatus status);
 
     List<Showtime> findByScreenIdAndShowDate(Long screenId, LocalDate showDate);
 
-    @Query("SELECT s FROM Showtime s WHERE s.movie.id = :movieId AND s.showDatetime >= :now AND s.status = 'ACTIVE' ORDER BY s.showDatetime ASC")
-    List<Showtime> findUpcomingShowtimes(@Param("movieId") Long movieId, @Param("now") LocalDateTime now);
+    /** Showtimes with their screens loaded, so pricing them needs no further queries */
+    @Query("SELECT s FROM Showtime s JOIN FETCH s.screen WHERE s.id IN :ids")
+    List<Showtime> findWithScreenByIdIn(@Param("ids") Collection<Long> ids);
 
     @Query("SELECT s FROM Showtime s WHERE s.screen.id = :screenId AND s.showDatetime < :endTime AND s.endDatetime > :startTime AND s.status = 'ACTIVE'")
     List<Showtime> findConflictingShowtimes(@Param("screenId") Long screenId, @Param("startTime") LocalDateTime startTime, @Param("endTime") LocalDateTime endTime);
 
-    @Query("SELECT s FROM Showtime s WHERE s.showDate = :date AND s.status = 'ACTIVE' ORDER BY s.movie.title, s.showTime")
-    List<Showtime> findByShowDateAndActive(@Param("date") LocalDate date);
+    long countByShowDateAndStatus(LocalDate showDate, ShowtimeStatus status);
+
+    long countByScreenId(Long screenId);
+
+    /** theater id, name, type, showtimes, capacity, seats booked; every theater */
+    @Query("SELECT t.id, t.name, t.theaterType, COUNT(s.id), COALESCE(SUM(s.totalSeats), 0), " +
+           "COALESCE(SUM(s.totalSeats - s.availableSeats), 0) FROM Theater t " +
+           "LEFT JOIN Screen sc ON sc.theater = t LEFT JOIN Showtime s ON s.screen = sc " +
+           "GROUP BY t.id, t.name, t.theaterType ORDER BY t.id")
+    List<Object[]> aggregateOccupancyByTheater();
+
+    /** movie id, theater type for each format a movie is still playing in */
+    @Query("SELECT DISTINCT s.movie.id, s.screen.theater.theaterType FROM Showtime s " +
+           "WHERE s.showDatetime >= :now AND s.status = 'ACTIVE'")
+    List<Object[]> findUpcomingTheaterTypesByMovie(@Param("now") LocalDateTime now);
+
+    // ---- DTO projections for listing endpoints ----
+
+    @Query(SHOWTIME_DTO_SELECT + "WHERE s.id = :id")
+    Optional<ShowtimeDto> findDtoById(@Param("id") Long id);
+
+    @Query(SHOWTIME_DTO_SELECT + "WHERE m.id = :movieId AND s.showDatetime >= :now AND s.status = 'ACTIVE' " +
+           "ORDER BY s.showDatetime ASC")
+    List<ShowtimeDto> findUpcomingDtos(@Param("movieId") Long movieId, @Param("now") LocalDateTime now);
+
+    @Query(SHOWTIME_DTO_SELECT + "WHERE m.id = :movieId AND s.showDate = :date AND s.status = 'ACTIVE' " +
+           "ORDER BY s.showDatetime ASC")
+    List<ShowtimeDto> findDtosByMovieAndDate(@Param("movieId") Long movieId, @Param("date") LocalDate date);
+
+    @Query(SHOWTIME_DTO_SELECT + "WHERE t.id = :theaterId AND s.showDate = :date AND s.status = 'ACTIVE' " +
+           "ORDER BY sc.screenNumber, s.showTime")
+    List<ShowtimeDto> findDtosByTheaterAndDate(@Param("theaterId") Long theaterId, @Param("date") LocalDate date);
+
+    @Query(SHOWTIME_DTO_SELECT + "WHERE s.showDate = :date AND s.status = 'ACTIVE' ORDER BY m.title, s.showTime")
+    List<ShowtimeDto> findDtosByDate(@Param("date") LocalDate date);
+
+    /** Active showtimes on a date in grid order (theater, screen, time) */
+    @Query(SHOWTIME_DTO_SELECT + "WHERE s.showDate = :date AND s.status = 'ACTIVE' " +
+           "ORDER BY t.name, t.id, sc.screenNumber, s.showTime")
+    List<ShowtimeDto> findScheduleForDate(@Param("date") LocalDate date);
+
+    /** Keyset page over all showtimes ordered by (showDatetime, id), starting after the given row */
+    @Query(SHOWTIME_DTO_SELECT + "WHERE s.showDatetime > :showDatetime OR (s.showDatetime = :showDatetime AND s.id > :id) " +
+           "ORDER BY s.showDatetime, s.id")
+    List<ShowtimeDto> findDtoPage(@Param("showDatetime") LocalDateTime showDatetime, @Param("id") Long id,
+                                  Pageable pageable);
 
-    @Query("SELECT s FROM Showtime s WHERE s.screen.theater.id = :theaterId AND s.showDate = :date AND s.status = 'ACTIVE'")
-    List<Showtime> findByTheaterAndDate(@Param("theaterId") Long theaterId, @Param("date") LocalDate date);
+    @Query(SHOWTIME_DTO_SELECT + "WHERE m.id = :movieId AND t.id IN :theaterIds AND s.showDatetime >= :now " +
+           "AND s.status = 'ACTIVE' ORDER BY s.showDatetime ASC")
+    List<ShowtimeDto> findUpcomingDtosAtTheaters(@Param("movieId") Long movieId,
+                                                 @Param("theaterIds") Collection<Long> theaterIds,
+                                                 @Param("now") LocalDateTime now);
 }
@@ -2,7 +2,10 @@ package com.moviebooking.repository;
 
 import com.moviebooking.entity.Theater;
 import com.moviebooking.entity.enums.TheaterType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -17,4 +20,8 @@ public interface TheaterRepository extends JpaRepository<Theater, Long> {
     List<Theater> findByIsActiveTrue();
 
     List<Theater> findByCityAndIsActiveTrue(String city);
+
+    /** Keyset page ordered by (name, id), starting after the given row */
+    @Query("SELECT t FROM Theater t WHERE t.name > :name OR (t.name = :name AND t.id > :id) ORDER BY t.name, t.id")
+    List<Theater> findPage(@Param("name") String name, @Param("id") Long id, Pageable pageable);
 }
@@ -2,12 +2,22 @@ package com.moviebooking.repository;
 
 import com.moviebooking.entity.UserPreference;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface UserPreferenceRepository extends JpaRepository<UserPreference, Long> {
 
     Optional<UserPreference> findByUserId(Long userId);
+
+    @Query("SELECT p.user.id, p.preferredGenres, p.preferredLanguages, p.preferredTheaterTypes FROM UserPreference p")
+    List<Object[]> findAllPreferenceVectors();
+
+    @Query("SELECT p.user.id, p.preferredGenres, p.preferredLanguages, p.preferredTheaterTypes FROM UserPreference p " +
+           "WHERE p.user.id = :userId")
+    List<Object[]> findPreferenceVector(@Param("userId") Long userId);
 }
@@ -2,9 +2,13 @@ package com.moviebooking.repository;
 
 import com.moviebooking.entity.User;
 import com.moviebooking.entity.enums.UserRole;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -20,4 +24,9 @@ public interface UserRepository extends JpaRepository<User, Long> {
     List<User> findByRole(UserRole role);
 
     List<User> findByIsActiveTrue();
+
+    /** Keyset page ordered by (createdAt, id) descending, starting after the given row */
+    @Query("SELECT u FROM User u WHERE u.createdAt < :createdAt OR (u.createdAt = :createdAt AND u.id < :id) " +
+           "ORDER BY u.createdAt DESC, u.id DESC")
+    List<User> findPage(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Pageable pageable);
 }
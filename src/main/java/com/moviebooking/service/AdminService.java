@@ -1,12 +1,17 @@
 package com.moviebooking.service;
 
+import com.moviebooking.dto.CursorPage;
 import com.moviebooking.entity.*;
 import com.moviebooking.entity.enums.MovieStatus;
+import com.moviebooking.entity.enums.ShowtimeStatus;
 import com.moviebooking.entity.enums.TheaterType;
+import com.moviebooking.event.CatalogChangedEvent;
 import com.moviebooking.exception.ResourceNotFoundException;
 import com.moviebooking.repository.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -30,11 +35,13 @@ public class AdminService {
     private final PaymentRepository paymentRepository;
     private final UserRepository userRepository;
     private final PromoCodeRepository promoCodeRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     public AdminService(MovieRepository movieRepository, TheaterRepository theaterRepository,
                        ScreenRepository screenRepository, ShowtimeRepository showtimeRepository,
                        BookingRepository bookingRepository, PaymentRepository paymentRepository,
-                       UserRepository userRepository, PromoCodeRepository promoCodeRepository) {
+                       UserRepository userRepository, PromoCodeRepository promoCodeRepository,
+                       ApplicationEventPublisher eventPublisher) {
         this.movieRepository = movieRepository;
         this.theaterRepository = theaterRepository;
         this.screenRepository = screenRepository;
@@ -43,6 +50,7 @@ public class AdminService {
         this.paymentRepository = paymentRepository;
         this.userRepository = userRepository;
         this.promoCodeRepository = promoCodeRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
@@ -66,7 +74,7 @@ public class AdminService {
         stats.put("monthlyRevenue", monthlyRevenue != null ? monthlyRevenue : BigDecimal.ZERO);
 
         // Today's showtimes
-        stats.put("todayShowtimes", showtimeRepository.findByShowDateAndActive(LocalDate.now()).size());
+        stats.put("todayShowtimes", showtimeRepository.countByShowDateAndStatus(LocalDate.now(), ShowtimeStatus.ACTIVE));
 
         // Active promo codes
         stats.put("activePromoCodes", promoCodeRepository.findActivePromoCodes(LocalDateTime.now()).size());
@@ -97,6 +105,7 @@ public class AdminService {
         movie.setDirector(director);
         movie.setProducer(producer);
         movie = movieRepository.save(movie);
+        eventPublisher.publishEvent(new CatalogChangedEvent(movie.getId(), CatalogChangedEvent.ChangeType.MOVIE_CREATED));
         log.info("Admin created movie: {}", movie.getTitle());
         return movie;
     }
@@ -125,6 +134,7 @@ public class AdminService {
         if (producer != null) movie.setProducer(producer);
 
         movie = movieRepository.save(movie);
+        eventPublisher.publishEvent(new CatalogChangedEvent(id, CatalogChangedEvent.ChangeType.MOVIE_UPDATED));
         log.info("Admin updated movie: {} (id={})", movie.getTitle(), id);
         return movie;
     }
@@ -132,25 +142,51 @@ public class AdminService {
     @Transactional
     public void deleteMovie(Long id) {
         movieRepository.deleteById(id);
+        eventPublisher.publishEvent(new CatalogChangedEvent(id, CatalogChangedEvent.ChangeType.MOVIE_DELETED));
         log.info("Admin deleted movie id={}", id);
     }
 
     // ---- Promo Code Management ----
 
+    /** @deprecated unbounded; use {@link #getPromoCodesPage} */
+    @Deprecated
     public List<PromoCode> getAllPromoCodes() {
         return promoCodeRepository.findAll();
     }
 
+    public CursorPage<PromoCode> getPromoCodesPage(String cursor, int size) {
+        CursorPage.validateSize(size);
+        CursorPage.Cursor after = CursorPage.Cursor.decode(cursor);
+        List<PromoCode> codes = promoCodeRepository.findPage(after != null ? after.id() : Long.MAX_VALUE,
+                PageRequest.of(0, size + 1));
+        return CursorPage.of(codes, size, pc -> CursorPage.Cursor.of("", pc.getId()));
+    }
+
     public List<PromoCode> getActivePromoCodes() {
         return promoCodeRepository.findActivePromoCodes(LocalDateTime.now());
     }
 
     // ---- User Management ----
 
+    /** @deprecated unbounded; use {@link #getUsersPage} */
+    @Deprecated
     public List<User> getAllUsers() {
         return userRepository.findAll();
     }
 
+    /**
+     * Users one keyset page at a time, newest first.
+     */
+    public CursorPage<User> getUsersPage(String cursor, int size) {
+        CursorPage.validateSize(size);
+        CursorPage.Cursor after = CursorPage.Cursor.decode(cursor);
+        List<User> users = userRepository.findPage(
+                after != null ? after.dateTimeKey() : CursorPage.FIRST_DATETIME_DESC,
+                after != null ? after.id() : Long.MAX_VALUE,
+                PageRequest.of(0, size + 1));
+        return CursorPage.of(users, size, u -> CursorPage.Cursor.of(u.getCreatedAt(), u.getId()));
+    }
+
     @Transactional
     public User toggleUserStatus(Long userId) {
         User user = userRepository.findById(userId)
@@ -0,0 +1,269 @@
+package com.moviebooking.service;
+
+import com.moviebooking.dto.AutocompleteSuggestion;
+import com.moviebooking.entity.Movie;
+import com.moviebooking.entity.Theater;
+import com.moviebooking.event.CatalogChangedEvent;
+import com.moviebooking.repository.BookingRepository;
+import com.moviebooking.repository.MovieCastRepository;
+import com.moviebooking.repository.MovieRepository;
+import com.moviebooking.repository.TheaterRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Type-ahead suggestions over movie titles, cast, directors, genres and theater names.
+ *
+ * Suggestions live in an immutable snapshot: a sorted array of keys (each suggestion is keyed
+ * once per word it contains, so "endgame" finds "Avengers: Endgame") plus a max-popularity
+ * segment tree over that array. A prefix maps to one contiguous key range by binary search, and
+ * the top suggestions in the range come out of the tree without scanning it. Snapshots are
+ * rebuilt on a background thread and swapped in through a volatile reference.
+ */
+@Service
+public class AutocompleteService {
+
+    private static final Logger log = LoggerFactory.getLogger(AutocompleteService.class);
+    private static final int MAX_LIMIT = 20;
+
+    private final MovieRepository movieRepository;
+    private final MovieCastRepository movieCastRepository;
+    private final TheaterRepository theaterRepository;
+    private final BookingRepository bookingRepository;
+
+    private final ExecutorService rebuildExecutor = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "autocomplete-rebuild");
+        t.setDaemon(true);
+        return t;
+    });
+    private final AtomicBoolean rebuildQueued = new AtomicBoolean();
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+
+    public AutocompleteService(MovieRepository movieRepository, MovieCastRepository movieCastRepository,
+                               TheaterRepository theaterRepository, BookingRepository bookingRepository) {
+        this.movieRepository = movieRepository;
+        this.movieCastRepository = movieCastRepository;
+        this.theaterRepository = theaterRepository;
+        this.bookingRepository = bookingRepository;
+    }
+
+    public List<AutocompleteSuggestion> suggest(String query, int limit) {
+        String prefix = String.join(" ", MovieSearchIndex.tokenize(query));
+        if (prefix.isEmpty()) return List.of();
+        return snapshot.topK(prefix, Math.max(1, Math.min(limit, MAX_LIMIT)));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady() {
+        requestRebuild();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        if (event.affectsMembership()) requestRebuild();
+    }
+
+    /** Popularity and theater names change without catalog events, so refresh periodically too */
+    @Scheduled(fixedDelayString = "${autocomplete.refresh-interval-ms:600000}",
+               initialDelayString = "${autocomplete.refresh-interval-ms:600000}")
+    public void refresh() {
+        requestRebuild();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        rebuildExecutor.shutdownNow();
+    }
+
+    /** Queue a rebuild unless one is already waiting; bursts of changes collapse into one build */
+    private void requestRebuild() {
+        if (rebuildQueued.compareAndSet(false, true)) {
+            rebuildExecutor.execute(() -> {
+                rebuildQueued.set(false);
+                try {
+                    long start = System.currentTimeMillis();
+                    Snapshot built = build();
+                    snapshot = built;
+                    log.info("Autocomplete rebuilt: {} suggestions, {} keys in {} ms",
+                            built.texts.length, built.keys.length, System.currentTimeMillis() - start);
+                } catch (RuntimeException e) {
+                    log.error("Autocomplete rebuild failed, keeping previous snapshot: {}", e.getMessage());
+                }
+            });
+        }
+    }
+
+    private Snapshot build() {
+        Map<Long, Long> movieBookings = toCountMap(bookingRepository.countConfirmedByMovie());
+        Map<Long, Long> theaterBookings = toCountMap(bookingRepository.countConfirmedByTheater());
+
+        Snapshot.Builder builder = new Snapshot.Builder();
+        Map<String, Long> people = new HashMap<>();
+        Map<String, Long> genres = new HashMap<>();
+        Map<Long, Long> popularityByMovie = new HashMap<>();
+
+        for (Movie movie : movieRepository.findAll()) {
+            long popularity = movieBookings.getOrDefault(movie.getId(), 0L);
+            popularityByMovie.put(movie.getId(), popularity);
+            builder.add(movie.getTitle(), AutocompleteSuggestion.Type.MOVIE, movie.getId(), popularity);
+            if (movie.getDirector() != null) people.merge(movie.getDirector(), popularity, Long::sum);
+            if (movie.getGenre() != null) {
+                for (String genre : movie.getGenre().split(",")) {
+                    if (!genre.isBlank()) genres.merge(genre.trim(), popularity, Long::sum);
+                }
+            }
+        }
+        for (Object[] row : movieCastRepository.findAllSearchFields()) {
+            people.merge((String) row[1], popularityByMovie.getOrDefault((Long) row[0], 0L), Long::sum);
+        }
+        people.forEach((name, popularity) -> builder.add(name, AutocompleteSuggestion.Type.PERSON, null, popularity));
+        genres.forEach((genre, popularity) -> builder.add(genre, AutocompleteSuggestion.Type.GENRE, null, popularity));
+        for (Theater theater : theaterRepository.findAll()) {
+            builder.add(theater.getName(), AutocompleteSuggestion.Type.THEATER, theater.getId(),
+                    theaterBookings.getOrDefault(theater.getId(), 0L));
+        }
+        return builder.build();
+    }
+
+    private Map<Long, Long> toCountMap(List<Object[]> rows) {
+        Map<Long, Long> counts = new HashMap<>();
+        for (Object[] row : rows) {
+            counts.put((Long) row[0], ((Number) row[1]).longValue());
+        }
+        return counts;
+    }
+
+    /**
+     * Immutable suggestion set. keys[i] is a normalized key that resolves to suggestion keyOwner[i];
+     * tree is a max-popularity segment tree over key positions (leaves at size + i).
+     */
+    private static final class Snapshot {
+
+        static final Snapshot EMPTY = new Builder().build();
+
+        final String[] keys;
+        final int[] keyOwner;
+        final String[] texts;
+        final AutocompleteSuggestion.Type[] types;
+        final Long[] ids;
+        final long[] popularity;
+        final int size;
+        final int[] tree;
+
+        private Snapshot(String[] keys, int[] keyOwner, String[] texts, AutocompleteSuggestion.Type[] types,
+                         Long[] ids, long[] popularity) {
+            this.keys = keys;
+            this.keyOwner = keyOwner;
+            this.texts = texts;
+            this.types = types;
+            this.ids = ids;
+            this.popularity = popularity;
+
+            int n = 1;
+            while (n < Math.max(keys.length, 1)) n <<= 1;
+            this.size = n;
+            this.tree = new int[2 * n];
+            Arrays.fill(tree, -1);
+            for (int i = 0; i < keys.length; i++) tree[n + i] = i;
+            for (int node = n - 1; node >= 1; node--) tree[node] = better(tree[2 * node], tree[2 * node + 1]);
+        }
+
+        /** Key position with the more popular suggestion; the earlier key wins ties */
+        private int better(int a, int b) {
+            if (a < 0) return b;
+            if (b < 0) return a;
+            long pa = popularity[keyOwner[a]], pb = popularity[keyOwner[b]];
+            if (pa != pb) return pa > pb ? a : b;
+            return a < b ? a : b;
+        }
+
+        List<AutocompleteSuggestion> topK(String prefix, int k) {
+            int lo = lowerBound(prefix);
+            int hi = lowerBound(prefix + Character.MAX_VALUE);
+            if (lo >= hi) return List.of();
+
+            // Max-heap of tree nodes that exactly cover parts of [lo, hi)
+            PriorityQueue<Integer> heap = new PriorityQueue<>((x, y) -> {
+                int best = better(tree[x], tree[y]);
+                return best == tree[x] ? -1 : 1;
+            });
+            for (int l = lo + size, r = hi + size; l < r; l >>= 1, r >>= 1) {
+                if ((l & 1) == 1) heap.add(l++);
+                if ((r & 1) == 1) heap.add(--r);
+            }
+
+            List<AutocompleteSuggestion> result = new ArrayList<>(k);
+            BitSet seen = new BitSet(texts.length);
+            while (!heap.isEmpty() && result.size() < k) {
+                int node = heap.poll();
+                if (node >= size) {
+                    int owner = keyOwner[tree[node]];
+                    if (!seen.get(owner)) {
+                        seen.set(owner);
+                        result.add(new AutocompleteSuggestion(texts[owner], types[owner], ids[owner]));
+                    }
+                } else {
+                    if (tree[2 * node] >= 0) heap.add(2 * node);
+                    if (tree[2 * node + 1] >= 0) heap.add(2 * node + 1);
+                }
+            }
+            return result;
+        }
+
+        private int lowerBound(String key) {
+            int lo = 0, hi = keys.length;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (keys[mid].compareTo(key) < 0) lo = mid + 1;
+                else hi = mid;
+            }
+            return lo;
+        }
+
+        static final class Builder {
+            private final List<String> texts = new ArrayList<>();
+            private final List<AutocompleteSuggestion.Type> types = new ArrayList<>();
+            private final List<Long> ids = new ArrayList<>();
+            private final List<Long> popularity = new ArrayList<>();
+            private final List<Map.Entry<String, Integer>> keys = new ArrayList<>();
+
+            void add(String text, AutocompleteSuggestion.Type type, Long id, long weight) {
+                List<String> tokens = MovieSearchIndex.tokenize(text);
+                if (tokens.isEmpty()) return;
+                int owner = texts.size();
+                texts.add(text);
+                types.add(type);
+                ids.add(id);
+                popularity.add(weight);
+                for (int i = 0; i < tokens.size(); i++) {
+                    keys.add(Map.entry(String.join(" ", tokens.subList(i, tokens.size())), owner));
+                }
+            }
+
+            Snapshot build() {
+                keys.sort(Map.Entry.comparingByKey());
+                String[] keyArray = new String[keys.size()];
+                int[] owners = new int[keys.size()];
+                for (int i = 0; i < keys.size(); i++) {
+                    keyArray[i] = keys.get(i).getKey();
+                    owners[i] = keys.get(i).getValue();
+                }
+                long[] weights = new long[popularity.size()];
+                for (int i = 0; i < weights.length; i++) weights[i] = popularity.get(i);
+                return new Snapshot(keyArray, owners, texts.toArray(new String[0]),
+                        types.toArray(new AutocompleteSuggestion.Type[0]), ids.toArray(new Long[0]), weights);
+            }
+        }
+    }
+}
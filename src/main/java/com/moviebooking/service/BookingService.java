@@ -2,15 +2,19 @@ package com.moviebooking.service;
 
 import com.moviebooking.entity.*;
 import com.moviebooking.entity.enums.BookingStatus;
+import com.moviebooking.event.BookingLifecycleEvent;
 import com.moviebooking.exception.BadRequestException;
 import com.moviebooking.exception.ResourceNotFoundException;
 import com.moviebooking.patterns.chain.BookingValidationChain;
 import com.moviebooking.patterns.chain.BookingValidationRequest;
 import com.moviebooking.patterns.chain.ValidationResult;
+import com.moviebooking.patterns.singleton.AppConfigManager;
+import com.moviebooking.patterns.singleton.ConfigSnapshot;
 import com.moviebooking.patterns.state.BookingContext;
 import com.moviebooking.repository.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -21,6 +25,7 @@ import java.math.RoundingMode;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.UUID;
 
@@ -28,7 +33,6 @@ import java.util.UUID;
 public class BookingService {
 
     private static final Logger log = LoggerFactory.getLogger(BookingService.class);
-    private static final BigDecimal GST_RATE = new BigDecimal("0.18");
 
     private final BookingRepository bookingRepository;
     private final BookingSeatRepository bookingSeatRepository;
@@ -37,11 +41,17 @@ public class BookingService {
     private final ShowtimeRepository showtimeRepository;
     private final SeatService seatService;
     private final BookingValidationChain validationChain;
+    private final ContentVersions contentVersions;
+    private final ScreenLayoutRegistry layoutRegistry;
+    private final ApplicationEventPublisher eventPublisher;
+    private final PriceQuoteService priceQuotes;
 
     public BookingService(BookingRepository bookingRepository, BookingSeatRepository bookingSeatRepository,
                          SeatRepository seatRepository, SeatLockRepository seatLockRepository,
                          ShowtimeRepository showtimeRepository,
-                         SeatService seatService, BookingValidationChain validationChain) {
+                         SeatService seatService, BookingValidationChain validationChain,
+                         ContentVersions contentVersions, ScreenLayoutRegistry layoutRegistry,
+                         ApplicationEventPublisher eventPublisher, PriceQuoteService priceQuotes) {
         this.bookingRepository = bookingRepository;
         this.bookingSeatRepository = bookingSeatRepository;
         this.seatRepository = seatRepository;
@@ -49,6 +59,10 @@ public class BookingService {
         this.showtimeRepository = showtimeRepository;
         this.seatService = seatService;
         this.validationChain = validationChain;
+        this.contentVersions = contentVersions;
+        this.layoutRegistry = layoutRegistry;
+        this.eventPublisher = eventPublisher;
+        this.priceQuotes = priceQuotes;
     }
 
     @Transactional
@@ -58,7 +72,10 @@ public class BookingService {
 
         // Chain of Responsibility: validate booking request
         List<Long> bookedSeatIds = bookingSeatRepository.findBookedSeatIdsForShowtime(showtimeId);
-        List<Long> lockedSeatIds = seatLockRepository.findLockedSeatIdsForShowtime(showtimeId, LocalDateTime.now());
+        // Seats held by this user are theirs to book, and carry the prices quoted when they were locked
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> lockedSeatIds = seatLockRepository.findSeatIdsLockedByOthers(showtimeId, user.getId(), now);
+        List<SeatLock> heldLocks = seatLockRepository.findLiveLocks(user.getId(), showtimeId, now);
         long activeBookings = bookingRepository.countActiveBookingsForShowtime(showtimeId);
 
         BookingValidationRequest validationRequest = BookingValidationRequest.builder()
@@ -75,17 +92,24 @@ public class BookingService {
             throw new BadRequestException(validationResult.getMessage());
         }
 
-        List<Seat> seats = seatRepository.findByIdIn(seatIds);
-        if (seats.size() != seatIds.size()) {
-            throw new BadRequestException("One or more seats not found");
+        if (new HashSet<>(seatIds).size() != seatIds.size()) {
+            throw new BadRequestException("Duplicate seats in request");
+        }
+        ScreenLayout layout = layoutRegistry.get(showtime.getScreen().getId());
+        int[] seatPositions = new int[seatIds.size()];
+        for (int i = 0; i < seatIds.size(); i++) {
+            seatPositions[i] = layout.indexOf(seatIds.get(i));
+            if (seatPositions[i] < 0) {
+                throw new BadRequestException("One or more seats not found");
+            }
+        }
+        PriceQuoteService.BookingPrice price = priceQuotes.priceBooking(showtime, layout, seatPositions, heldLocks);
+        BigDecimal ticketAmount = BigDecimal.ZERO;
+        for (BigDecimal seatPrice : price.prices()) {
+            ticketAmount = ticketAmount.add(seatPrice);
         }
 
-        // Calculate ticket amount
-        BigDecimal ticketAmount = seats.stream()
-                .map(Seat::getBasePrice)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        BigDecimal taxAmount = ticketAmount.multiply(GST_RATE).setScale(2, RoundingMode.HALF_UP);
+        BigDecimal taxAmount = ticketAmount.multiply(gstRate()).setScale(2, RoundingMode.HALF_UP);
         BigDecimal totalAmount = ticketAmount.add(taxAmount);
 
         // Create booking
@@ -100,6 +124,7 @@ public class BookingService {
         booking.setTicketAmount(ticketAmount);
         booking.setTaxAmount(taxAmount);
         booking.setTotalAmount(totalAmount);
+        booking.setPricingVersion(price.pricingVersion());
         booking.setFoodAmount(BigDecimal.ZERO);
         booking.setDiscountAmount(BigDecimal.ZERO);
         booking.setStatus(BookingStatus.PENDING);
@@ -108,12 +133,12 @@ public class BookingService {
 
         // Create booking-seat records
         List<BookingSeat> bookingSeats = new ArrayList<>();
-        for (Seat seat : seats) {
+        for (int i = 0; i < seatPositions.length; i++) {
             BookingSeat bs = new BookingSeat();
             bs.setBooking(booking);
-            bs.setSeat(seat);
+            bs.setSeat(seatRepository.getReferenceById(layout.seatId(seatPositions[i])));
             bs.setShowtime(showtime);
-            bs.setSeatPrice(seat.getBasePrice());
+            bs.setSeatPrice(price.prices()[i]);
             bookingSeats.add(bs);
         }
         bookingSeatRepository.saveAll(bookingSeats);
@@ -122,9 +147,13 @@ public class BookingService {
         BookingContext context = new BookingContext(booking);
         context.lock();
         booking = bookingRepository.save(booking);
+        eventPublisher.publishEvent(BookingLifecycleEvent.of(booking, null));
+        // The booking now carries these prices; the quotes go once it commits
+        priceQuotes.discard(heldLocks.stream().filter(lock -> seatIds.contains(lock.getSeat().getId())).toList());
 
-        log.info("Booking {} created for user {} with {} seats, total ₹{}",
-                booking.getBookingReference(), user.getEmail(), seatIds.size(), totalAmount);
+        log.info("Booking {} created for user {} with {} seats, total ₹{} (pricing v{}, {})",
+                booking.getBookingReference(), user.getEmail(), seatIds.size(), totalAmount,
+                price.pricingVersion(), price.fromQuotes() ? "quoted at lock" : "priced at booking");
 
         return booking;
     }
@@ -132,6 +161,7 @@ public class BookingService {
     @Transactional
     public Booking confirmBooking(Long bookingId) {
         Booking booking = getBookingById(bookingId);
+        BookingStatus previousStatus = booking.getStatus();
 
         BookingContext context = new BookingContext(booking);
         context.confirm();
@@ -145,6 +175,9 @@ public class BookingService {
         seatService.releaseLocksForBooking(showtime.getId(), booking.getUser().getId());
 
         booking = bookingRepository.save(booking);
+        // Rollup, reminders, recommendations and the live stores all follow this event
+        eventPublisher.publishEvent(BookingLifecycleEvent.of(booking, previousStatus));
+        contentVersions.bumpAfterCommit(ContentVersions.Scope.SHOWTIMES);
         log.info("Booking {} confirmed", booking.getBookingReference());
         return booking;
     }
@@ -152,23 +185,27 @@ public class BookingService {
     @Transactional
     public Booking cancelBooking(Long bookingId, String reason) {
         Booking booking = getBookingById(bookingId);
+        BookingStatus previousStatus = booking.getStatus();
 
         BookingContext context = new BookingContext(booking);
         context.cancel();
         booking.setCancellationReason(reason);
 
         // Release seats if booking was confirmed
-        if (booking.getShowtime() != null) {
+        if (previousStatus == BookingStatus.CONFIRMED && booking.getShowtime() != null) {
             Showtime showtime = booking.getShowtime();
             showtime.setAvailableSeats(showtime.getAvailableSeats() + booking.getNumSeats());
             showtimeRepository.save(showtime);
+            contentVersions.bumpAfterCommit(ContentVersions.Scope.SHOWTIMES);
         }
 
-        // Remove booking seats
+        // Remove booking seats; listeners get their seat ids since the rows are gone once they run
         List<BookingSeat> bookingSeats = bookingSeatRepository.findByBookingId(bookingId);
+        List<Long> releasedSeatIds = bookingSeats.stream().map(bs -> bs.getSeat().getId()).toList();
         bookingSeatRepository.deleteAll(bookingSeats);
 
         booking = bookingRepository.save(booking);
+        eventPublisher.publishEvent(BookingLifecycleEvent.of(booking, previousStatus, releasedSeatIds));
         log.info("Booking {} cancelled: {}", booking.getBookingReference(), reason);
         return booking;
     }
@@ -179,7 +216,7 @@ public class BookingService {
         booking.setFoodAmount(foodAmount);
 
         BigDecimal subtotal = booking.getTicketAmount().add(foodAmount);
-        BigDecimal tax = subtotal.multiply(GST_RATE).setScale(2, RoundingMode.HALF_UP);
+        BigDecimal tax = subtotal.multiply(gstRate()).setScale(2, RoundingMode.HALF_UP);
         BigDecimal discount = booking.getDiscountAmount() != null ? booking.getDiscountAmount() : BigDecimal.ZERO;
         booking.setTaxAmount(tax);
         booking.setTotalAmount(subtotal.add(tax).subtract(discount));
@@ -194,7 +231,7 @@ public class BookingService {
         booking.setPromoCode(promoCode);
 
         BigDecimal subtotal = booking.getTicketAmount().add(booking.getFoodAmount());
-        BigDecimal tax = subtotal.multiply(GST_RATE).setScale(2, RoundingMode.HALF_UP);
+        BigDecimal tax = subtotal.multiply(gstRate()).setScale(2, RoundingMode.HALF_UP);
         booking.setTaxAmount(tax);
         booking.setTotalAmount(subtotal.add(tax).subtract(discountAmount));
 
@@ -222,15 +259,20 @@ public class BookingService {
     public BigDecimal calculateRefundAmount(Booking booking) {
         LocalDateTime showTime = booking.getShowtime().getShowDatetime();
         long hoursUntilShow = java.time.Duration.between(LocalDateTime.now(), showTime).toHours();
+        ConfigSnapshot config = AppConfigManager.getInstance().snapshot();
 
-        if (hoursUntilShow > 24) {
+        if (hoursUntilShow > config.fullRefundHours()) {
             return booking.getTotalAmount(); // 100% refund
-        } else if (hoursUntilShow > 6) {
+        } else if (hoursUntilShow > config.halfRefundHours()) {
             return booking.getTotalAmount().multiply(new BigDecimal("0.50")).setScale(2, RoundingMode.HALF_UP); // 50%
         }
         return BigDecimal.ZERO; // No refund
     }
 
+    private static BigDecimal gstRate() {
+        return AppConfigManager.getInstance().snapshot().gstRate();
+    }
+
     private String generateBookingReference() {
         return "BK" + UUID.randomUUID().toString().substring(0, 8).toUpperCase();
     }
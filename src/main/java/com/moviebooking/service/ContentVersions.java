@@ -0,0 +1,74 @@
+package com.moviebooking.service;
+
+import com.moviebooking.event.CatalogChangedEvent;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Version counters for groups of publicly readable data, used to build HTTP ETags without
+ * rendering the response. A counter is bumped after any transaction that changes data in its
+ * scope commits; the ETag also carries the process start time so restarts never reuse a tag.
+ */
+@Component
+public class ContentVersions {
+
+    public enum Scope {
+        /** Movies, cast and reviews (everything behind CatalogChangedEvent) */
+        CATALOG,
+        /** Showtime schedule and seat availability counts */
+        SHOWTIMES
+    }
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final Map<Scope, AtomicLong> versions = new EnumMap<>(Scope.class);
+
+    public ContentVersions() {
+        for (Scope scope : Scope.values()) {
+            versions.put(scope, new AtomicLong());
+        }
+    }
+
+    /**
+     * Strong ETag covering the given scopes. Read it before loading the data it describes, so a
+     * concurrent change can only make the tag older than the body, never newer.
+     */
+    public String etag(Scope... scopes) {
+        StringBuilder tag = new StringBuilder("\"").append(epoch);
+        for (Scope scope : scopes) {
+            tag.append('-').append(versions.get(scope).get());
+        }
+        return tag.append('"').toString();
+    }
+
+    /** Bump a scope once the current transaction commits (immediately when there is none) */
+    public void bumpAfterCommit(Scope scope) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    versions.get(scope).incrementAndGet();
+                }
+            });
+        } else {
+            versions.get(scope).incrementAndGet();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        versions.get(Scope.CATALOG).incrementAndGet();
+    }
+
+    /** Upcoming-showtime listings also change as shows start, without any write */
+    @Scheduled(fixedRate = 60_000)
+    public void expireUpcomingShowtimes() {
+        versions.get(Scope.SHOWTIMES).incrementAndGet();
+    }
+}
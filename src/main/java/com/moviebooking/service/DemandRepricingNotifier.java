@@ -0,0 +1,113 @@
+package com.moviebooking.service;
+
+import com.moviebooking.entity.Showtime;
+import com.moviebooking.entity.enums.BookingStatus;
+import com.moviebooking.event.BookingLifecycleEvent;
+import com.moviebooking.patterns.observer.SeatAvailabilitySubject;
+import com.moviebooking.patterns.observer.SeatUpdateEvent;
+import com.moviebooking.patterns.strategy.DemandBasedPricingStrategy;
+import com.moviebooking.patterns.strategy.PricingEngine;
+import com.moviebooking.patterns.strategy.PricingRules;
+import com.moviebooking.repository.ShowtimeRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Pushes new seat prices to open seat maps when a booking moves a showtime across a demand
+ * threshold (pricing.high.demand.threshold or pricing.low.demand.threshold).
+ *
+ * After a booking is confirmed or a confirmed booking is cancelled, the showtime's occupancy is
+ * re-read and its demand level compared with the last level seen. On a change the price table,
+ * one final price per distinct base price on the screen, is computed once and broadcast as a
+ * PRICE_UPDATE on /topic/seats/{showtimeId}; clients map each seat's base price to its new price.
+ * Showtimes whose pricing profile has no demand-based strategy are skipped. Last levels are kept
+ * only until the show starts; a sweep drops the rest.
+ */
+@Service
+public class DemandRepricingNotifier {
+
+    private static final Logger log = LoggerFactory.getLogger(DemandRepricingNotifier.class);
+
+    private final ShowtimeRepository showtimeRepository;
+    private final ScreenLayoutRegistry layoutRegistry;
+    private final PricingEngine pricingEngine;
+    private final SeatAvailabilitySubject seatAvailabilitySubject;
+    private final Map<Long, LastLevel> lastLevels = new ConcurrentHashMap<>();
+
+    public DemandRepricingNotifier(ShowtimeRepository showtimeRepository, ScreenLayoutRegistry layoutRegistry,
+                                   PricingEngine pricingEngine, SeatAvailabilitySubject seatAvailabilitySubject) {
+        this.showtimeRepository = showtimeRepository;
+        this.layoutRegistry = layoutRegistry;
+        this.pricingEngine = pricingEngine;
+        this.seatAvailabilitySubject = seatAvailabilitySubject;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookingEvent(BookingLifecycleEvent event) {
+        boolean confirmed = event.getStatus() == BookingStatus.CONFIRMED && event.getPreviousStatus() != BookingStatus.CONFIRMED;
+        boolean released = event.getPreviousStatus() == BookingStatus.CONFIRMED && event.getStatus() != BookingStatus.CONFIRMED;
+        if (!confirmed && !released) return;
+        try {
+            checkThreshold(event.getShowtimeId(), confirmed ? event.getNumSeats() : -event.getNumSeats());
+        } catch (RuntimeException e) {
+            log.warn("Repricing check for showtime {} failed: {}", event.getShowtimeId(), e.getMessage());
+        }
+    }
+
+    /** Started shows take no more bookings, so their last level is never compared again */
+    @Scheduled(fixedRate = 60000)
+    public void evictStarted() {
+        LocalDateTime now = LocalDateTime.now();
+        int before = lastLevels.size();
+        lastLevels.values().removeIf(last -> !last.showDatetime().isAfter(now));
+        if (before != lastLevels.size()) {
+            log.debug("Evicted {} demand levels of started shows", before - lastLevels.size());
+        }
+    }
+
+    /** @param seatsSold seats the booking took (negative when it gave them back) */
+    private void checkThreshold(Long showtimeId, int seatsSold) {
+        List<Showtime> found = showtimeRepository.findWithScreenByIdIn(List.of(showtimeId));
+        if (found.isEmpty()) return;
+        Showtime showtime = found.get(0);
+        PricingRules rules = pricingEngine.currentRules();
+        boolean demandPriced = rules.strategiesFor(showtime.getPricingStrategy()).stream()
+                .anyMatch(strategy -> strategy instanceof DemandBasedPricingStrategy);
+        if (!demandPriced || showtime.getTotalSeats() == 0) return;
+
+        int total = showtime.getTotalSeats();
+        int available = showtime.getAvailableSeats();
+        DemandBasedPricingStrategy.DemandLevel level =
+                DemandBasedPricingStrategy.levelOf(rules, 1.0 - (double) available / total);
+        DemandBasedPricingStrategy.DemandLevel before = DemandBasedPricingStrategy.levelOf(rules,
+                1.0 - (double) Math.min(total, Math.max(0, available + seatsSold)) / total);
+        LastLevel previous = lastLevels.put(showtimeId, new LastLevel(level, showtime.getShowDatetime()));
+        DemandBasedPricingStrategy.DemandLevel last = previous != null ? previous.level() : null;
+        if (level == (last != null ? last : before)) return;
+
+        ScreenLayout layout = layoutRegistry.get(showtime.getScreen().getId());
+        Map<BigDecimal, BigDecimal> finalPrices = new LinkedHashMap<>();
+        for (int i = 0; i < layout.size(); i++) {
+            finalPrices.computeIfAbsent(layout.basePrice(i), base -> pricingEngine.calculateFinalPrice(base, showtime, rules));
+        }
+        List<SeatUpdateEvent.PriceDto> prices = new ArrayList<>(finalPrices.size());
+        finalPrices.forEach((base, price) -> prices.add(new SeatUpdateEvent.PriceDto(base, price)));
+
+        SeatUpdateEvent update = new SeatUpdateEvent(showtimeId, List.of(), "PRICE_UPDATE", null, LocalDateTime.now());
+        update.setPrices(prices);
+        update.setPricingVersion(rules.getVersion());
+        seatAvailabilitySubject.notifyObservers(update);
+        log.info("Showtime {} demand {} -> {} at {}/{} seats available, pushed {} prices",
+                showtimeId, last != null ? last : before, level, available, total, prices.size());
+    }
+
+    private record LastLevel(DemandBasedPricingStrategy.DemandLevel level, LocalDateTime showDatetime) {}
+}
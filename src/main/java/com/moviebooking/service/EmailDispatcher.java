@@ -0,0 +1,297 @@
+package com.moviebooking.service;
+
+import com.moviebooking.dto.BookingEmailView;
+import com.moviebooking.entity.EmailOutbox;
+import com.moviebooking.entity.enums.EmailStatus;
+import com.moviebooking.repository.BookingRepository;
+import com.moviebooking.repository.BookingSeatRepository;
+import com.moviebooking.repository.EmailOutboxRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Drains the email outbox on a worker pool.
+ * Each poll claims a batch of due rows, splits it into SMTP sessions (one connection per
+ * session), renders from the flat booking projection and records the outcome.
+ * Failed sends are retried with exponential backoff up to a maximum attempt count.
+ * When no JavaMailSender is configured (spring.mail.host unset) emails are written to the log.
+ */
+@Component
+public class EmailDispatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(EmailDispatcher.class);
+
+    private final EmailOutboxRepository emailOutboxRepository;
+    private final BookingRepository bookingRepository;
+    private final BookingSeatRepository bookingSeatRepository;
+    private final EmailService emailService;
+    private final ObjectProvider<JavaMailSender> mailSenderProvider;
+    private final TransactionTemplate transactionTemplate;
+
+    private final int batchSize;
+    private final int sessionSize;
+    private final int workers;
+    private final int maxAttempts;
+    private final long backoffSeconds;
+    private final String fromAddress;
+
+    private ExecutorService workerPool;
+
+    private final LongAdder sentCount = new LongAdder();
+    private final LongAdder retryCount = new LongAdder();
+    private final LongAdder failedCount = new LongAdder();
+    private final LongAdder sessionCount = new LongAdder();
+    private final LongAdder totalLatencyMs = new LongAdder();
+    private final AtomicLong maxLatencyMs = new AtomicLong();
+
+    public EmailDispatcher(EmailOutboxRepository emailOutboxRepository, BookingRepository bookingRepository,
+                           BookingSeatRepository bookingSeatRepository, EmailService emailService,
+                           ObjectProvider<JavaMailSender> mailSenderProvider,
+                           PlatformTransactionManager transactionManager,
+                           @Value("${email.dispatch.batch-size:100}") int batchSize,
+                           @Value("${email.dispatch.session-size:20}") int sessionSize,
+                           @Value("${email.dispatch.workers:4}") int workers,
+                           @Value("${email.dispatch.max-attempts:5}") int maxAttempts,
+                           @Value("${email.dispatch.backoff-seconds:30}") long backoffSeconds,
+                           @Value("${email.from:noreply@moviebook.local}") String fromAddress) {
+        this.emailOutboxRepository = emailOutboxRepository;
+        this.bookingRepository = bookingRepository;
+        this.bookingSeatRepository = bookingSeatRepository;
+        this.emailService = emailService;
+        this.mailSenderProvider = mailSenderProvider;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.sessionSize = sessionSize;
+        this.workers = workers;
+        this.maxAttempts = maxAttempts;
+        this.backoffSeconds = backoffSeconds;
+        this.fromAddress = fromAddress;
+    }
+
+    @PostConstruct
+    public void init() {
+        AtomicInteger threadIndex = new AtomicInteger();
+        workerPool = Executors.newFixedThreadPool(workers, r -> {
+            Thread t = new Thread(r, "email-worker-" + threadIndex.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+
+        // Rows left SENDING by a crash mid-session go back into the queue
+        Integer reset = transactionTemplate.execute(status -> emailOutboxRepository.resetInFlight());
+        if (reset != null && reset > 0) {
+            log.info("Re-queued {} in-flight emails from previous run", reset);
+        }
+        log.info("EmailDispatcher started with {} workers, transport: {}", workers, transportName());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workerPool.shutdown();
+    }
+
+    @Scheduled(fixedDelayString = "${email.dispatch.interval-ms:2000}")
+    public void dispatch() {
+        List<EmailOutbox> batch = transactionTemplate.execute(status -> {
+            List<EmailOutbox> due = emailOutboxRepository.findDue(LocalDateTime.now(), PageRequest.of(0, batchSize));
+            if (!due.isEmpty()) {
+                emailOutboxRepository.claim(due.stream().map(EmailOutbox::getId).collect(Collectors.toList()));
+            }
+            return due;
+        });
+        if (batch == null || batch.isEmpty()) return;
+
+        List<Callable<Void>> sessions = new ArrayList<>();
+        for (int i = 0; i < batch.size(); i += sessionSize) {
+            List<EmailOutbox> session = batch.subList(i, Math.min(i + sessionSize, batch.size()));
+            sessions.add(() -> {
+                deliverSession(session);
+                return null;
+            });
+        }
+
+        boolean unrecorded = false;
+        try {
+            for (Future<Void> future : workerPool.invokeAll(sessions)) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    unrecorded = true;
+                    log.error("Email session failed: {}", e.getCause().getMessage());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (unrecorded) {
+            // A session could not save its outcome; put its rows back rather than leave them SENDING
+            List<Long> ids = batch.stream().map(EmailOutbox::getId).collect(Collectors.toList());
+            Integer released = transactionTemplate.execute(status -> emailOutboxRepository.release(ids));
+            log.warn("Re-queued {} emails whose outcome was not recorded", released);
+        }
+    }
+
+    /**
+     * Deliver one session and record every row's outcome. Anything that goes wrong before the
+     * outcome is known (lookups, rendering, an unexpected transport error) fails the whole session
+     * as retryable, so claimed rows never stay SENDING.
+     */
+    private void deliverSession(List<EmailOutbox> session) {
+        Map<EmailOutbox, String> failures;
+        try {
+            failures = renderAndSend(session);
+        } catch (RuntimeException e) {
+            log.error("Email session of {} emails failed before delivery completed", session.size(), e);
+            failures = new HashMap<>();
+            for (EmailOutbox email : session) failures.put(email, e.toString());
+        }
+        sessionCount.increment();
+        recordOutcome(session, failures);
+    }
+
+    /** @return failure reason per email that was not delivered */
+    private Map<EmailOutbox, String> renderAndSend(List<EmailOutbox> session) {
+        List<Long> bookingIds = session.stream().map(EmailOutbox::getBookingId).distinct().collect(Collectors.toList());
+        Map<Long, BookingEmailView> views = bookingRepository.findEmailViews(bookingIds).stream()
+                .collect(Collectors.toMap(BookingEmailView::getBookingId, v -> v));
+        Map<Long, String> seatLabels = new HashMap<>();
+        for (Object[] row : bookingSeatRepository.findSeatLabelsForBookings(bookingIds)) {
+            seatLabels.merge((Long) row[0], (String) row[1], (a, b) -> a + ", " + b);
+        }
+
+        Map<EmailOutbox, EmailService.RenderedEmail> rendered = new LinkedHashMap<>();
+        Map<EmailOutbox, String> failures = new HashMap<>();
+        for (EmailOutbox email : session) {
+            BookingEmailView view = views.get(email.getBookingId());
+            if (view == null) {
+                failures.put(email, "Booking " + email.getBookingId() + " not found");
+                continue;
+            }
+            rendered.put(email, emailService.render(email, view, seatLabels.getOrDefault(email.getBookingId(), "")));
+        }
+
+        failures.putAll(send(rendered));
+        return failures;
+    }
+
+    /**
+     * Send all rendered emails over a single transport session.
+     * @return failure reason per email that was not delivered
+     */
+    private Map<EmailOutbox, String> send(Map<EmailOutbox, EmailService.RenderedEmail> rendered) {
+        Map<EmailOutbox, String> failures = new HashMap<>();
+        if (rendered.isEmpty()) return failures;
+
+        JavaMailSender mailSender = mailSenderProvider.getIfAvailable();
+        if (mailSender == null) {
+            rendered.values().forEach(e -> log.info("\n============================================\nTo: {}\nSubject: {}\n\n{}============================================",
+                    e.to(), e.subject(), e.body()));
+            return failures;
+        }
+
+        Map<MimeMessage, EmailOutbox> messages = new IdentityHashMap<>();
+        for (Map.Entry<EmailOutbox, EmailService.RenderedEmail> entry : rendered.entrySet()) {
+            try {
+                MimeMessage message = mailSender.createMimeMessage();
+                MimeMessageHelper helper = new MimeMessageHelper(message, "UTF-8");
+                helper.setFrom(fromAddress);
+                helper.setTo(entry.getValue().to());
+                helper.setSubject(entry.getValue().subject());
+                helper.setText(entry.getValue().body());
+                messages.put(message, entry.getKey());
+            } catch (MessagingException e) {
+                failures.put(entry.getKey(), e.getMessage());
+            }
+        }
+
+        try {
+            mailSender.send(messages.keySet().toArray(new MimeMessage[0]));
+        } catch (MailSendException e) {
+            e.getFailedMessages().forEach((message, ex) -> {
+                EmailOutbox email = messages.get(message);
+                if (email != null) failures.put(email, ex.getMessage());
+            });
+            if (e.getFailedMessages().isEmpty()) {
+                messages.values().forEach(email -> failures.put(email, e.getMessage()));
+            }
+        } catch (MailException e) {
+            messages.values().forEach(email -> failures.put(email, e.getMessage()));
+        }
+        return failures;
+    }
+
+    private void recordOutcome(List<EmailOutbox> session, Map<EmailOutbox, String> failures) {
+        LocalDateTime now = LocalDateTime.now();
+        for (EmailOutbox email : session) {
+            email.setAttempts(email.getAttempts() + 1);
+            String error = failures.get(email);
+            if (error == null) {
+                email.setStatus(EmailStatus.SENT);
+                email.setSentAt(now);
+                email.setLastError(null);
+                long latency = Duration.between(email.getCreatedAt(), now).toMillis();
+                totalLatencyMs.add(latency);
+                maxLatencyMs.accumulateAndGet(latency, Math::max);
+                sentCount.increment();
+            } else if (email.getAttempts() >= maxAttempts) {
+                email.setStatus(EmailStatus.FAILED);
+                email.setLastError(error);
+                failedCount.increment();
+                log.error("Email {} for booking {} failed permanently after {} attempts: {}",
+                        email.getId(), email.getBookingId(), email.getAttempts(), error);
+            } else {
+                long delay = backoffSeconds << (email.getAttempts() - 1);
+                email.setStatus(EmailStatus.PENDING);
+                email.setNextAttemptAt(now.plusSeconds(delay));
+                email.setLastError(error);
+                retryCount.increment();
+                log.warn("Email {} for booking {} failed (attempt {}), retrying in {}s: {}",
+                        email.getId(), email.getBookingId(), email.getAttempts(), delay, error);
+            }
+        }
+        transactionTemplate.executeWithoutResult(status -> emailOutboxRepository.saveAll(session));
+    }
+
+    public Map<String, Object> getStats() {
+        long sent = sentCount.sum();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("transport", transportName());
+        stats.put("queueDepth", emailOutboxRepository.countByStatus(EmailStatus.PENDING));
+        stats.put("inFlight", emailOutboxRepository.countByStatus(EmailStatus.SENDING));
+        stats.put("sent", sent);
+        stats.put("retried", retryCount.sum());
+        stats.put("failed", failedCount.sum());
+        stats.put("sessions", sessionCount.sum());
+        stats.put("avgLatencyMs", sent > 0 ? totalLatencyMs.sum() / sent : 0);
+        stats.put("maxLatencyMs", maxLatencyMs.get());
+        return stats;
+    }
+
+    private String transportName() {
+        return mailSenderProvider.getIfAvailable() != null ? "SMTP" : "CONSOLE";
+    }
+}
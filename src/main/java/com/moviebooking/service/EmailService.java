@@ -1,119 +1,160 @@
 package com.moviebooking.service;
 
+import com.moviebooking.dto.BookingEmailView;
 import com.moviebooking.entity.Booking;
-import com.moviebooking.entity.BookingSeat;
-import com.moviebooking.repository.BookingSeatRepository;
+import com.moviebooking.entity.EmailOutbox;
+import com.moviebooking.entity.enums.EmailType;
+import com.moviebooking.repository.EmailOutboxRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
 
 /**
- * Email Service - Console-based implementation for development.
- * Logs formatted email content. Can be switched to real SMTP by injecting JavaMailSender.
+ * Email Service - enqueues booking emails into the durable outbox and renders them
+ * from precompiled templates. Delivery happens off the request thread in EmailDispatcher.
  */
 @Service
 public class EmailService {
 
     private static final Logger log = LoggerFactory.getLogger(EmailService.class);
 
-    private final BookingSeatRepository bookingSeatRepository;
-
-    public EmailService(BookingSeatRepository bookingSeatRepository) {
-        this.bookingSeatRepository = bookingSeatRepository;
-    }
-
-    public void sendBookingConfirmation(Booking booking) {
-        List<BookingSeat> seats = bookingSeatRepository.findByBookingId(booking.getId());
-        String seatLabels = seats.stream()
-                .map(bs -> bs.getSeat().getSeatLabel())
-                .collect(Collectors.joining(", "));
-
-        String email = String.format("""
-            ============================================
-            BOOKING CONFIRMATION EMAIL
-            ============================================
-            To: %s
-            Subject: Booking Confirmed - %s
-
-            Dear %s,
+    private static final EmailTemplate CONFIRMATION_SUBJECT = EmailTemplate.compile("Booking Confirmed - {{movie}}");
+    private static final EmailTemplate CONFIRMATION_BODY = EmailTemplate.compile("""
+            Dear {{name}},
 
             Your booking has been confirmed!
 
-            Booking Reference: %s
-            Movie: %s
-            Theater: %s
-            Screen: %s
-            Date & Time: %s
-            Seats: %s
-
-            Ticket Amount: Rs.%s
-            Food Amount: Rs.%s
-            Tax (GST 18%%): Rs.%s
-            Discount: Rs.%s
+            Booking Reference: {{reference}}
+            Movie: {{movie}}
+            Theater: {{theater}}
+            Screen: {{screen}}
+            Date & Time: {{showtime}}
+            Seats: {{seats}}
+
+            Ticket Amount: Rs.{{ticketAmount}}
+            Food Amount: Rs.{{foodAmount}}
+            Tax (GST): Rs.{{taxAmount}}
+            Discount: Rs.{{discountAmount}}
             ----------------------------
-            TOTAL PAID: Rs.%s
+            TOTAL PAID: Rs.{{totalAmount}}
 
             Please show your QR code at the theater entrance.
 
             Enjoy the show!
             Team MovieBook
-            ============================================
-            """,
-                booking.getUser().getEmail(),
-                booking.getMovie().getTitle(),
-                booking.getUser().getFullName(),
-                booking.getBookingReference(),
-                booking.getMovie().getTitle(),
-                booking.getTheater().getName(),
-                booking.getScreen().getScreenName(),
-                booking.getShowtime().getShowDatetime(),
-                seatLabels,
-                booking.getTicketAmount(),
-                booking.getFoodAmount(),
-                booking.getTaxAmount(),
-                booking.getDiscountAmount(),
-                booking.getTotalAmount()
-        );
-
-        log.info("\n{}", email);
-    }
+            """);
 
-    public void sendBookingCancellation(Booking booking, BigDecimal refundAmount) {
-        String email = String.format("""
-            ============================================
-            BOOKING CANCELLATION EMAIL
-            ============================================
-            To: %s
-            Subject: Booking Cancelled - %s
-
-            Dear %s,
+    private static final EmailTemplate CANCELLATION_SUBJECT = EmailTemplate.compile("Booking Cancelled - {{reference}}");
+    private static final EmailTemplate CANCELLATION_BODY = EmailTemplate.compile("""
+            Dear {{name}},
 
             Your booking has been cancelled.
 
-            Booking Reference: %s
-            Movie: %s
+            Booking Reference: {{reference}}
+            Movie: {{movie}}
 
-            Original Amount: Rs.%s
-            Refund Amount: Rs.%s
+            Original Amount: Rs.{{totalAmount}}
+            Refund Amount: Rs.{{refundAmount}}
 
             Refund will be credited to your original payment method within 3-7 business days.
 
             Team MovieBook
-            ============================================
-            """,
-                booking.getUser().getEmail(),
-                booking.getBookingReference(),
-                booking.getUser().getFullName(),
-                booking.getBookingReference(),
-                booking.getMovie().getTitle(),
-                booking.getTotalAmount(),
-                refundAmount
-        );
-
-        log.info("\n{}", email);
+            """);
+
+    private static final EmailTemplate REMINDER_SUBJECT = EmailTemplate.compile("Reminder: {{movie}} starts at {{showtime}}");
+    private static final EmailTemplate REMINDER_BODY = EmailTemplate.compile("""
+            Dear {{name}},
+
+            This is a reminder that your show is coming up soon.
+
+            Booking Reference: {{reference}}
+            Movie: {{movie}}
+            Theater: {{theater}}
+            Screen: {{screen}}
+            Date & Time: {{showtime}}
+            Seats: {{seats}}
+
+            Please arrive 15 minutes early and keep your QR code handy.
+
+            Team MovieBook
+            """);
+
+    private final EmailOutboxRepository emailOutboxRepository;
+
+    public EmailService(EmailOutboxRepository emailOutboxRepository) {
+        this.emailOutboxRepository = emailOutboxRepository;
+    }
+
+    /**
+     * Queue the confirmation email. Joins the caller's transaction, so the email is
+     * only ever sent for bookings whose confirmation actually committed.
+     */
+    public void sendBookingConfirmation(Booking booking) {
+        enqueue(EmailType.BOOKING_CONFIRMATION, booking.getId(), null);
+    }
+
+    public void sendBookingCancellation(Booking booking, BigDecimal refundAmount) {
+        enqueue(EmailType.BOOKING_CANCELLATION, booking.getId(), refundAmount);
     }
+
+    /**
+     * Queue reminders for a whole batch of bookings with a single saveAll.
+     */
+    public void sendShowReminders(List<Long> bookingIds) {
+        List<EmailOutbox> emails = new ArrayList<>(bookingIds.size());
+        for (Long bookingId : bookingIds) {
+            EmailOutbox email = new EmailOutbox();
+            email.setEmailType(EmailType.SHOW_REMINDER);
+            email.setBookingId(bookingId);
+            emails.add(email);
+        }
+        emailOutboxRepository.saveAll(emails);
+        log.debug("Queued {} show reminder emails", emails.size());
+    }
+
+    private void enqueue(EmailType type, Long bookingId, BigDecimal amount) {
+        EmailOutbox email = new EmailOutbox();
+        email.setEmailType(type);
+        email.setBookingId(bookingId);
+        email.setAmount(amount);
+        emailOutboxRepository.save(email);
+        log.debug("Queued {} email for booking {}", type, bookingId);
+    }
+
+    /**
+     * Render a queued email from the flat booking projection.
+     */
+    public RenderedEmail render(EmailOutbox email, BookingEmailView view, String seatLabels) {
+        Map<String, Object> values = new HashMap<>();
+        values.put("name", view.getFullName());
+        values.put("reference", view.getBookingReference());
+        values.put("movie", view.getMovieTitle());
+        values.put("theater", view.getTheaterName());
+        values.put("screen", view.getScreenName());
+        values.put("showtime", view.getShowDatetime());
+        values.put("seats", seatLabels);
+        values.put("ticketAmount", view.getTicketAmount());
+        values.put("foodAmount", view.getFoodAmount());
+        values.put("taxAmount", view.getTaxAmount());
+        values.put("discountAmount", view.getDiscountAmount());
+        values.put("totalAmount", view.getTotalAmount());
+        values.put("refundAmount", email.getAmount());
+
+        return switch (email.getEmailType()) {
+            case BOOKING_CONFIRMATION -> new RenderedEmail(view.getEmail(),
+                    CONFIRMATION_SUBJECT.render(values), CONFIRMATION_BODY.render(values));
+            case BOOKING_CANCELLATION -> new RenderedEmail(view.getEmail(),
+                    CANCELLATION_SUBJECT.render(values), CANCELLATION_BODY.render(values));
+            case SHOW_REMINDER -> new RenderedEmail(view.getEmail(),
+                    REMINDER_SUBJECT.render(values), REMINDER_BODY.render(values));
+        };
+    }
+
+    public record RenderedEmail(String to, String subject, String body) {}
 }
@@ -0,0 +1,57 @@
+package com.moviebooking.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Email template compiled once into literal segments and placeholder keys.
+ * Placeholders use the {{name}} syntax; rendering is a single pass over the
+ * pre-split segments with no pattern matching or format parsing.
+ */
+public final class EmailTemplate {
+
+    private final String[] literals;
+    private final String[] keys;
+    private final int literalLength;
+
+    private EmailTemplate(String[] literals, String[] keys) {
+        this.literals = literals;
+        this.keys = keys;
+        int length = 0;
+        for (String literal : literals) {
+            length += literal.length();
+        }
+        this.literalLength = length;
+    }
+
+    public static EmailTemplate compile(String source) {
+        List<String> literals = new ArrayList<>();
+        List<String> keys = new ArrayList<>();
+        int pos = 0;
+        while (true) {
+            int open = source.indexOf("{{", pos);
+            if (open < 0) break;
+            int close = source.indexOf("}}", open + 2);
+            if (close < 0) {
+                throw new IllegalArgumentException("Unterminated placeholder at offset " + open);
+            }
+            literals.add(source.substring(pos, open));
+            keys.add(source.substring(open + 2, close).trim());
+            pos = close + 2;
+        }
+        literals.add(source.substring(pos));
+        return new EmailTemplate(literals.toArray(new String[0]), keys.toArray(new String[0]));
+    }
+
+    public String render(Map<String, ?> values) {
+        StringBuilder sb = new StringBuilder(literalLength + keys.length * 16);
+        for (int i = 0; i < keys.length; i++) {
+            sb.append(literals[i]);
+            Object value = values.get(keys[i]);
+            sb.append(value != null ? value : "");
+        }
+        sb.append(literals[keys.length]);
+        return sb.toString();
+    }
+}
@@ -0,0 +1,155 @@
+package com.moviebooking.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.moviebooking.repository.BookingRepository;
+import com.moviebooking.repository.PaymentRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Streams bookings and payments to an output stream as CSV or NDJSON.
+ *
+ * Rows come from a forward-only cursor over a scalar projection and are written as they arrive,
+ * field by field, so memory use does not depend on how many rows match. Compression, if any, is
+ * the caller's output stream.
+ */
+@Service
+public class ExportService {
+
+    private static final Logger log = LoggerFactory.getLogger(ExportService.class);
+    private static final int WRITE_BUFFER_CHARS = 64 * 1024;
+
+    public enum Dataset { BOOKINGS, PAYMENTS }
+
+    public enum Format { CSV, NDJSON }
+
+    private static final List<String> BOOKING_COLUMNS = List.of("id", "bookingReference", "status", "bookingDatetime",
+            "confirmedDatetime", "cancelledDatetime", "userId", "movieId", "movieTitle", "theaterId", "theaterName",
+            "showtimeId", "showDatetime", "numSeats", "ticketAmount", "foodAmount", "taxAmount", "discountAmount",
+            "totalAmount");
+
+    private static final List<String> PAYMENT_COLUMNS = List.of("id", "bookingId", "bookingReference", "theaterId",
+            "paymentMethod", "status", "amount", "transactionId", "gatewayName", "paymentDatetime", "successDatetime",
+            "failureReason", "refundAmount", "refundDatetime", "refundTransactionId");
+
+    private final BookingRepository bookingRepository;
+    private final PaymentRepository paymentRepository;
+    private final JsonFactory jsonFactory = new JsonFactory();
+
+    public ExportService(BookingRepository bookingRepository, PaymentRepository paymentRepository) {
+        this.bookingRepository = bookingRepository;
+        this.paymentRepository = paymentRepository;
+    }
+
+    /**
+     * Write every row of the dataset dated within [from, to] (booking or payment date), optionally
+     * for one theater. The transaction stays open for the whole export so the cursor can be read;
+     * out is closed when done.
+     *
+     * @return number of rows written
+     */
+    @Transactional(readOnly = true)
+    public long export(Dataset dataset, Format format, LocalDate from, LocalDate to, Long theaterId, OutputStream out) {
+        LocalDateTime start = (from != null ? from : LocalDate.EPOCH).atStartOfDay();
+        LocalDateTime end = (to != null ? to : LocalDate.now()).plusDays(1).atStartOfDay();
+
+        long startMs = System.currentTimeMillis();
+        List<String> columns = dataset == Dataset.BOOKINGS ? BOOKING_COLUMNS : PAYMENT_COLUMNS;
+        long rows;
+        try (Stream<Object[]> stream = dataset == Dataset.BOOKINGS
+                ? bookingRepository.streamExportRows(start, end, theaterId)
+                : paymentRepository.streamExportRows(start, end, theaterId);
+             Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), WRITE_BUFFER_CHARS)) {
+            rows = format == Format.CSV
+                    ? writeCsv(columns, stream.iterator(), writer)
+                    : writeNdjson(columns, stream.iterator(), writer);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        log.info("Exported {} {} rows as {} in {} ms", rows, dataset, format, System.currentTimeMillis() - startMs);
+        return rows;
+    }
+
+    private long writeCsv(List<String> columns, Iterator<Object[]> rows, Writer writer) throws IOException {
+        writer.write(String.join(",", columns));
+        writer.write('\n');
+        long count = 0;
+        while (rows.hasNext()) {
+            Object[] row = rows.next();
+            for (int i = 0; i < row.length; i++) {
+                if (i > 0) writer.write(',');
+                writeCsvValue(row[i], writer);
+            }
+            writer.write('\n');
+            count++;
+        }
+        return count;
+    }
+
+    private void writeCsvValue(Object value, Writer writer) throws IOException {
+        if (value == null) return;
+        if (value instanceof BigDecimal decimal) {
+            writer.write(decimal.toPlainString());
+            return;
+        }
+        String text = value.toString();
+        boolean quote = false;
+        for (int i = 0; i < text.length() && !quote; i++) {
+            char c = text.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            writer.write(text);
+            return;
+        }
+        writer.write('"');
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '"') writer.write('"');
+            writer.write(c);
+        }
+        writer.write('"');
+    }
+
+    private long writeNdjson(List<String> columns, Iterator<Object[]> rows, Writer writer) throws IOException {
+        long count = 0;
+        try (JsonGenerator json = jsonFactory.createGenerator(writer)) {
+            json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            json.setRootValueSeparator(null);
+            while (rows.hasNext()) {
+                Object[] row = rows.next();
+                json.writeStartObject();
+                for (int i = 0; i < row.length; i++) {
+                    json.writeFieldName(columns.get(i));
+                    Object value = row[i];
+                    if (value == null) json.writeNull();
+                    else if (value instanceof BigDecimal decimal) json.writeNumber(decimal);
+                    else if (value instanceof Long number) json.writeNumber(number);
+                    else if (value instanceof Integer number) json.writeNumber(number);
+                    else json.writeString(value.toString());
+                }
+                json.writeEndObject();
+                json.writeRaw('\n');
+                count++;
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,444 @@
+package com.moviebooking.service;
+
+import com.moviebooking.entity.AnalyticsCounter;
+import com.moviebooking.entity.enums.BookingStatus;
+import com.moviebooking.entity.enums.MovieStatus;
+import com.moviebooking.entity.enums.PaymentMethod;
+import com.moviebooking.entity.enums.TheaterType;
+import com.moviebooking.event.BookingLifecycleEvent;
+import com.moviebooking.event.CatalogChangedEvent;
+import com.moviebooking.event.PaymentLifecycleEvent;
+import com.moviebooking.repository.AnalyticsCounterRepository;
+import com.moviebooking.repository.BookingRepository;
+import com.moviebooking.repository.MovieRepository;
+import com.moviebooking.repository.PaymentRepository;
+import com.moviebooking.repository.ShowtimeRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Live counters behind the admin analytics reports.
+ *
+ * Booking and payment lifecycle events update striped LongAdder counters after their transaction
+ * commits, so reading a report costs one pass over movies, theaters or days, never over bookings.
+ * Money is kept in paise (fixed-point, two decimals). The counters are written to
+ * analytics_counters every minute and restored from there on startup; a reconcile pass recomputes
+ * everything from GROUP BY queries after a restore and periodically after that, repairing anything
+ * missed between the last snapshot and a shutdown. Changed report sections are announced on
+ * /topic/admin/analytics; the page refetches them through the authenticated API.
+ */
+@Component
+public class LiveAnalyticsStore {
+
+    private static final Logger log = LoggerFactory.getLogger(LiveAnalyticsStore.class);
+
+    public static final String TOPIC = "/topic/admin/analytics";
+
+    private static final String STATUS = "STATUS";
+    private static final String REVENUE = "REVENUE";
+    private static final String DAY_REVENUE = "DAY_REVENUE";
+    private static final String MOVIE_BOOKINGS = "MOVIE_BOOKINGS";
+    private static final String MOVIE_SEATS = "MOVIE_SEATS";
+    private static final String MOVIE_REVENUE = "MOVIE_REVENUE";
+    private static final String THEATER_BOOKED = "THEATER_BOOKED";
+    private static final String PAYMENT_METHOD = "PAYMENT_METHOD";
+
+    private final BookingRepository bookingRepository;
+    private final PaymentRepository paymentRepository;
+    private final ShowtimeRepository showtimeRepository;
+    private final MovieRepository movieRepository;
+    private final AnalyticsCounterRepository counterRepository;
+    private final SimpMessagingTemplate messagingTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    // Enum-keyed maps are filled once here and never change shape, so plain EnumMaps are safe to share
+    private final Map<BookingStatus, LongAdder> statusCounts = new EnumMap<>(BookingStatus.class);
+    private final Map<PaymentMethod, LongAdder> paymentMethods = new EnumMap<>(PaymentMethod.class);
+    private final LongAdder confirmedRevenue = new LongAdder();
+    private final Map<LocalDate, LongAdder> revenueByDay = new ConcurrentHashMap<>();
+    private final Map<Long, MovieCounters> movies = new ConcurrentHashMap<>();
+    private final Map<Long, TheaterCounters> theaters = new ConcurrentHashMap<>();
+
+    private final AtomicLong version = new AtomicLong();
+    private final Set<String> changedSections = ConcurrentHashMap.newKeySet();
+    private volatile long snapshotVersion = -1;
+    private volatile boolean ready;
+
+    private final ExecutorService reconcileExecutor = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "analytics-reconcile");
+        t.setDaemon(true);
+        return t;
+    });
+
+    public LiveAnalyticsStore(BookingRepository bookingRepository, PaymentRepository paymentRepository,
+                              ShowtimeRepository showtimeRepository, MovieRepository movieRepository,
+                              AnalyticsCounterRepository counterRepository, SimpMessagingTemplate messagingTemplate,
+                              PlatformTransactionManager transactionManager) {
+        this.bookingRepository = bookingRepository;
+        this.paymentRepository = paymentRepository;
+        this.showtimeRepository = showtimeRepository;
+        this.movieRepository = movieRepository;
+        this.counterRepository = counterRepository;
+        this.messagingTemplate = messagingTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        for (BookingStatus status : BookingStatus.values()) statusCounts.put(status, new LongAdder());
+        for (PaymentMethod method : PaymentMethod.values()) paymentMethods.put(method, new LongAdder());
+    }
+
+    // ---- Updates ----
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookingEvent(BookingLifecycleEvent event) {
+        if (event.getPreviousStatus() != null) statusCounts.get(event.getPreviousStatus()).decrement();
+        statusCounts.get(event.getStatus()).increment();
+        changed("status", "summary");
+
+        boolean wasConfirmed = event.getPreviousStatus() == BookingStatus.CONFIRMED;
+        boolean isConfirmed = event.getStatus() == BookingStatus.CONFIRMED;
+        if (wasConfirmed != isConfirmed) {
+            int sign = isConfirmed ? 1 : -1;
+            long paise = toPaise(event.getTotalAmount()) * sign;
+            confirmedRevenue.add(paise);
+            revenueByDay.computeIfAbsent(event.getBookingDate(), d -> new LongAdder()).add(paise);
+            MovieCounters movie = movie(event.getMovieId());
+            movie.bookings.add(sign);
+            movie.seats.add((long) sign * event.getNumSeats());
+            movie.revenue.add(paise);
+            theater(event.getTheaterId()).booked.add((long) sign * event.getNumSeats());
+            changed("revenue", "movies", "theaters");
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPaymentEvent(PaymentLifecycleEvent event) {
+        paymentMethods.get(event.getPaymentMethod()).add(event.getType() == PaymentLifecycleEvent.Type.SUCCEEDED ? 1 : -1);
+        changed("payments");
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        if (!event.affectsMembership() || event.getMovieId() == null) return;
+        movieRepository.findById(event.getMovieId()).ifPresentOrElse(
+                m -> movie(m.getId()).label(m.getTitle(), m.getGenre(), m.getStatus()),
+                () -> movies.remove(event.getMovieId()));
+        changed("movies");
+    }
+
+    /**
+     * Theaters and showtimes were added; reload names, showtime counts and capacity once the
+     * writing transaction commits. Booked seats are left to the event stream.
+     */
+    public void refreshTheatersAfterCommit() {
+        Runnable refresh = () -> {
+            loadTheaterStructure();
+            changed("theaters");
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    refresh.run();
+                }
+            });
+        } else {
+            refresh.run();
+        }
+    }
+
+    // ---- Reads ----
+
+    public Map<BookingStatus, Long> getStatusCounts() {
+        Map<BookingStatus, Long> counts = new EnumMap<>(BookingStatus.class);
+        statusCounts.forEach((status, count) -> counts.put(status, count.sum()));
+        return counts;
+    }
+
+    public BigDecimal getConfirmedRevenue() {
+        return fromPaise(confirmedRevenue.sum());
+    }
+
+    /** Confirmed revenue by booking date, from first to last inclusive */
+    public BigDecimal getRevenue(LocalDate first, LocalDate last) {
+        long total = 0;
+        for (LocalDate date = first; !date.isAfter(last); date = date.plusDays(1)) {
+            LongAdder day = revenueByDay.get(date);
+            if (day != null) total += day.sum();
+        }
+        return fromPaise(total);
+    }
+
+    /** Movies, most confirmed bookings first */
+    public List<MovieFigures> getMovieFigures() {
+        List<MovieFigures> figures = new ArrayList<>(movies.size());
+        movies.forEach((id, m) -> figures.add(new MovieFigures(id, m.title, m.genre, m.status,
+                m.bookings.sum(), m.seats.sum(), fromPaise(m.revenue.sum()))));
+        figures.sort(Comparator.comparingLong(MovieFigures::bookings).reversed().thenComparing(MovieFigures::movieId));
+        return figures;
+    }
+
+    public List<TheaterFigures> getTheaterFigures() {
+        List<TheaterFigures> figures = new ArrayList<>(theaters.size());
+        theaters.forEach((id, t) -> figures.add(new TheaterFigures(id, t.name, t.type, t.showtimes, t.capacity, t.booked.sum())));
+        figures.sort(Comparator.comparing(TheaterFigures::theaterId));
+        return figures;
+    }
+
+    /** Successful payments per method, only methods that have any */
+    public Map<PaymentMethod, Long> getPaymentMethodCounts() {
+        Map<PaymentMethod, Long> counts = new EnumMap<>(PaymentMethod.class);
+        paymentMethods.forEach((method, count) -> {
+            long sum = count.sum();
+            if (sum > 0) counts.put(method, sum);
+        });
+        return counts;
+    }
+
+    // ---- Startup, reconcile, snapshots ----
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        List<AnalyticsCounter> saved = counterRepository.findAll();
+        if (saved.isEmpty()) {
+            reconcile();
+            ready = true;
+            log.info("Live analytics built from tables");
+            return;
+        }
+        loadMovieLabels();
+        loadTheaterStructure();
+        restore(saved);
+        ready = true;
+        log.info("Live analytics restored from snapshot of {} ({} counters), reconciling in background",
+                saved.get(0).getSnapshotAt(), saved.size());
+        reconcileExecutor.execute(this::reconcile);
+    }
+
+    /**
+     * Recompute every counter from the tables. Events that commit while the queries run can be
+     * counted twice or missed; the next reconcile corrects that.
+     */
+    @Scheduled(fixedDelayString = "${analytics.live.reconcile-interval-ms:3600000}",
+               initialDelayString = "${analytics.live.reconcile-interval-ms:3600000}")
+    public synchronized void reconcile() {
+        long start = System.currentTimeMillis();
+        transactionTemplate.executeWithoutResult(status -> {
+            Map<BookingStatus, long[]> byStatus = new EnumMap<>(BookingStatus.class);
+            for (Object[] row : bookingRepository.aggregateByStatus()) {
+                byStatus.put((BookingStatus) row[0], new long[]{(Long) row[1], toPaise((BigDecimal) row[2])});
+            }
+            statusCounts.forEach((s, count) -> set(count, byStatus.getOrDefault(s, new long[2])[0]));
+            set(confirmedRevenue, byStatus.getOrDefault(BookingStatus.CONFIRMED, new long[2])[1]);
+
+            Map<LocalDate, Long> days = new HashMap<>();
+            for (Object[] row : bookingRepository.sumRevenueByDay(LocalDate.EPOCH.atStartOfDay(),
+                    LocalDate.now().plusDays(1).atStartOfDay())) {
+                days.put((LocalDate) row[0], toPaise((BigDecimal) row[1]));
+            }
+            revenueByDay.keySet().retainAll(days.keySet());
+            days.forEach((date, paise) -> set(revenueByDay.computeIfAbsent(date, d -> new LongAdder()), paise));
+
+            Set<Long> movieIds = new HashSet<>();
+            for (Object[] row : bookingRepository.aggregateMoviePerformance()) {
+                MovieCounters movie = movie((Long) row[0]);
+                movie.label((String) row[1], (String) row[2], (MovieStatus) row[3]);
+                set(movie.bookings, (Long) row[4]);
+                set(movie.revenue, toPaise((BigDecimal) row[5]));
+                set(movie.seats, ((Number) row[6]).longValue());
+                movieIds.add((Long) row[0]);
+            }
+            movies.keySet().retainAll(movieIds);
+
+            Set<Long> theaterIds = new HashSet<>();
+            for (Object[] row : showtimeRepository.aggregateOccupancyByTheater()) {
+                TheaterCounters theater = applyTheaterStructure(row);
+                set(theater.booked, ((Number) row[5]).longValue());
+                theaterIds.add((Long) row[0]);
+            }
+            theaters.keySet().retainAll(theaterIds);
+
+            Map<PaymentMethod, Long> methods = new EnumMap<>(PaymentMethod.class);
+            for (Object[] row : paymentRepository.countSuccessfulByMethod()) {
+                methods.put((PaymentMethod) row[0], (Long) row[1]);
+            }
+            paymentMethods.forEach((method, count) -> set(count, methods.getOrDefault(method, 0L)));
+        });
+        changed("summary", "revenue", "status", "movies", "theaters", "payments");
+        log.debug("Live analytics reconciled in {} ms", System.currentTimeMillis() - start);
+    }
+
+    @Scheduled(fixedDelayString = "${analytics.live.snapshot-interval-ms:60000}",
+               initialDelayString = "${analytics.live.snapshot-interval-ms:60000}")
+    public void snapshot() {
+        long current = version.get();
+        // Never overwrite the stored snapshot with counters that were not loaded yet
+        if (!ready || current == snapshotVersion) return;
+
+        LocalDateTime now = LocalDateTime.now();
+        List<AnalyticsCounter> rows = new ArrayList<>();
+        statusCounts.forEach((status, count) -> rows.add(new AnalyticsCounter(STATUS, status.name(), count.sum(), now)));
+        rows.add(new AnalyticsCounter(REVENUE, "CONFIRMED", confirmedRevenue.sum(), now));
+        revenueByDay.forEach((date, paise) -> rows.add(new AnalyticsCounter(DAY_REVENUE, date.toString(), paise.sum(), now)));
+        movies.forEach((id, m) -> {
+            rows.add(new AnalyticsCounter(MOVIE_BOOKINGS, id.toString(), m.bookings.sum(), now));
+            rows.add(new AnalyticsCounter(MOVIE_SEATS, id.toString(), m.seats.sum(), now));
+            rows.add(new AnalyticsCounter(MOVIE_REVENUE, id.toString(), m.revenue.sum(), now));
+        });
+        theaters.forEach((id, t) -> rows.add(new AnalyticsCounter(THEATER_BOOKED, id.toString(), t.booked.sum(), now)));
+        paymentMethods.forEach((method, count) -> rows.add(new AnalyticsCounter(PAYMENT_METHOD, method.name(), count.sum(), now)));
+
+        transactionTemplate.executeWithoutResult(status -> {
+            counterRepository.deleteAllCounters();
+            counterRepository.saveAll(rows);
+        });
+        snapshotVersion = current;
+        log.debug("Live analytics snapshot written: {} counters", rows.size());
+    }
+
+    /** Announce changed report sections at most once per interval */
+    @Scheduled(fixedDelayString = "${analytics.live.push-interval-ms:2000}")
+    public void pushChanges() {
+        if (changedSections.isEmpty()) return;
+        List<String> sections = new ArrayList<>(changedSections);
+        changedSections.removeAll(sections);
+        Map<String, Object> message = new LinkedHashMap<>();
+        message.put("version", version.get());
+        message.put("sections", sections);
+        messagingTemplate.convertAndSend(TOPIC, message);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        reconcileExecutor.shutdownNow();
+        try {
+            snapshot();
+        } catch (RuntimeException e) {
+            log.warn("Final analytics snapshot failed: {}", e.getMessage());
+        }
+    }
+
+    private void restore(List<AnalyticsCounter> saved) {
+        for (AnalyticsCounter counter : saved) {
+            String key = counter.getDimensionKey();
+            long value = counter.getValue();
+            switch (counter.getMetric()) {
+                case STATUS -> set(statusCounts.get(BookingStatus.valueOf(key)), value);
+                case REVENUE -> set(confirmedRevenue, value);
+                case DAY_REVENUE -> set(revenueByDay.computeIfAbsent(LocalDate.parse(key), d -> new LongAdder()), value);
+                case MOVIE_BOOKINGS -> restoreMovie(key, value, m -> m.bookings);
+                case MOVIE_SEATS -> restoreMovie(key, value, m -> m.seats);
+                case MOVIE_REVENUE -> restoreMovie(key, value, m -> m.revenue);
+                case THEATER_BOOKED -> {
+                    TheaterCounters theater = theaters.get(Long.valueOf(key));
+                    if (theater != null) set(theater.booked, value);
+                }
+                case PAYMENT_METHOD -> set(paymentMethods.get(PaymentMethod.valueOf(key)), value);
+                default -> log.warn("Ignoring unknown analytics counter {}", counter.getMetric());
+            }
+        }
+    }
+
+    /** Only movies that still exist (labels were loaded first) get their counters back */
+    private void restoreMovie(String key, long value, Function<MovieCounters, LongAdder> counter) {
+        MovieCounters movie = movies.get(Long.valueOf(key));
+        if (movie != null) set(counter.apply(movie), value);
+    }
+
+    private void loadMovieLabels() {
+        for (Object[] row : movieRepository.findAnalyticsLabels()) {
+            movie((Long) row[0]).label((String) row[1], (String) row[2], (MovieStatus) row[3]);
+        }
+    }
+
+    private void loadTheaterStructure() {
+        for (Object[] row : showtimeRepository.aggregateOccupancyByTheater()) {
+            applyTheaterStructure(row);
+        }
+    }
+
+    private TheaterCounters applyTheaterStructure(Object[] row) {
+        TheaterCounters theater = theater((Long) row[0]);
+        theater.name = (String) row[1];
+        theater.type = (TheaterType) row[2];
+        theater.showtimes = ((Number) row[3]).longValue();
+        theater.capacity = ((Number) row[4]).longValue();
+        return theater;
+    }
+
+    private MovieCounters movie(Long movieId) {
+        return movies.computeIfAbsent(movieId, id -> new MovieCounters());
+    }
+
+    private TheaterCounters theater(Long theaterId) {
+        return theaters.computeIfAbsent(theaterId, id -> new TheaterCounters());
+    }
+
+    private void changed(String... sections) {
+        version.incrementAndGet();
+        changedSections.addAll(Arrays.asList(sections));
+    }
+
+    private static void set(LongAdder adder, long value) {
+        adder.reset();
+        adder.add(value);
+    }
+
+    private static long toPaise(BigDecimal amount) {
+        return amount == null ? 0 : amount.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact();
+    }
+
+    private static BigDecimal fromPaise(long paise) {
+        return BigDecimal.valueOf(paise, 2);
+    }
+
+    private static final class MovieCounters {
+        volatile String title;
+        volatile String genre;
+        volatile MovieStatus status;
+        final LongAdder bookings = new LongAdder();
+        final LongAdder seats = new LongAdder();
+        final LongAdder revenue = new LongAdder();
+
+        void label(String title, String genre, MovieStatus status) {
+            this.title = title;
+            this.genre = genre;
+            this.status = status;
+        }
+    }
+
+    private static final class TheaterCounters {
+        volatile String name;
+        volatile TheaterType type;
+        volatile long showtimes;
+        volatile long capacity;
+        final LongAdder booked = new LongAdder();
+    }
+
+    public record MovieFigures(Long movieId, String title, String genre, MovieStatus status,
+                               long bookings, long seats, BigDecimal revenue) {}
+
+    public record TheaterFigures(Long theaterId, String name, TheaterType type,
+                                 long showtimes, long capacity, long booked) {}
+}
@@ -0,0 +1,164 @@
+package com.moviebooking.service;
+
+import com.moviebooking.dto.MovieDto;
+import com.moviebooking.event.CatalogChangedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Read-through cache for the public movie catalog endpoints.
+ *
+ * Entries expire after a TTL and the cache is bounded (the entry closest to expiry is evicted
+ * first). Concurrent misses on the same key share one load. CatalogChangedEvent invalidates
+ * after the writing transaction commits: review changes drop only entries containing that movie,
+ * admin movie changes drop everything since list membership may have changed.
+ */
+@Component
+public class MovieCatalogCache {
+
+    private static final Logger log = LoggerFactory.getLogger(MovieCatalogCache.class);
+
+    private final Map<String, CompletableFuture<Entry>> entries = new ConcurrentHashMap<>();
+    private final long ttlMillis;
+    private final int maxEntries;
+
+    /** Bumped on every invalidation so loads that raced with it are not cached */
+    private final AtomicLong generation = new AtomicLong();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    public MovieCatalogCache(@Value("${catalog.cache.ttl-seconds:300}") long ttlSeconds,
+                             @Value("${catalog.cache.max-entries:256}") int maxEntries) {
+        this.ttlMillis = ttlSeconds * 1000;
+        this.maxEntries = maxEntries;
+    }
+
+    public List<MovieDto> getList(String key, Supplier<List<MovieDto>> loader) {
+        return get(key, () -> List.copyOf(loader.get()), list -> list.stream().map(MovieDto::getId).toList());
+    }
+
+    public MovieDto getMovie(Long movieId, Supplier<MovieDto> loader) {
+        return get("movie:" + movieId, loader, dto -> List.of(movieId));
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T get(String key, Supplier<T> loader, Function<T, Collection<Long>> movieIds) {
+        while (true) {
+            CompletableFuture<Entry> existing = entries.get(key);
+            if (existing != null) {
+                if (!existing.isDone()) {
+                    coalesced.increment();
+                    return (T) await(existing).value;
+                }
+                Entry entry = existing.getNow(null);
+                if (entry != null && !entry.isExpired()) {
+                    hits.increment();
+                    return (T) entry.value;
+                }
+                entries.remove(key, existing);
+                continue;
+            }
+
+            CompletableFuture<Entry> pending = new CompletableFuture<>();
+            if (entries.putIfAbsent(key, pending) != null) continue;
+
+            misses.increment();
+            long startGeneration = generation.get();
+            try {
+                T value = loader.get();
+                Entry entry = new Entry(value, Set.copyOf(movieIds.apply(value)), System.currentTimeMillis() + ttlMillis);
+                pending.complete(entry);
+                if (generation.get() != startGeneration) {
+                    // Invalidated while loading; hand the value to waiters but don't keep it
+                    entries.remove(key, pending);
+                } else {
+                    evictIfFull();
+                }
+                return value;
+            } catch (RuntimeException e) {
+                entries.remove(key, pending);
+                pending.completeExceptionally(e);
+                throw e;
+            }
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        generation.incrementAndGet();
+        invalidations.increment();
+        if (event.affectsMembership() || event.getMovieId() == null) {
+            entries.clear();
+        } else {
+            entries.entrySet().removeIf(e -> {
+                Entry entry = e.getValue().getNow(null);
+                return entry == null || entry.movieIds.contains(event.getMovieId());
+            });
+        }
+        log.debug("Catalog cache invalidated by {} (movie {})", event.getChangeType(), event.getMovieId());
+    }
+
+    public Map<String, Object> getStats() {
+        long hitCount = hits.sum() + coalesced.sum();
+        long missCount = misses.sum();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("entries", entries.size());
+        stats.put("hits", hits.sum());
+        stats.put("coalescedLoads", coalesced.sum());
+        stats.put("misses", missCount);
+        stats.put("hitRatio", hitCount + missCount > 0 ? (double) hitCount / (hitCount + missCount) : 0.0);
+        stats.put("evictions", evictions.sum());
+        stats.put("invalidations", invalidations.sum());
+        return stats;
+    }
+
+    private void evictIfFull() {
+        while (entries.size() > maxEntries) {
+            String victim = null;
+            long earliest = Long.MAX_VALUE;
+            for (Map.Entry<String, CompletableFuture<Entry>> e : entries.entrySet()) {
+                Entry entry = e.getValue().getNow(null);
+                if (entry != null && entry.expiresAt < earliest) {
+                    earliest = entry.expiresAt;
+                    victim = e.getKey();
+                }
+            }
+            if (victim == null || entries.remove(victim) == null) return;
+            evictions.increment();
+        }
+    }
+
+    private Entry await(CompletableFuture<Entry> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for catalog load", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException re) throw re;
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private record Entry(Object value, Set<Long> movieIds, long expiresAt) {
+        boolean isExpired() {
+            return System.currentTimeMillis() >= expiresAt;
+        }
+    }
+}
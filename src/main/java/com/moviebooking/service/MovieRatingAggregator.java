@@ -0,0 +1,178 @@
+package com.moviebooking.service;
+
+import com.moviebooking.repository.MovieRepository;
+import com.moviebooking.repository.ReviewRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Per-movie review aggregates (rating sum and count).
+ * The movies table holds the durable values, changed only through atomic increments in the
+ * reviewer's transaction; an in-memory mirror serves rating lookups without touching the database.
+ * A periodic job recomputes the aggregates from the reviews table and repairs any drift.
+ *
+ * The mirror is only overwritten from stored values while no review transaction is between its
+ * increment and its commit: each change holds the read side of a guard until its transaction
+ * completes, and warm-up and repairs take the write side. A stored row read under the write side
+ * therefore already includes every delta the mirror will ever be given for it. The full-table scan
+ * that looks for drift runs without the guard; only the suspect movies are re-checked under it.
+ */
+@Component
+public class MovieRatingAggregator {
+
+    private static final Logger log = LoggerFactory.getLogger(MovieRatingAggregator.class);
+
+    private final MovieRepository movieRepository;
+    private final ReviewRepository reviewRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Map<Long, RatingStats> mirror = new ConcurrentHashMap<>();
+    private final ReadWriteLock guard = new ReentrantReadWriteLock();
+
+    public MovieRatingAggregator(MovieRepository movieRepository, ReviewRepository reviewRepository,
+                                 PlatformTransactionManager transactionManager) {
+        this.movieRepository = movieRepository;
+        this.reviewRepository = reviewRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Apply a review change. Must run inside the transaction that writes the review;
+     * the mirror is only updated once that transaction commits.
+     */
+    public void recordChange(Long movieId, long sumDelta, long countDelta) {
+        guard.readLock().lock();
+        boolean deferred = false;
+        try {
+            movieRepository.adjustRating(movieId, sumDelta, countDelta);
+            Runnable applyToMirror = () -> mirror.merge(movieId, new RatingStats(sumDelta, countDelta), RatingStats::plus);
+            if (TransactionSynchronizationManager.isSynchronizationActive()) {
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        applyToMirror.run();
+                    }
+
+                    @Override
+                    public void afterCompletion(int status) {
+                        guard.readLock().unlock();
+                    }
+                });
+                deferred = true;
+            } else {
+                applyToMirror.run();
+            }
+        } finally {
+            if (!deferred) guard.readLock().unlock();
+        }
+    }
+
+    public RatingStats getStats(Long movieId) {
+        return mirror.getOrDefault(movieId, RatingStats.EMPTY);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        guard.writeLock().lock();
+        try {
+            Map<Long, RatingStats> stored = transactionTemplate.execute(status -> loadStored());
+            if (stored != null) mirror.putAll(stored);
+        } finally {
+            guard.writeLock().unlock();
+        }
+        reconcile();
+        log.info("Rating aggregates loaded for {} movies", mirror.size());
+    }
+
+    /**
+     * Verify the stored aggregates against the reviews table, repair drifted movies,
+     * then refresh those movies in the mirror from their repaired values.
+     */
+    @Scheduled(fixedDelayString = "${rating.reconcile-interval-ms:600000}",
+               initialDelayString = "${rating.reconcile-interval-ms:600000}")
+    public void reconcile() {
+        // Suspects may be false alarms from reviews committing mid-scan; they are re-checked below
+        Set<Long> suspects = transactionTemplate.execute(status ->
+                findDrifted(toStats(reviewRepository.aggregateRatingsByMovie()), loadStored()));
+        if (suspects == null || suspects.isEmpty()) return;
+
+        guard.writeLock().lock();
+        try {
+            transactionTemplate.executeWithoutResult(status -> repair(suspects));
+        } finally {
+            guard.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Re-check the suspects now that no review change is in flight, recompute the ones that really
+     * drifted and refresh them in the mirror; suspects with no movie row left are dropped from it.
+     */
+    private void repair(Set<Long> suspects) {
+        Map<Long, RatingStats> stored = toStats(movieRepository.findRatingAggregates(suspects));
+        Set<Long> deleted = new HashSet<>(suspects);
+        deleted.removeAll(stored.keySet());
+        deleted.forEach(mirror::remove);
+        if (stored.isEmpty()) return;
+
+        List<Long> drifted = new ArrayList<>(findDrifted(toStats(reviewRepository.aggregateRatingsByMovie(stored.keySet())), stored));
+        if (!drifted.isEmpty()) {
+            log.warn("Rating aggregates drifted for movies {}, recomputing", drifted);
+            movieRepository.recomputeRating(drifted);
+            mirror.putAll(toStats(movieRepository.findRatingAggregates(drifted)));
+        }
+    }
+
+    /** Movies whose stored aggregate differs from the expected one, plus mirrored movies no longer stored */
+    private Set<Long> findDrifted(Map<Long, RatingStats> expected, Map<Long, RatingStats> stored) {
+        Set<Long> drifted = new HashSet<>();
+        stored.forEach((movieId, stats) -> {
+            if (!stats.equals(expected.getOrDefault(movieId, RatingStats.EMPTY))) {
+                drifted.add(movieId);
+            }
+        });
+        for (Long movieId : mirror.keySet()) {
+            if (!stored.containsKey(movieId)) drifted.add(movieId);
+        }
+        return drifted;
+    }
+
+    private Map<Long, RatingStats> loadStored() {
+        return toStats(movieRepository.findRatingAggregates());
+    }
+
+    private static Map<Long, RatingStats> toStats(List<Object[]> rows) {
+        Map<Long, RatingStats> stats = new HashMap<>();
+        for (Object[] row : rows) {
+            stats.put((Long) row[0], new RatingStats(((Number) row[1]).longValue(), ((Number) row[2]).longValue()));
+        }
+        return stats;
+    }
+
+    public record RatingStats(long sum, long count) {
+
+        static final RatingStats EMPTY = new RatingStats(0, 0);
+
+        RatingStats plus(RatingStats other) {
+            return new RatingStats(sum + other.sum, count + other.count);
+        }
+
+        /** Average rating, or null when the movie has no reviews (matches SQL AVG) */
+        public Double average() {
+            return count > 0 ? (double) sum / count : null;
+        }
+    }
+}
@@ -0,0 +1,269 @@
+package com.moviebooking.service;
+
+import com.moviebooking.entity.Movie;
+import com.moviebooking.entity.MovieCast;
+import com.moviebooking.event.CatalogChangedEvent;
+import com.moviebooking.repository.MovieCastRepository;
+import com.moviebooking.repository.MovieRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.text.Normalizer;
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory inverted index over movie titles, cast, director, genre and language.
+ *
+ * Query tokens match index terms exactly, by prefix, or within one edit (deletion
+ * neighbourhood lookup). Documents are ranked by how many query tokens they match, then by
+ * field-weighted idf score. The index is built in parallel once the application is ready and
+ * kept current from CatalogChangedEvent.
+ */
+@Component
+public class MovieSearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(MovieSearchIndex.class);
+
+    private static final float TITLE_WEIGHT = 5f;
+    private static final float CAST_WEIGHT = 3f;
+    private static final float DIRECTOR_WEIGHT = 3f;
+    private static final float GENRE_WEIGHT = 2f;
+    private static final float LANGUAGE_WEIGHT = 1f;
+
+    private static final float EXACT_FACTOR = 1f;
+    private static final float PREFIX_FACTOR = 0.7f;
+    private static final float FUZZY_FACTOR = 0.5f;
+    private static final int MIN_FUZZY_LENGTH = 4;
+
+    private final MovieRepository movieRepository;
+    private final MovieCastRepository movieCastRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    /** term -> (movie id -> field weight) */
+    private final TreeMap<String, Map<Long, Float>> postings = new TreeMap<>();
+    /** term with one character deleted -> terms that produce it */
+    private final Map<String, Set<String>> deletions = new HashMap<>();
+    /** movie id -> its terms, needed to remove a document */
+    private final Map<Long, Map<String, Float>> documents = new HashMap<>();
+    private volatile boolean ready;
+
+    public MovieSearchIndex(MovieRepository movieRepository, MovieCastRepository movieCastRepository) {
+        this.movieRepository = movieRepository;
+        this.movieCastRepository = movieCastRepository;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        List<Movie> movies = movieRepository.findAll();
+        Map<Long, List<String>> castNames = new HashMap<>();
+        for (Object[] row : movieCastRepository.findAllSearchFields()) {
+            List<String> names = castNames.computeIfAbsent((Long) row[0], id -> new ArrayList<>());
+            names.add((String) row[1]);
+            if (row[2] != null) names.add((String) row[2]);
+        }
+
+        // Tokenizing is the expensive part and is independent per movie
+        Map<Long, Map<String, Float>> docs = movies.parallelStream()
+                .collect(Collectors.toConcurrentMap(Movie::getId,
+                        m -> analyze(m, castNames.getOrDefault(m.getId(), List.of()))));
+
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            deletions.clear();
+            documents.clear();
+            docs.forEach(this::addDocument);
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Search index built: {} movies, {} terms in {} ms",
+                docs.size(), postings.size(), System.currentTimeMillis() - start);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        if (event.getChangeType() == CatalogChangedEvent.ChangeType.REVIEW_CHANGED || event.getMovieId() == null) return;
+
+        Map<String, Float> doc = movieRepository.findById(event.getMovieId())
+                .map(m -> {
+                    List<String> names = new ArrayList<>();
+                    for (MovieCast cast : movieCastRepository.findByMovieIdOrderByDisplayOrderAsc(m.getId())) {
+                        names.add(cast.getPersonName());
+                        if (cast.getCharacterName() != null) names.add(cast.getCharacterName());
+                    }
+                    return analyze(m, names);
+                })
+                .orElse(null);
+
+        lock.writeLock().lock();
+        try {
+            removeDocument(event.getMovieId());
+            if (doc != null) addDocument(event.getMovieId(), doc);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return ids of matching movies, best match first
+     */
+    public List<Long> search(String query, int limit) {
+        List<String> tokens = tokenize(query);
+        if (tokens.isEmpty()) return List.of();
+
+        Map<Long, float[]> hits = new HashMap<>(); // movie id -> {matched tokens, score}
+        lock.readLock().lock();
+        try {
+            int totalDocs = Math.max(documents.size(), 1);
+            for (String token : tokens) {
+                Map<Long, Float> best = new HashMap<>();
+                for (Map.Entry<String, Float> candidate : candidateTerms(token).entrySet()) {
+                    Map<Long, Float> docs = postings.get(candidate.getKey());
+                    float idf = (float) Math.log(1 + (double) totalDocs / docs.size());
+                    float factor = candidate.getValue() * idf;
+                    docs.forEach((movieId, weight) -> best.merge(movieId, weight * factor, Math::max));
+                }
+                best.forEach((movieId, score) -> {
+                    float[] hit = hits.computeIfAbsent(movieId, id -> new float[2]);
+                    hit[0]++;
+                    hit[1] += score;
+                });
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        return hits.entrySet().stream()
+                .sorted((a, b) -> a.getValue()[0] != b.getValue()[0]
+                        ? Float.compare(b.getValue()[0], a.getValue()[0])
+                        : Float.compare(b.getValue()[1], a.getValue()[1]))
+                .limit(limit)
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toList());
+    }
+
+    /** Index terms a query token can match, with the match-quality factor for each */
+    private Map<String, Float> candidateTerms(String token) {
+        Map<String, Float> candidates = new HashMap<>();
+        if (postings.containsKey(token)) candidates.put(token, EXACT_FACTOR);
+
+        for (String term : postings.subMap(token, false, token + Character.MAX_VALUE, false).keySet()) {
+            candidates.putIfAbsent(term, PREFIX_FACTOR);
+        }
+
+        if (token.length() >= MIN_FUZZY_LENGTH) {
+            // Terms within one edit share either the token itself or one of its deletions
+            Set<String> keys = new HashSet<>(deletesOf(token));
+            keys.add(token);
+            for (String key : keys) {
+                for (String term : deletions.getOrDefault(key, Set.of())) {
+                    if (!candidates.containsKey(term) && withinOneEdit(token, term)) {
+                        candidates.put(term, FUZZY_FACTOR);
+                    }
+                }
+                if (!candidates.containsKey(key) && postings.containsKey(key)) {
+                    candidates.put(key, FUZZY_FACTOR);
+                }
+            }
+        }
+        return candidates;
+    }
+
+    private Map<String, Float> analyze(Movie movie, List<String> castNames) {
+        Map<String, Float> terms = new HashMap<>();
+        addField(terms, movie.getTitle(), TITLE_WEIGHT);
+        addField(terms, movie.getDirector(), DIRECTOR_WEIGHT);
+        addField(terms, movie.getGenre(), GENRE_WEIGHT);
+        addField(terms, movie.getLanguage(), LANGUAGE_WEIGHT);
+        castNames.forEach(name -> addField(terms, name, CAST_WEIGHT));
+        return terms;
+    }
+
+    private void addField(Map<String, Float> terms, String text, float weight) {
+        for (String token : tokenize(text)) {
+            terms.merge(token, weight, Math::max);
+        }
+    }
+
+    private void addDocument(Long movieId, Map<String, Float> terms) {
+        documents.put(movieId, terms);
+        terms.forEach((term, weight) -> {
+            Map<Long, Float> docs = postings.get(term);
+            if (docs == null) {
+                docs = new HashMap<>();
+                postings.put(term, docs);
+                if (term.length() >= MIN_FUZZY_LENGTH - 1) {
+                    for (String deleted : deletesOf(term)) {
+                        deletions.computeIfAbsent(deleted, k -> new HashSet<>()).add(term);
+                    }
+                }
+            }
+            docs.put(movieId, weight);
+        });
+    }
+
+    private void removeDocument(Long movieId) {
+        Map<String, Float> terms = documents.remove(movieId);
+        if (terms == null) return;
+        for (String term : terms.keySet()) {
+            Map<Long, Float> docs = postings.get(term);
+            docs.remove(movieId);
+            if (docs.isEmpty()) {
+                postings.remove(term);
+                for (String deleted : deletesOf(term)) {
+                    Set<String> sources = deletions.get(deleted);
+                    if (sources != null && sources.remove(term) && sources.isEmpty()) {
+                        deletions.remove(deleted);
+                    }
+                }
+            }
+        }
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) return List.of();
+        String normalized = Normalizer.normalize(text, Normalizer.Form.NFD)
+                .replaceAll("\\p{M}", "")
+                .toLowerCase(Locale.ROOT);
+        List<String> tokens = new ArrayList<>();
+        for (String token : normalized.split("[^\\p{L}\\p{N}]+")) {
+            if (!token.isEmpty()) tokens.add(token);
+        }
+        return tokens;
+    }
+
+    private static List<String> deletesOf(String term) {
+        List<String> result = new ArrayList<>(term.length());
+        for (int i = 0; i < term.length(); i++) {
+            result.add(term.substring(0, i) + term.substring(i + 1));
+        }
+        return result;
+    }
+
+    /** Levenshtein distance <= 1 (substitution, insertion or deletion) */
+    private static boolean withinOneEdit(String a, String b) {
+        if (Math.abs(a.length() - b.length()) > 1) return false;
+        if (a.length() > b.length()) {
+            String t = a; a = b; b = t;
+        }
+        int i = 0;
+        while (i < a.length() && a.charAt(i) == b.charAt(i)) i++;
+        if (a.length() == b.length()) {
+            return a.substring(i + Math.min(1, a.length() - i)).equals(b.substring(i + Math.min(1, b.length() - i)));
+        }
+        return a.substring(i).equals(b.substring(i + 1));
+    }
+}
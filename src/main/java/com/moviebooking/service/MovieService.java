@@ -1,5 +1,6 @@
 package com.moviebooking.service;
 
+import com.moviebooking.dto.CursorPage;
 import com.moviebooking.dto.MovieDto;
 import com.moviebooking.entity.Movie;
 import com.moviebooking.entity.MovieCast;
@@ -7,72 +8,129 @@ import com.moviebooking.entity.enums.MovieStatus;
 import com.moviebooking.exception.ResourceNotFoundException;
 import com.moviebooking.repository.MovieCastRepository;
 import com.moviebooking.repository.MovieRepository;
-import com.moviebooking.repository.ReviewRepository;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.stream.Collectors;
 
 @Service
 public class MovieService {
 
+    private static final int SEARCH_LIMIT = 50;
+
     private final MovieRepository movieRepository;
     private final MovieCastRepository movieCastRepository;
-    private final ReviewRepository reviewRepository;
+    private final MovieRatingAggregator ratingAggregator;
+    private final MovieCatalogCache catalogCache;
+    private final MovieSearchIndex searchIndex;
 
     public MovieService(MovieRepository movieRepository, MovieCastRepository movieCastRepository,
-                       ReviewRepository reviewRepository) {
+                       MovieRatingAggregator ratingAggregator, MovieCatalogCache catalogCache,
+                       MovieSearchIndex searchIndex) {
         this.movieRepository = movieRepository;
         this.movieCastRepository = movieCastRepository;
-        this.reviewRepository = reviewRepository;
+        this.ratingAggregator = ratingAggregator;
+        this.catalogCache = catalogCache;
+        this.searchIndex = searchIndex;
     }
 
     public List<MovieDto> getNowShowingMovies() {
-        return movieRepository.findByStatus(MovieStatus.NOW_SHOWING).stream()
+        return catalogCache.getList("now-showing", () -> movieRepository.findByStatus(MovieStatus.NOW_SHOWING).stream()
+                .map(this::toMovieDtoWithRating)
+                .collect(Collectors.toList()));
+    }
+
+    /**
+     * Now-showing movies one keyset page at a time, newest release first. The first page is what
+     * the home page asks for, so it goes through the catalog cache like the other browse lists.
+     */
+    public CursorPage<MovieDto> getNowShowingPage(String cursor, int size) {
+        CursorPage.validateSize(size);
+        CursorPage.Cursor after = CursorPage.Cursor.decode(cursor);
+        List<MovieDto> movies = after == null
+                ? catalogCache.getList("now-showing:first:" + size, () -> loadNowShowingPage(null, size))
+                : loadNowShowingPage(after, size);
+        return CursorPage.of(movies, size, m -> CursorPage.Cursor.of(m.getReleaseDate(), m.getId()));
+    }
+
+    /** One page plus one row, so CursorPage can tell whether there is more */
+    private List<MovieDto> loadNowShowingPage(CursorPage.Cursor after, int size) {
+        return movieRepository.findPageByStatus(MovieStatus.NOW_SHOWING,
+                        after != null ? after.dateKey() : CursorPage.FIRST_DATE_DESC,
+                        after != null ? after.id() : Long.MAX_VALUE,
+                        PageRequest.of(0, size + 1)).stream()
                 .map(this::toMovieDtoWithRating)
                 .collect(Collectors.toList());
     }
 
     public List<MovieDto> getUpcomingMovies() {
-        return movieRepository.findByStatus(MovieStatus.UPCOMING).stream()
+        return catalogCache.getList("upcoming", () -> movieRepository.findByStatus(MovieStatus.UPCOMING).stream()
                 .map(this::toMovieDtoWithRating)
-                .collect(Collectors.toList());
+                .collect(Collectors.toList()));
     }
 
     public List<MovieDto> getTrendingMovies(int limit) {
-        return movieRepository.findTrendingMovies(PageRequest.of(0, limit)).stream()
+        return catalogCache.getList("trending:" + limit, () -> movieRepository.findTrendingMovies(PageRequest.of(0, limit)).stream()
                 .map(this::toMovieDtoWithRating)
-                .collect(Collectors.toList());
+                .collect(Collectors.toList()));
     }
 
     public MovieDto getMovieById(Long id) {
-        Movie movie = movieRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Movie", "id", id));
-        List<MovieCast> castList = movieCastRepository.findByMovieIdOrderByDisplayOrderAsc(id);
-        MovieDto dto = MovieDto.fromEntityWithCast(movie, castList);
-        enrichWithRating(dto, id);
-        return dto;
+        return catalogCache.getMovie(id, () -> {
+            Movie movie = movieRepository.findById(id)
+                    .orElseThrow(() -> new ResourceNotFoundException("Movie", "id", id));
+            List<MovieCast> castList = movieCastRepository.findByMovieIdOrderByDisplayOrderAsc(id);
+            MovieDto dto = MovieDto.fromEntityWithCast(movie, castList);
+            enrichWithRating(dto, id);
+            return dto;
+        });
     }
 
     public List<MovieDto> searchMovies(String query) {
-        return movieRepository.searchMovies(query).stream()
+        if (!searchIndex.isReady()) {
+            // Index is built once the application is ready; fall back to the LIKE query until then
+            return movieRepository.searchMovies(query).stream()
+                    .map(this::toMovieDtoWithRating)
+                    .collect(Collectors.toList());
+        }
+        List<Long> ids = searchIndex.search(query, SEARCH_LIMIT);
+        Map<Long, Movie> movies = movieRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Movie::getId, m -> m));
+        return ids.stream()
+                .map(movies::get)
+                .filter(Objects::nonNull)
                 .map(this::toMovieDtoWithRating)
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Now-showing movies in the given id order, resolved from the cached now-showing list;
+     * ids that are no longer showing are skipped.
+     */
+    public List<MovieDto> getNowShowingByIds(List<Long> ids) {
+        Map<Long, MovieDto> showing = getNowShowingMovies().stream()
+                .collect(Collectors.toMap(MovieDto::getId, m -> m));
+        return ids.stream()
+                .map(showing::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
     public List<MovieDto> getMoviesByGenre(String genre) {
-        return movieRepository.findByGenreContainingIgnoreCase(genre).stream()
+        return catalogCache.getList("genre:" + genre.toLowerCase(), () -> movieRepository.findByGenreContainingIgnoreCase(genre).stream()
                 .map(this::toMovieDtoWithRating)
-                .collect(Collectors.toList());
+                .collect(Collectors.toList()));
     }
 
     public List<MovieDto> getMoviesByLanguage(String language) {
-        return movieRepository.findByLanguageIgnoreCase(language).stream()
+        return catalogCache.getList("language:" + language.toLowerCase(), () -> movieRepository.findByLanguageIgnoreCase(language).stream()
                 .map(this::toMovieDtoWithRating)
-                .collect(Collectors.toList());
+                .collect(Collectors.toList()));
     }
 
     public Page<MovieDto> getAllMovies(Pageable pageable) {
@@ -98,8 +156,8 @@ public class MovieService {
     }
 
     private void enrichWithRating(MovieDto dto, Long movieId) {
-        Double avgRating = reviewRepository.getAverageRatingForMovie(movieId);
-        dto.setAvgUserRating(avgRating);
-        dto.setReviewCount(reviewRepository.findByMovieIdOrderByCreatedAtDesc(movieId).size());
+        MovieRatingAggregator.RatingStats stats = ratingAggregator.getStats(movieId);
+        dto.setAvgUserRating(stats.average());
+        dto.setReviewCount((int) stats.count());
     }
 }
@@ -5,14 +5,17 @@ import com.moviebooking.entity.Payment;
 import com.moviebooking.entity.enums.BookingStatus;
 import com.moviebooking.entity.enums.PaymentMethod;
 import com.moviebooking.entity.enums.PaymentStatus;
+import com.moviebooking.event.PaymentLifecycleEvent;
 import com.moviebooking.exception.BadRequestException;
 import com.moviebooking.exception.ResourceNotFoundException;
 import com.moviebooking.patterns.facade.PaymentFacade;
 import com.moviebooking.patterns.facade.PaymentRequest;
 import com.moviebooking.patterns.facade.PaymentResult;
+import com.moviebooking.patterns.singleton.AppConfigManager;
 import com.moviebooking.repository.PaymentRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -29,15 +32,17 @@ public class PaymentService {
     private final BookingService bookingService;
     private final QRCodeService qrCodeService;
     private final EmailService emailService;
+    private final ApplicationEventPublisher eventPublisher;
 
     public PaymentService(PaymentRepository paymentRepository, PaymentFacade paymentFacade,
                          BookingService bookingService, QRCodeService qrCodeService,
-                         EmailService emailService) {
+                         EmailService emailService, ApplicationEventPublisher eventPublisher) {
         this.paymentRepository = paymentRepository;
         this.paymentFacade = paymentFacade;
         this.bookingService = bookingService;
         this.qrCodeService = qrCodeService;
         this.emailService = emailService;
+        this.eventPublisher = eventPublisher;
     }
 
     @Transactional
@@ -80,6 +85,8 @@ public class PaymentService {
 
             // Send confirmation email
             emailService.sendBookingConfirmation(booking);
+            eventPublisher.publishEvent(new PaymentLifecycleEvent(payment.getId(), PaymentLifecycleEvent.Type.SUCCEEDED,
+                    method, payment.getAmount()));
 
             log.info("Payment successful for booking {} via {}, txn: {}",
                     booking.getBookingReference(), result.getGatewayName(), result.getTransactionId());
@@ -106,7 +113,8 @@ public class PaymentService {
 
         BigDecimal refundAmount = bookingService.calculateRefundAmount(booking);
         if (refundAmount.compareTo(BigDecimal.ZERO) <= 0) {
-            throw new BadRequestException("No refund applicable for this booking (less than 6 hours before show)");
+            throw new BadRequestException("No refund applicable for this booking (less than "
+                    + AppConfigManager.getInstance().snapshot().halfRefundHours() + " hours before show)");
         }
 
         PaymentResult refundResult = paymentFacade.processRefund(
@@ -123,6 +131,8 @@ public class PaymentService {
 
             // Send cancellation email
             emailService.sendBookingCancellation(booking, refundAmount);
+            eventPublisher.publishEvent(new PaymentLifecycleEvent(payment.getId(), PaymentLifecycleEvent.Type.REFUNDED,
+                    payment.getPaymentMethod(), refundAmount));
 
             log.info("Refund of ₹{} processed for booking {}", refundAmount, booking.getBookingReference());
         }
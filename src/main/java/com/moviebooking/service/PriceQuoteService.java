@@ -0,0 +1,141 @@
+package com.moviebooking.service;
+
+import com.moviebooking.entity.SeatLock;
+import com.moviebooking.entity.Showtime;
+import com.moviebooking.patterns.strategy.PricingEngine;
+import com.moviebooking.patterns.strategy.PricingRules;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Seat prices quoted when seats are locked, kept with the hold until it ends.
+ *
+ * Locking a seat prices it once with the current pricing rules and stores the price, keyed by the
+ * seat lock id, until the lock's own expiry. Creating a booking from held seats charges the quoted
+ * prices instead of pricing again, so the amount the user saw while holding is the amount on the
+ * booking; promo codes and payment then work from the booking's amounts. Quotes live in memory
+ * only: after a restart, or for seats booked without a hold, the booking is priced afresh.
+ * Quotes are dropped once the transaction that released or booked their locks commits, so a
+ * rollback leaves the still-active locks with their quotes.
+ */
+@Service
+public class PriceQuoteService {
+
+    private static final Logger log = LoggerFactory.getLogger(PriceQuoteService.class);
+
+    private final PricingEngine pricingEngine;
+    private final Map<Long, Quote> quotes = new ConcurrentHashMap<>();
+
+    public PriceQuoteService(PricingEngine pricingEngine) {
+        this.pricingEngine = pricingEngine;
+    }
+
+    /** Price the newly locked seats with one rules snapshot and keep the quotes for the lock duration */
+    public List<Quote> quoteLocks(Showtime showtime, ScreenLayout layout, List<SeatLock> locks) {
+        PricingRules rules = pricingEngine.currentRules();
+        Map<BigDecimal, BigDecimal> finalPrices = new HashMap<>();
+        List<Quote> quoted = new ArrayList<>(locks.size());
+        for (SeatLock lock : locks) {
+            Long seatId = lock.getSeat().getId();
+            BigDecimal price = finalPrices.computeIfAbsent(layout.basePrice(layout.indexOf(seatId)),
+                    base -> pricingEngine.calculateFinalPrice(base, showtime, rules));
+            Quote quote = new Quote(lock.getId(), seatId, price, rules.getVersion(), lock.getLockedUntil());
+            quotes.put(lock.getId(), quote);
+            quoted.add(quote);
+        }
+        return quoted;
+    }
+
+    /**
+     * Prices for the seats at the given layout positions. If every seat has a live quote on one of
+     * the user's held locks, those are used as they are; otherwise all seats are priced now, so a
+     * booking never mixes prices from different rule versions.
+     */
+    public BookingPrice priceBooking(Showtime showtime, ScreenLayout layout, int[] positions, List<SeatLock> heldLocks) {
+        LocalDateTime now = LocalDateTime.now();
+        Map<Long, Quote> bySeat = new HashMap<>();
+        for (SeatLock lock : heldLocks) {
+            Quote quote = quotes.get(lock.getId());
+            if (quote != null && quote.expiresAt().isAfter(now)) bySeat.put(quote.seatId(), quote);
+        }
+
+        BigDecimal[] prices = new BigDecimal[positions.length];
+        Long version = null;
+        boolean quoted = true;
+        for (int i = 0; i < positions.length && quoted; i++) {
+            Quote quote = bySeat.get(layout.seatId(positions[i]));
+            quoted = quote != null && (version == null || version == quote.pricingVersion());
+            if (quoted) {
+                prices[i] = quote.price();
+                version = quote.pricingVersion();
+            }
+        }
+        if (quoted && positions.length > 0) {
+            return new BookingPrice(prices, version, true);
+        }
+
+        PricingRules rules = pricingEngine.currentRules();
+        Map<BigDecimal, BigDecimal> finalPrices = new HashMap<>();
+        for (int i = 0; i < positions.length; i++) {
+            prices[i] = finalPrices.computeIfAbsent(layout.basePrice(positions[i]),
+                    base -> pricingEngine.calculateFinalPrice(base, showtime, rules));
+        }
+        return new BookingPrice(prices, rules.getVersion(), false);
+    }
+
+    /** Live quotes of the given locks */
+    public List<Quote> quotesFor(List<SeatLock> locks) {
+        List<Quote> result = new ArrayList<>(locks.size());
+        for (SeatLock lock : locks) {
+            Quote quote = quotes.get(lock.getId());
+            if (quote != null) result.add(quote);
+        }
+        return result;
+    }
+
+    /**
+     * Drop the quotes of locks that were released or turned into a booking, once the current
+     * transaction commits (immediately when there is none)
+     */
+    public void discard(Collection<SeatLock> locks) {
+        List<Long> lockIds = locks.stream().map(SeatLock::getId).toList();
+        if (lockIds.isEmpty()) return;
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    lockIds.forEach(quotes::remove);
+                }
+            });
+        } else {
+            lockIds.forEach(quotes::remove);
+        }
+    }
+
+    @Scheduled(fixedRate = 60000)
+    public void evictExpired() {
+        LocalDateTime now = LocalDateTime.now();
+        int before = quotes.size();
+        quotes.values().removeIf(quote -> !quote.expiresAt().isAfter(now));
+        if (before != quotes.size()) {
+            log.debug("Evicted {} expired price quotes", before - quotes.size());
+        }
+    }
+
+    public record Quote(Long lockId, Long seatId, BigDecimal price, long pricingVersion, LocalDateTime expiresAt) {}
+
+    /**
+     * @param prices     per seat, in the order requested
+     * @param fromQuotes whether the prices are the ones quoted at lock time
+     */
+    public record BookingPrice(BigDecimal[] prices, long pricingVersion, boolean fromQuotes) {}
+}
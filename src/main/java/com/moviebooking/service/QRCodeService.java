@@ -6,6 +6,8 @@ import com.google.zxing.client.j2se.MatrixToImageWriter;
 import com.google.zxing.common.BitMatrix;
 import com.google.zxing.qrcode.QRCodeWriter;
 import com.moviebooking.entity.Booking;
+import com.moviebooking.patterns.singleton.AppConfigManager;
+import com.moviebooking.patterns.singleton.ConfigSnapshot;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
@@ -28,8 +30,9 @@ public class QRCodeService {
             String hash = generateHMAC(qrContent);
             String fullContent = qrContent + "|HASH:" + hash;
 
+            ConfigSnapshot config = AppConfigManager.getInstance().snapshot();
             QRCodeWriter writer = new QRCodeWriter();
-            BitMatrix bitMatrix = writer.encode(fullContent, BarcodeFormat.QR_CODE, 300, 300);
+            BitMatrix bitMatrix = writer.encode(fullContent, BarcodeFormat.QR_CODE, config.qrCodeWidth(), config.qrCodeHeight());
 
             ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
             MatrixToImageWriter.writeToStream(bitMatrix, "PNG", outputStream);
@@ -0,0 +1,335 @@
+package com.moviebooking.service;
+
+import com.moviebooking.entity.enums.BookingStatus;
+import com.moviebooking.entity.enums.MovieStatus;
+import com.moviebooking.entity.enums.TheaterType;
+import com.moviebooking.event.BookingLifecycleEvent;
+import com.moviebooking.event.CatalogChangedEvent;
+import com.moviebooking.repository.BookingRepository;
+import com.moviebooking.repository.MovieRepository;
+import com.moviebooking.repository.ShowtimeRepository;
+import com.moviebooking.repository.UserPreferenceRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Personalized now-showing recommendations, computed offline.
+ *
+ * A periodic batch turns booking history and stated preferences (UserPreference genres, languages
+ * and theater types) into per-user affinity weights, scores every now-showing movie the user has
+ * not booked yet, and keeps the top K movie ids per user. Users are scored in parallel; the result
+ * is swapped in as one snapshot, so a lookup is a single map get. A confirmed booking re-scores
+ * just that user against the current model. Users with no signal get the popularity fallback.
+ */
+@Service
+public class RecommendationEngine {
+
+    private static final Logger log = LoggerFactory.getLogger(RecommendationEngine.class);
+
+    private static final double HISTORY_WEIGHT = 1.0;
+    private static final double PREFERENCE_WEIGHT = 2.0;
+    private static final double LANGUAGE_WEIGHT = 1.0;
+    private static final double FORMAT_WEIGHT = 0.5;
+    private static final double POPULARITY_WEIGHT = 0.3;
+    private static final double RATING_WEIGHT = 0.2;
+
+    private final MovieRepository movieRepository;
+    private final BookingRepository bookingRepository;
+    private final ShowtimeRepository showtimeRepository;
+    private final UserPreferenceRepository userPreferenceRepository;
+    private final MovieRatingAggregator ratingAggregator;
+    private final int topK;
+
+    private final ExecutorService batchExecutor = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "recommendation-batch");
+        t.setDaemon(true);
+        return t;
+    });
+    private final AtomicBoolean batchQueued = new AtomicBoolean();
+    private final AtomicLong incrementalUpdates = new AtomicLong();
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+
+    public RecommendationEngine(MovieRepository movieRepository, BookingRepository bookingRepository,
+                                ShowtimeRepository showtimeRepository,
+                                UserPreferenceRepository userPreferenceRepository,
+                                MovieRatingAggregator ratingAggregator,
+                                @Value("${recommendation.top-k:20}") int topK) {
+        this.movieRepository = movieRepository;
+        this.bookingRepository = bookingRepository;
+        this.showtimeRepository = showtimeRepository;
+        this.userPreferenceRepository = userPreferenceRepository;
+        this.ratingAggregator = ratingAggregator;
+        this.topK = topK;
+    }
+
+    /**
+     * @return up to limit recommended movie ids for the user, best first
+     */
+    public List<Long> recommendFor(Long userId, int limit) {
+        Snapshot current = snapshot;
+        long[] ids = current.byUser.getOrDefault(userId, current.fallback);
+        int n = Math.min(Math.max(limit, 0), ids.length);
+        List<Long> result = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) result.add(ids[i]);
+        return result;
+    }
+
+    public int getTopK() {
+        return topK;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady() {
+        requestBatch();
+    }
+
+    /** Status changes add or remove candidates */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        if (event.affectsMembership()) requestBatch();
+    }
+
+    @Scheduled(fixedDelayString = "${recommendation.refresh-interval-ms:3600000}",
+               initialDelayString = "${recommendation.refresh-interval-ms:3600000}")
+    public void refresh() {
+        requestBatch();
+    }
+
+    /**
+     * Re-score the user once a confirming transaction commits. Runs on the batch thread, so it
+     * never interleaves with a full rebuild.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookingEvent(BookingLifecycleEvent event) {
+        if (event.getStatus() != BookingStatus.CONFIRMED || event.getPreviousStatus() == BookingStatus.CONFIRMED) return;
+        Long userId = event.getUserId();
+        batchExecutor.execute(() -> {
+            try {
+                Snapshot current = snapshot;
+                long[] ids = scoreUser(current.model,
+                        bookingRepository.findConfirmedHistoryForUser(userId),
+                        first(userPreferenceRepository.findPreferenceVector(userId)));
+                if (ids != null) current.byUser.put(userId, ids);
+                incrementalUpdates.incrementAndGet();
+            } catch (RuntimeException e) {
+                log.warn("Recommendation refresh for user {} failed: {}", userId, e.getMessage());
+            }
+        });
+    }
+
+    public Map<String, Object> getStats() {
+        Snapshot current = snapshot;
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("users", current.byUser.size());
+        stats.put("candidates", current.model.movieIds.length);
+        stats.put("topK", topK);
+        stats.put("builtAt", current.builtAt);
+        stats.put("incrementalUpdates", incrementalUpdates.get());
+        return stats;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        batchExecutor.shutdownNow();
+    }
+
+    /** Queue a batch unless one is already waiting */
+    private void requestBatch() {
+        if (batchQueued.compareAndSet(false, true)) {
+            batchExecutor.execute(() -> {
+                batchQueued.set(false);
+                try {
+                    long start = System.currentTimeMillis();
+                    Snapshot built = build();
+                    snapshot = built;
+                    log.info("Recommendations computed for {} users over {} movies in {} ms",
+                            built.byUser.size(), built.model.movieIds.length, System.currentTimeMillis() - start);
+                } catch (RuntimeException e) {
+                    log.error("Recommendation batch failed, keeping previous snapshot: {}", e.getMessage());
+                }
+            });
+        }
+    }
+
+    private Snapshot build() {
+        Model model = loadModel();
+
+        Map<Long, List<Object[]>> history = new HashMap<>();
+        for (Object[] row : bookingRepository.findConfirmedHistory()) {
+            history.computeIfAbsent((Long) row[0], id -> new ArrayList<>()).add(row);
+        }
+        Map<Long, Object[]> preferences = new HashMap<>();
+        for (Object[] row : userPreferenceRepository.findAllPreferenceVectors()) {
+            preferences.put((Long) row[0], row);
+        }
+        Set<Long> users = new HashSet<>(history.keySet());
+        users.addAll(preferences.keySet());
+
+        // Scoring is independent per user
+        Map<Long, long[]> byUser = new ConcurrentHashMap<>(Math.max(16, users.size() * 4 / 3));
+        users.parallelStream().forEach(userId -> {
+            long[] ids = scoreUser(model, history.getOrDefault(userId, List.of()), preferences.get(userId));
+            if (ids != null) byUser.put(userId, ids);
+        });
+
+        return new Snapshot(model, byUser, topByPrior(model), LocalDateTime.now());
+    }
+
+    private Model loadModel() {
+        Map<Long, Long> bookings = new HashMap<>();
+        long maxBookings = 0;
+        for (Object[] row : bookingRepository.countConfirmedByMovie()) {
+            long count = ((Number) row[1]).longValue();
+            bookings.put((Long) row[0], count);
+            maxBookings = Math.max(maxBookings, count);
+        }
+        Map<Long, Set<String>> formats = new HashMap<>();
+        for (Object[] row : showtimeRepository.findUpcomingTheaterTypesByMovie(LocalDateTime.now())) {
+            formats.computeIfAbsent((Long) row[0], id -> new HashSet<>()).add(normalize(((TheaterType) row[1]).name()));
+        }
+
+        Map<Long, Features> features = new HashMap<>();
+        Map<Long, BigDecimal> imdbRatings = new HashMap<>();
+        List<Long> candidates = new ArrayList<>();
+        for (Object[] row : movieRepository.findRecommendationFeatures()) {
+            Long movieId = (Long) row[0];
+            features.put(movieId, new Features(split((String) row[1]).toArray(new String[0]), normalize((String) row[2])));
+            if (row[3] == MovieStatus.NOW_SHOWING) {
+                candidates.add(movieId);
+                imdbRatings.put(movieId, (BigDecimal) row[4]);
+            }
+        }
+
+        int n = candidates.size();
+        long[] movieIds = new long[n];
+        String[][] movieFormats = new String[n][];
+        double[] prior = new double[n];
+        double popularityScale = Math.log1p(maxBookings);
+        for (int i = 0; i < n; i++) {
+            Long movieId = candidates.get(i);
+            movieIds[i] = movieId;
+            movieFormats[i] = formats.getOrDefault(movieId, Set.of()).toArray(new String[0]);
+            double popularity = popularityScale > 0 ? Math.log1p(bookings.getOrDefault(movieId, 0L)) / popularityScale : 0;
+            prior[i] = POPULARITY_WEIGHT * popularity + RATING_WEIGHT * rating(movieId, imdbRatings.get(movieId));
+        }
+        return new Model(movieIds, movieFormats, prior, features);
+    }
+
+    /**
+     * @return the user's top K candidate ids, or null when there is nothing to personalize on
+     */
+    private long[] scoreUser(Model model, List<Object[]> history, Object[] preference) {
+        Map<String, Double> genres = new HashMap<>();
+        Map<String, Double> languages = new HashMap<>();
+        Map<String, Double> formats = new HashMap<>();
+        Set<Long> seen = new HashSet<>();
+
+        for (Object[] row : history) {
+            Long movieId = (Long) row[1];
+            seen.add(movieId);
+            Features f = model.features.get(movieId);
+            if (f != null) {
+                for (String genre : f.genres) genres.merge(genre, HISTORY_WEIGHT, Double::sum);
+                if (f.language != null) languages.merge(f.language, HISTORY_WEIGHT, Double::sum);
+            }
+            if (row[2] != null) formats.merge(normalize(((TheaterType) row[2]).name()), HISTORY_WEIGHT, Double::sum);
+        }
+        if (preference != null) {
+            split((String) preference[1]).forEach(g -> genres.merge(g, PREFERENCE_WEIGHT, Double::sum));
+            split((String) preference[2]).forEach(l -> languages.merge(l, PREFERENCE_WEIGHT, Double::sum));
+            split((String) preference[3]).forEach(t -> formats.merge(t, PREFERENCE_WEIGHT, Double::sum));
+        }
+        if (genres.isEmpty() && languages.isEmpty() && formats.isEmpty()) return null;
+        scaleToUnit(genres);
+        scaleToUnit(languages);
+        scaleToUnit(formats);
+
+        // Min-heap of candidate positions holding the best K so far
+        double[] scores = new double[model.movieIds.length];
+        PriorityQueue<Integer> best = new PriorityQueue<>(Comparator.comparingDouble(i -> scores[i]));
+        for (int i = 0; i < model.movieIds.length; i++) {
+            if (seen.contains(model.movieIds[i])) continue;
+            Features f = model.features.get(model.movieIds[i]);
+            double genreScore = 0;
+            for (String genre : f.genres) genreScore += genres.getOrDefault(genre, 0.0);
+            if (f.genres.length > 0) genreScore /= Math.sqrt(f.genres.length);
+            double languageScore = f.language != null ? languages.getOrDefault(f.language, 0.0) : 0;
+            double formatScore = 0;
+            for (String format : model.formats[i]) formatScore = Math.max(formatScore, formats.getOrDefault(format, 0.0));
+
+            scores[i] = genreScore + LANGUAGE_WEIGHT * languageScore + FORMAT_WEIGHT * formatScore + model.prior[i];
+            best.add(i);
+            if (best.size() > topK) best.poll();
+        }
+
+        long[] ids = new long[best.size()];
+        for (int i = ids.length - 1; i >= 0; i--) ids[i] = model.movieIds[best.poll()];
+        return ids;
+    }
+
+    private long[] topByPrior(Model model) {
+        Integer[] order = new Integer[model.movieIds.length];
+        for (int i = 0; i < order.length; i++) order[i] = i;
+        Arrays.sort(order, (a, b) -> Double.compare(model.prior[b], model.prior[a]));
+        long[] ids = new long[Math.min(topK, order.length)];
+        for (int i = 0; i < ids.length; i++) ids[i] = model.movieIds[order[i]];
+        return ids;
+    }
+
+    /** User rating out of 5 when reviewed, otherwise IMDb out of 10; scaled to [0, 1] */
+    private double rating(Long movieId, BigDecimal imdbRating) {
+        Double average = ratingAggregator.getStats(movieId).average();
+        if (average != null) return average / 5.0;
+        return imdbRating != null ? imdbRating.doubleValue() / 10.0 : 0;
+    }
+
+    private static void scaleToUnit(Map<String, Double> weights) {
+        double max = weights.values().stream().mapToDouble(Double::doubleValue).max().orElse(0);
+        if (max > 0) weights.replaceAll((k, v) -> v / max);
+    }
+
+    private static List<String> split(String csv) {
+        if (csv == null || csv.isBlank()) return List.of();
+        return Arrays.stream(csv.split(","))
+                .map(RecommendationEngine::normalize)
+                .filter(s -> !s.isEmpty())
+                .distinct()
+                .collect(Collectors.toList());
+    }
+
+    private static String normalize(String value) {
+        return value == null ? null : value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static Object[] first(List<Object[]> rows) {
+        return rows.isEmpty() ? null : rows.get(0);
+    }
+
+    private record Features(String[] genres, String language) {}
+
+    /** Candidates (now-showing movies) as parallel arrays, plus features of every movie for history lookups */
+    private record Model(long[] movieIds, String[][] formats, double[] prior, Map<Long, Features> features) {
+        static final Model EMPTY = new Model(new long[0], new String[0][], new double[0], Map.of());
+    }
+
+    private record Snapshot(Model model, Map<Long, long[]> byUser, long[] fallback, LocalDateTime builtAt) {
+        static final Snapshot EMPTY = new Snapshot(Model.EMPTY, new ConcurrentHashMap<>(), new long[0], null);
+    }
+}
@@ -0,0 +1,221 @@
+package com.moviebooking.service;
+
+import com.moviebooking.entity.DailyRevenueRollup;
+import com.moviebooking.entity.enums.BookingStatus;
+import com.moviebooking.entity.enums.PaymentMethod;
+import com.moviebooking.event.BookingLifecycleEvent;
+import com.moviebooking.exception.BadRequestException;
+import com.moviebooking.repository.BookingRepository;
+import com.moviebooking.repository.DailyRevenueRollupRepository;
+import com.moviebooking.repository.PaymentRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Maintains daily_revenue_rollup and answers date-range revenue reports from it.
+ *
+ * Confirming a booking adds its amount, seats and a count of one to the row for its booking date,
+ * theater, movie and payment method; cancelling a confirmed booking subtracts them again. Both run
+ * from the BookingLifecycleEvent just before the booking transaction commits, so the rollup commits
+ * or rolls back with the booking. A range
+ * report is then one GROUP BY over at most (days x theaters x movies x methods) small rows instead
+ * of a scan of the bookings table.
+ *
+ * backfill rebuilds a date range from bookings in chunks on a small worker pool. A booking confirmed
+ * in a chunk's range while that chunk is being rebuilt can be counted twice or not at all; rerunning
+ * the backfill for that range repairs it.
+ */
+@Service
+public class RevenueRollupService {
+
+    private static final Logger log = LoggerFactory.getLogger(RevenueRollupService.class);
+
+    public enum GroupBy { DAY, THEATER, MOVIE, PAYMENT_METHOD }
+
+    private final DailyRevenueRollupRepository rollupRepository;
+    private final BookingRepository bookingRepository;
+    private final PaymentRepository paymentRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private final int chunkDays;
+    private final int threads;
+
+    private ExecutorService backfillPool;
+
+    public RevenueRollupService(DailyRevenueRollupRepository rollupRepository, BookingRepository bookingRepository,
+                                PaymentRepository paymentRepository, PlatformTransactionManager transactionManager,
+                                @Value("${rollup.backfill.chunk-days:31}") int chunkDays,
+                                @Value("${rollup.backfill.threads:4}") int threads) {
+        this.rollupRepository = rollupRepository;
+        this.bookingRepository = bookingRepository;
+        this.paymentRepository = paymentRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkDays = Math.max(1, chunkDays);
+        this.threads = Math.max(1, threads);
+    }
+
+    @PostConstruct
+    public void init() {
+        AtomicInteger threadIndex = new AtomicInteger();
+        backfillPool = Executors.newFixedThreadPool(threads, r -> {
+            Thread t = new Thread(r, "rollup-backfill-" + threadIndex.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        backfillPool.shutdown();
+    }
+
+    /**
+     * Apply a confirmed booking to the rollup or take a cancelled one out. Runs before the status
+     * change commits, so a failure here rolls the booking change back too.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onBookingEvent(BookingLifecycleEvent event) {
+        if (event.getStatus() == BookingStatus.CONFIRMED && event.getPreviousStatus() != BookingStatus.CONFIRMED) {
+            record(event, 1);
+        } else if (event.getStatus() == BookingStatus.CANCELLED && event.getPreviousStatus() == BookingStatus.CONFIRMED) {
+            record(event, -1);
+        }
+    }
+
+    private void record(BookingLifecycleEvent event, int sign) {
+        List<PaymentMethod> methods = paymentRepository.findSettledMethodsForBooking(event.getBookingId());
+        if (methods.isEmpty()) {
+            log.warn("No settled payment for booking {}, rollup not updated", event.getBookingId());
+            return;
+        }
+        // One MERGE in the booking transaction: no second connection, and a first booking for a
+        // key creates its row and counts itself together
+        rollupRepository.upsertIncrement(event.getBookingDate(), event.getTheaterId(), event.getMovieId(),
+                methods.get(0).name(), event.getTotalAmount().multiply(BigDecimal.valueOf(sign)),
+                sign, (long) sign * event.getNumSeats());
+    }
+
+    /**
+     * Rebuild the rollup for [from, to] from confirmed bookings. from defaults to the first confirmed
+     * booking, to defaults to today.
+     */
+    public Map<String, Object> backfill(LocalDate from, LocalDate to) {
+        if (to == null) to = LocalDate.now();
+        if (from == null) {
+            LocalDateTime first = bookingRepository.findFirstConfirmedBookingDatetime();
+            from = first != null ? first.toLocalDate() : to;
+        }
+        if (from.isAfter(to)) {
+            throw new BadRequestException("from must not be after to");
+        }
+
+        long start = System.currentTimeMillis();
+        List<Callable<Integer>> chunks = new ArrayList<>();
+        for (LocalDate chunkStart = from; !chunkStart.isAfter(to); chunkStart = chunkStart.plusDays(chunkDays)) {
+            LocalDate chunkFrom = chunkStart;
+            LocalDate chunkTo = chunkStart.plusDays(chunkDays - 1L).isAfter(to) ? to : chunkStart.plusDays(chunkDays - 1L);
+            chunks.add(() -> rebuildChunk(chunkFrom, chunkTo));
+        }
+
+        int rows = 0;
+        int failed = 0;
+        try {
+            for (Future<Integer> future : backfillPool.invokeAll(chunks)) {
+                try {
+                    rows += future.get();
+                } catch (ExecutionException e) {
+                    failed++;
+                    log.error("Rollup backfill chunk failed: {}", e.getCause().getMessage());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        long elapsed = System.currentTimeMillis() - start;
+        log.info("Rollup backfill {}..{}: {} chunks, {} rows, {} failed in {} ms",
+                from, to, chunks.size(), rows, failed, elapsed);
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("from", from);
+        result.put("to", to);
+        result.put("chunks", chunks.size());
+        result.put("failedChunks", failed);
+        result.put("rows", rows);
+        result.put("elapsedMs", elapsed);
+        return result;
+    }
+
+    private int rebuildChunk(LocalDate from, LocalDate to) {
+        Integer rows = transactionTemplate.execute(status -> {
+            rollupRepository.deleteRange(from, to);
+            List<DailyRevenueRollup> built = new ArrayList<>();
+            for (Object[] row : bookingRepository.aggregateRevenueRollup(from.atStartOfDay(), to.plusDays(1).atStartOfDay())) {
+                DailyRevenueRollup rollup = new DailyRevenueRollup((LocalDate) row[0], (Long) row[1], (Long) row[2],
+                        (PaymentMethod) row[3]);
+                rollup.setRevenue((BigDecimal) row[4]);
+                rollup.setBookings(((Number) row[5]).longValue());
+                rollup.setSeats(((Number) row[6]).longValue());
+                built.add(rollup);
+            }
+            rollupRepository.saveAll(built);
+            return built.size();
+        });
+        return rows != null ? rows : 0;
+    }
+
+    /**
+     * Revenue, bookings and seats over [from, to] grouped by the requested dimension, optionally
+     * restricted to one theater and/or movie. One query against the rollup table.
+     */
+    public List<Map<String, Object>> getRange(LocalDate from, LocalDate to, GroupBy groupBy, Long theaterId, Long movieId) {
+        if (from.isAfter(to)) {
+            throw new BadRequestException("from must not be after to");
+        }
+        String key;
+        List<Object[]> rows;
+        switch (groupBy) {
+            case THEATER -> {
+                key = "theaterId";
+                rows = rollupRepository.sumByTheater(from, to, theaterId, movieId);
+            }
+            case MOVIE -> {
+                key = "movieId";
+                rows = rollupRepository.sumByMovie(from, to, theaterId, movieId);
+            }
+            case PAYMENT_METHOD -> {
+                key = "paymentMethod";
+                rows = rollupRepository.sumByPaymentMethod(from, to, theaterId, movieId);
+            }
+            default -> {
+                key = "date";
+                rows = rollupRepository.sumByDay(from, to, theaterId, movieId);
+            }
+        }
+
+        List<Map<String, Object>> result = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put(key, row[0]);
+            entry.put("revenue", row[1]);
+            entry.put("bookings", ((Number) row[2]).longValue());
+            entry.put("seats", ((Number) row[3]).longValue());
+            result.add(entry);
+        }
+        return result;
+    }
+}
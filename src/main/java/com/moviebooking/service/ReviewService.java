@@ -1,15 +1,19 @@
 package com.moviebooking.service;
 
+import com.moviebooking.dto.CursorPage;
 import com.moviebooking.dto.ReviewDto;
 import com.moviebooking.entity.Movie;
 import com.moviebooking.entity.Review;
 import com.moviebooking.entity.User;
+import com.moviebooking.event.CatalogChangedEvent;
 import com.moviebooking.exception.BadRequestException;
 import com.moviebooking.exception.ResourceNotFoundException;
 import com.moviebooking.repository.MovieRepository;
 import com.moviebooking.repository.ReviewRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -23,10 +27,15 @@ public class ReviewService {
 
     private final ReviewRepository reviewRepository;
     private final MovieRepository movieRepository;
+    private final MovieRatingAggregator ratingAggregator;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public ReviewService(ReviewRepository reviewRepository, MovieRepository movieRepository) {
+    public ReviewService(ReviewRepository reviewRepository, MovieRepository movieRepository,
+                         MovieRatingAggregator ratingAggregator, ApplicationEventPublisher eventPublisher) {
         this.reviewRepository = reviewRepository;
         this.movieRepository = movieRepository;
+        this.ratingAggregator = ratingAggregator;
+        this.eventPublisher = eventPublisher;
     }
 
     public List<ReviewDto> getReviewsForMovie(Long movieId) {
@@ -35,8 +44,19 @@ public class ReviewService {
                 .collect(Collectors.toList());
     }
 
+    public CursorPage<ReviewDto> getReviewsForMoviePage(Long movieId, String cursor, int size) {
+        CursorPage.validateSize(size);
+        CursorPage.Cursor after = CursorPage.Cursor.decode(cursor);
+        List<Review> reviews = reviewRepository.findPageByMovie(movieId,
+                after != null ? after.dateTimeKey() : CursorPage.FIRST_DATETIME_DESC,
+                after != null ? after.id() : Long.MAX_VALUE,
+                PageRequest.of(0, size + 1));
+        return CursorPage.of(reviews, size, rv -> CursorPage.Cursor.of(rv.getCreatedAt(), rv.getId()))
+                .map(ReviewDto::fromEntity);
+    }
+
     public Double getAverageRating(Long movieId) {
-        return reviewRepository.getAverageRatingForMovie(movieId);
+        return ratingAggregator.getStats(movieId).average();
     }
 
     @Transactional
@@ -58,6 +78,8 @@ public class ReviewService {
         review.setRating(rating);
         review.setReviewText(reviewText);
         review = reviewRepository.save(review);
+        ratingAggregator.recordChange(movieId, rating, 1);
+        publishReviewChanged(movieId);
 
         log.info("User {} reviewed movie '{}' with rating {}", user.getEmail(), movie.getTitle(), rating);
         return ReviewDto.fromEntity(review);
@@ -68,9 +90,14 @@ public class ReviewService {
         Review review = reviewRepository.findByMovieIdAndUserId(movieId, user.getId())
                 .orElseThrow(() -> new ResourceNotFoundException("Review", "movieId+userId", movieId));
 
+        int previousRating = review.getRating();
         review.setRating(rating);
         review.setReviewText(reviewText);
         review = reviewRepository.save(review);
+        if (rating != previousRating) {
+            ratingAggregator.recordChange(movieId, rating - previousRating, 0);
+        }
+        publishReviewChanged(movieId);
 
         return ReviewDto.fromEntity(review);
     }
@@ -80,5 +107,11 @@ public class ReviewService {
         Review review = reviewRepository.findByMovieIdAndUserId(movieId, user.getId())
                 .orElseThrow(() -> new ResourceNotFoundException("Review", "movieId+userId", movieId));
         reviewRepository.delete(review);
+        ratingAggregator.recordChange(movieId, -review.getRating(), -1);
+        publishReviewChanged(movieId);
+    }
+
+    private void publishReviewChanged(Long movieId) {
+        eventPublisher.publishEvent(new CatalogChangedEvent(movieId, CatalogChangedEvent.ChangeType.REVIEW_CHANGED));
     }
 }
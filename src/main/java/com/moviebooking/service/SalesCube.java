@@ -0,0 +1,605 @@
+package com.moviebooking.service;
+
+import com.moviebooking.dto.CubeQueryRequest;
+import com.moviebooking.entity.enums.BookingStatus;
+import com.moviebooking.entity.enums.PaymentMethod;
+import com.moviebooking.entity.enums.ScreenType;
+import com.moviebooking.entity.enums.SeatType;
+import com.moviebooking.entity.enums.TheaterType;
+import com.moviebooking.event.BookingLifecycleEvent;
+import com.moviebooking.exception.BadRequestException;
+import com.moviebooking.repository.BookingSeatRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory columnar store of seat sales for ad-hoc admin slicing.
+ *
+ * One row per sold seat of a confirmed booking. Dimensions are dictionary-encoded into primitive
+ * columns (int for open-ended ones such as movie, theater and date, byte for enums and hour);
+ * the measure is the seat price in paise. Rows live in fixed-size segments so a query fans out
+ * over them with fork/join and each leaf aggregates into a dense array when the group space is
+ * small, a hash map otherwise.
+ *
+ * Confirm and cancel events append or tombstone a booking's rows after commit; a periodic full
+ * rebuild loads a fresh store off to the side and swaps it in. Both run on one refresh thread, so
+ * a booking loaded by a rebuild and then seen again in a queued event is skipped, not doubled.
+ */
+@Component
+public class SalesCube {
+
+    private static final Logger log = LoggerFactory.getLogger(SalesCube.class);
+    private static final int SEGMENT_ROWS = 1 << 16;
+    private static final int DENSE_GROUP_LIMIT = 1 << 12;
+    private static final int DEFAULT_LIMIT = 100;
+    private static final int MAX_LIMIT = 10_000;
+    private static final String NONE = "(none)";
+
+    public enum Dimension { MOVIE, THEATER, THEATER_TYPE, SCREEN_TYPE, SEAT_TYPE, PAYMENT_METHOD, DATE, WEEKDAY, HOUR }
+
+    private final BookingSeatRepository bookingSeatRepository;
+    private final int loadBatchSize;
+    private final ForkJoinPool queryPool;
+
+    private final ExecutorService refreshExecutor = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "sales-cube-refresh");
+        t.setDaemon(true);
+        return t;
+    });
+    private final AtomicBoolean rebuildQueued = new AtomicBoolean();
+    private volatile Store store = new Store();
+
+    public SalesCube(BookingSeatRepository bookingSeatRepository,
+                     @Value("${analytics.cube.load-batch-size:50000}") int loadBatchSize,
+                     @Value("${analytics.cube.parallelism:0}") int parallelism) {
+        this.bookingSeatRepository = bookingSeatRepository;
+        this.loadBatchSize = Math.max(1, loadBatchSize);
+        this.queryPool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady() {
+        requestRebuild();
+    }
+
+    @Scheduled(fixedDelayString = "${analytics.cube.rebuild-interval-ms:21600000}",
+               initialDelayString = "${analytics.cube.rebuild-interval-ms:21600000}")
+    public void refresh() {
+        requestRebuild();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refreshExecutor.shutdownNow();
+        queryPool.shutdownNow();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookingEvent(BookingLifecycleEvent event) {
+        boolean wasConfirmed = event.getPreviousStatus() == BookingStatus.CONFIRMED;
+        boolean isConfirmed = event.getStatus() == BookingStatus.CONFIRMED;
+        Long bookingId = event.getBookingId();
+        if (isConfirmed && !wasConfirmed) {
+            refreshExecutor.execute(() -> append(bookingId));
+        } else if (wasConfirmed && !isConfirmed) {
+            refreshExecutor.execute(() -> remove(bookingId));
+        }
+    }
+
+    /** Queue a full rebuild unless one is already waiting */
+    public void requestRebuild() {
+        if (rebuildQueued.compareAndSet(false, true)) {
+            refreshExecutor.execute(() -> {
+                rebuildQueued.set(false);
+                try {
+                    long start = System.currentTimeMillis();
+                    Store built = load();
+                    store = built;
+                    log.info("Sales cube rebuilt: {} rows in {} segments in {} ms",
+                            built.rows, built.segments.size(), System.currentTimeMillis() - start);
+                } catch (RuntimeException e) {
+                    log.error("Sales cube rebuild failed, keeping previous store: {}", e.getMessage());
+                }
+            });
+        }
+    }
+
+    private Store load() {
+        Store built = new Store();
+        long afterId = 0L;
+        while (true) {
+            List<Object[]> page = bookingSeatRepository.findSalesFactsAfter(afterId, PageRequest.of(0, loadBatchSize));
+            for (Object[] row : page) {
+                built.add(row);
+            }
+            if (page.size() < loadBatchSize) break;
+            afterId = (Long) page.get(page.size() - 1)[0];
+        }
+        built.builtAt = LocalDateTime.now();
+        return built;
+    }
+
+    private void append(Long bookingId) {
+        try {
+            List<Object[]> facts = bookingSeatRepository.findSalesFactsForBooking(bookingId);
+            Store current = store;
+            current.lock.writeLock().lock();
+            try {
+                if (current.containsBooking(bookingId)) return;
+                for (Object[] row : facts) {
+                    current.add(row);
+                }
+            } finally {
+                current.lock.writeLock().unlock();
+            }
+        } catch (RuntimeException e) {
+            log.warn("Sales cube append for booking {} failed: {}", bookingId, e.getMessage());
+        }
+    }
+
+    private void remove(Long bookingId) {
+        Store current = store;
+        current.lock.writeLock().lock();
+        try {
+            current.removeBooking(bookingId);
+        } finally {
+            current.lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Seats sold and ticket revenue (seat prices, before tax) grouped by any combination of
+     * dimensions, optionally filtered on any dimension and on a booking date range.
+     * Groups come back by revenue, highest first.
+     */
+    public Map<String, Object> query(CubeQueryRequest request) {
+        long start = System.nanoTime();
+        List<Dimension> groupBy = new ArrayList<>();
+        for (String name : request.getGroupBy()) {
+            Dimension dimension = parseDimension(name);
+            if (!groupBy.contains(dimension)) groupBy.add(dimension);
+        }
+        int limit = request.getLimit() == null ? DEFAULT_LIMIT : Math.max(1, Math.min(request.getLimit(), MAX_LIMIT));
+        if (request.getFrom() != null && request.getTo() != null && request.getFrom().isAfter(request.getTo())) {
+            throw new BadRequestException("from must not be after to");
+        }
+
+        Store current = store;
+        current.lock.readLock().lock();
+        try {
+            Plan plan = current.plan(groupBy, request);
+            List<Segment> segments = List.copyOf(current.segments);
+            Partial total = segments.isEmpty() ? plan.newPartial() : queryPool.invoke(new ScanTask(plan, segments, 0, segments.size()));
+
+            List<Map<String, Object>> rows = new ArrayList<>();
+            long matchedSeats = 0L;
+            long matchedPaise = 0L;
+            List<long[]> groups = total.groups();
+            groups.sort((a, b) -> Long.compare(b[2], a[2]));
+            for (long[] group : groups) {
+                matchedSeats += group[1];
+                matchedPaise += group[2];
+            }
+            for (long[] group : groups.subList(0, Math.min(limit, groups.size()))) {
+                int[] codes = new int[groupBy.size()];
+                long key = group[0];
+                for (int i = codes.length - 1; i >= 0; i--) {
+                    codes[i] = (int) (key % plan.cardinality()[i]);
+                    key /= plan.cardinality()[i];
+                }
+                Map<String, Object> row = new LinkedHashMap<>();
+                for (int i = 0; i < codes.length; i++) {
+                    row.put(groupBy.get(i).name(), current.label(groupBy.get(i), codes[i]));
+                }
+                row.put("seats", group[1]);
+                row.put("revenue", BigDecimal.valueOf(group[2], 2));
+                rows.add(row);
+            }
+
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("groupBy", groupBy);
+            result.put("rows", rows);
+            result.put("groups", groups.size());
+            result.put("seats", matchedSeats);
+            result.put("revenue", BigDecimal.valueOf(matchedPaise, 2));
+            result.put("scannedRows", current.rows);
+            result.put("elapsedMs", (System.nanoTime() - start) / 1_000_000.0);
+            result.put("builtAt", current.builtAt);
+            return result;
+        } finally {
+            current.lock.readLock().unlock();
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        Store current = store;
+        current.lock.readLock().lock();
+        try {
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("rows", current.rows);
+            stats.put("liveRows", current.rows - current.deletedRows);
+            stats.put("segments", current.segments.size());
+            Map<String, Integer> cardinalities = new LinkedHashMap<>();
+            for (Dimension dimension : Dimension.values()) {
+                cardinalities.put(dimension.name(), current.dictionary(dimension).size());
+            }
+            stats.put("dictionaries", cardinalities);
+            stats.put("approxBytes", (long) current.segments.size() * SEGMENT_ROWS * Segment.BYTES_PER_ROW);
+            stats.put("builtAt", current.builtAt);
+            stats.put("parallelism", queryPool.getParallelism());
+            return stats;
+        } finally {
+            current.lock.readLock().unlock();
+        }
+    }
+
+    private static Dimension parseDimension(String name) {
+        try {
+            return Dimension.valueOf(name.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Unknown dimension '" + name + "', expected one of " + Arrays.toString(Dimension.values()));
+        }
+    }
+
+    private static long toPaise(BigDecimal amount) {
+        return amount.movePointRight(2).longValue();
+    }
+
+    /** Value-to-code mapping; code order is insertion order. Labels are what queries show and match. */
+    private static final class Dictionary {
+        private final Map<Object, Integer> codes = new HashMap<>();
+        private final List<Object> keys = new ArrayList<>();
+        private final List<String> labels = new ArrayList<>();
+
+        static Dictionary of(Object[] values) {
+            Dictionary dictionary = new Dictionary();
+            for (Object value : values) dictionary.encode(value, value.toString());
+            return dictionary;
+        }
+
+        int encode(Object key, String label) {
+            Object k = key != null ? key : NONE;
+            Integer code = codes.get(k);
+            if (code == null) {
+                code = keys.size();
+                codes.put(k, code);
+                keys.add(k);
+                labels.add(label != null ? label : NONE);
+            }
+            return code;
+        }
+
+        /** Codes whose id or label matches the value, ignoring case */
+        void match(String value, boolean[] allowed) {
+            for (int code = 0; code < keys.size(); code++) {
+                if (keys.get(code).toString().equalsIgnoreCase(value) || labels.get(code).equalsIgnoreCase(value)) {
+                    allowed[code] = true;
+                }
+            }
+        }
+
+        Object key(int code) {
+            return keys.get(code);
+        }
+
+        String label(int code) {
+            return labels.get(code);
+        }
+
+        int size() {
+            return keys.size();
+        }
+    }
+
+    /** Fixed-capacity column chunk. Rows of one booking are appended together. */
+    private static final class Segment {
+        static final int BYTES_PER_ROW = 3 * Integer.BYTES + 5 + 2 * Long.BYTES + 1;
+
+        final int[] movie = new int[SEGMENT_ROWS];
+        final int[] theater = new int[SEGMENT_ROWS];
+        final int[] date = new int[SEGMENT_ROWS];
+        final byte[] theaterType = new byte[SEGMENT_ROWS];
+        final byte[] screenType = new byte[SEGMENT_ROWS];
+        final byte[] seatType = new byte[SEGMENT_ROWS];
+        final byte[] paymentMethod = new byte[SEGMENT_ROWS];
+        final byte[] hour = new byte[SEGMENT_ROWS];
+        final long[] paise = new long[SEGMENT_ROWS];
+        final long[] bookingId = new long[SEGMENT_ROWS];
+        final boolean[] deleted = new boolean[SEGMENT_ROWS];
+        int size;
+        long minBookingId = Long.MAX_VALUE;
+        long maxBookingId = Long.MIN_VALUE;
+
+        /** Column reader for a dimension; weekday is derived from the date code */
+        Column column(Dimension dimension, int[] weekdayByDate) {
+            return switch (dimension) {
+                case MOVIE -> row -> movie[row];
+                case THEATER -> row -> theater[row];
+                case DATE -> row -> date[row];
+                case WEEKDAY -> row -> weekdayByDate[date[row]];
+                case THEATER_TYPE -> row -> theaterType[row];
+                case SCREEN_TYPE -> row -> screenType[row];
+                case SEAT_TYPE -> row -> seatType[row];
+                case PAYMENT_METHOD -> row -> paymentMethod[row];
+                case HOUR -> row -> hour[row];
+            };
+        }
+    }
+
+    @FunctionalInterface
+    private interface Column {
+        int code(int row);
+    }
+
+    private static final class Store {
+        final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+        final List<Segment> segments = new ArrayList<>();
+        final Dictionary movies = new Dictionary();
+        final Dictionary theaters = new Dictionary();
+        final Dictionary dates = new Dictionary();
+        final Dictionary theaterTypes = Dictionary.of(TheaterType.values());
+        final Dictionary screenTypes = Dictionary.of(ScreenType.values());
+        final Dictionary seatTypes = Dictionary.of(SeatType.values());
+        final Dictionary paymentMethods = Dictionary.of(PaymentMethod.values());
+        final Dictionary weekdays = Dictionary.of(DayOfWeek.values());
+        final Dictionary hours = Dictionary.of(new Integer[]{0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15,
+                16, 17, 18, 19, 20, 21, 22, 23});
+        long rows;
+        long deletedRows;
+        LocalDateTime builtAt;
+
+        /** Append one sales fact row in the column order of BookingSeatRepository.SALES_FACTS */
+        void add(Object[] fact) {
+            Segment segment = segments.isEmpty() ? null : segments.get(segments.size() - 1);
+            if (segment == null || segment.size == SEGMENT_ROWS) {
+                segment = new Segment();
+                segments.add(segment);
+            }
+            int row = segment.size;
+            long booking = (Long) fact[1];
+            LocalDateTime bookedAt = (LocalDateTime) fact[10];
+            segment.bookingId[row] = booking;
+            segment.movie[row] = movies.encode(fact[2], (String) fact[3]);
+            segment.theater[row] = theaters.encode(fact[4], (String) fact[5]);
+            segment.theaterType[row] = (byte) theaterTypes.encode(fact[6], null);
+            segment.screenType[row] = (byte) screenTypes.encode(fact[7], null);
+            segment.seatType[row] = (byte) seatTypes.encode(fact[8], null);
+            segment.paymentMethod[row] = (byte) paymentMethods.encode(fact[9], null);
+            segment.date[row] = dates.encode(bookedAt.toLocalDate(), bookedAt.toLocalDate().toString());
+            segment.hour[row] = (byte) bookedAt.getHour();
+            segment.paise[row] = toPaise((BigDecimal) fact[11]);
+            segment.minBookingId = Math.min(segment.minBookingId, booking);
+            segment.maxBookingId = Math.max(segment.maxBookingId, booking);
+            segment.size++;
+            rows++;
+        }
+
+        /** Newest segments first: recent bookings are the ones confirmed twice or cancelled */
+        boolean containsBooking(long booking) {
+            for (int s = segments.size() - 1; s >= 0; s--) {
+                Segment segment = segments.get(s);
+                if (booking < segment.minBookingId || booking > segment.maxBookingId) continue;
+                for (int row = 0; row < segment.size; row++) {
+                    if (segment.bookingId[row] == booking && !segment.deleted[row]) return true;
+                }
+            }
+            return false;
+        }
+
+        void removeBooking(long booking) {
+            for (int s = segments.size() - 1; s >= 0; s--) {
+                Segment segment = segments.get(s);
+                if (booking < segment.minBookingId || booking > segment.maxBookingId) continue;
+                for (int row = 0; row < segment.size; row++) {
+                    if (segment.bookingId[row] == booking && !segment.deleted[row]) {
+                        segment.deleted[row] = true;
+                        deletedRows++;
+                    }
+                }
+            }
+        }
+
+        Dictionary dictionary(Dimension dimension) {
+            return switch (dimension) {
+                case MOVIE -> movies;
+                case THEATER -> theaters;
+                case DATE -> dates;
+                case WEEKDAY -> weekdays;
+                case THEATER_TYPE -> theaterTypes;
+                case SCREEN_TYPE -> screenTypes;
+                case SEAT_TYPE -> seatTypes;
+                case PAYMENT_METHOD -> paymentMethods;
+                case HOUR -> hours;
+            };
+        }
+
+        Object label(Dimension dimension, int code) {
+            Dictionary dictionary = dictionary(dimension);
+            return switch (dimension) {
+                case MOVIE, THEATER -> Map.of("id", dictionary.key(code), "name", dictionary.label(code));
+                case HOUR -> dictionary.key(code);
+                default -> dictionary.label(code);
+            };
+        }
+
+        Plan plan(List<Dimension> groupBy, CubeQueryRequest request) {
+            int[] weekdayByDate = new int[dates.size()];
+            for (int code = 0; code < weekdayByDate.length; code++) {
+                weekdayByDate[code] = ((LocalDate) dates.key(code)).getDayOfWeek().ordinal();
+            }
+
+            Map<Dimension, boolean[]> filters = new EnumMap<>(Dimension.class);
+            for (Map.Entry<String, List<String>> filter : request.getFilters().entrySet()) {
+                if (filter.getValue() == null || filter.getValue().isEmpty()) continue;
+                Dimension dimension = parseDimension(filter.getKey());
+                boolean[] allowed = new boolean[dictionary(dimension).size()];
+                for (String value : filter.getValue()) dictionary(dimension).match(value, allowed);
+                filters.merge(dimension, allowed, (a, b) -> {
+                    for (int i = 0; i < a.length; i++) a[i] &= b[i];
+                    return a;
+                });
+            }
+            if (request.getFrom() != null || request.getTo() != null) {
+                boolean[] allowed = new boolean[dates.size()];
+                for (int code = 0; code < allowed.length; code++) {
+                    LocalDate date = (LocalDate) dates.key(code);
+                    allowed[code] = (request.getFrom() == null || !date.isBefore(request.getFrom()))
+                            && (request.getTo() == null || !date.isAfter(request.getTo()));
+                }
+                filters.merge(Dimension.DATE, allowed, (a, b) -> {
+                    for (int i = 0; i < a.length; i++) a[i] &= b[i];
+                    return a;
+                });
+            }
+
+            long[] cardinality = new long[groupBy.size()];
+            long groupSpace = 1L;
+            for (int i = 0; i < groupBy.size(); i++) {
+                cardinality[i] = Math.max(1, dictionary(groupBy.get(i)).size());
+                try {
+                    groupSpace = Math.multiplyExact(groupSpace, cardinality[i]);
+                } catch (ArithmeticException e) {
+                    throw new BadRequestException("Too many group-by combinations");
+                }
+            }
+            return new Plan(groupBy, cardinality, groupSpace, filters, weekdayByDate);
+        }
+    }
+
+    /** Resolved query: group-key radix per dimension and per-code filter masks */
+    private record Plan(List<Dimension> groupBy, long[] cardinality, long groupSpace,
+                        Map<Dimension, boolean[]> filters, int[] weekdayByDate) {
+
+        Partial newPartial() {
+            return groupSpace <= DENSE_GROUP_LIMIT ? new Partial((int) groupSpace) : new Partial(-1);
+        }
+    }
+
+    /** Per-group seat count and paise, dense by key when the group space is small */
+    private static final class Partial {
+        final long[] seats;
+        final long[] paise;
+        final Map<Long, long[]> sparse;
+
+        Partial(int denseSize) {
+            this.seats = denseSize >= 0 ? new long[denseSize] : null;
+            this.paise = denseSize >= 0 ? new long[denseSize] : null;
+            this.sparse = denseSize >= 0 ? null : new HashMap<>();
+        }
+
+        void add(long key, long seatCount, long amount) {
+            if (seats != null) {
+                seats[(int) key] += seatCount;
+                paise[(int) key] += amount;
+            } else {
+                long[] totals = sparse.computeIfAbsent(key, k -> new long[2]);
+                totals[0] += seatCount;
+                totals[1] += amount;
+            }
+        }
+
+        Partial merge(Partial other) {
+            if (seats != null) {
+                for (int i = 0; i < seats.length; i++) {
+                    seats[i] += other.seats[i];
+                    paise[i] += other.paise[i];
+                }
+            } else {
+                other.sparse.forEach((key, totals) -> add(key, totals[0], totals[1]));
+            }
+            return this;
+        }
+
+        /** Non-empty groups as {key, seats, paise} */
+        List<long[]> groups() {
+            List<long[]> groups = new ArrayList<>();
+            if (seats != null) {
+                for (int key = 0; key < seats.length; key++) {
+                    if (seats[key] != 0) groups.add(new long[]{key, seats[key], paise[key]});
+                }
+            } else {
+                sparse.forEach((key, totals) -> groups.add(new long[]{key, totals[0], totals[1]}));
+            }
+            return groups;
+        }
+    }
+
+    /** Splits the segment list in halves down to single segments and merges the partials */
+    private static final class ScanTask extends RecursiveTask<Partial> {
+        private final Plan plan;
+        private final List<Segment> segments;
+        private final int from;
+        private final int to;
+
+        ScanTask(Plan plan, List<Segment> segments, int from, int to) {
+            this.plan = plan;
+            this.segments = segments;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Partial compute() {
+            if (to - from == 1) {
+                return scan(segments.get(from));
+            }
+            int mid = (from + to) >>> 1;
+            ScanTask left = new ScanTask(plan, segments, from, mid);
+            left.fork();
+            Partial right = new ScanTask(plan, segments, mid, to).compute();
+            return left.join().merge(right);
+        }
+
+        private Partial scan(Segment segment) {
+            Partial partial = plan.newPartial();
+            int dims = plan.groupBy().size();
+            Column[] keyColumns = new Column[dims];
+            for (int i = 0; i < dims; i++) keyColumns[i] = segment.column(plan.groupBy().get(i), plan.weekdayByDate());
+            int filterCount = plan.filters().size();
+            Column[] filterColumns = new Column[filterCount];
+            boolean[][] masks = new boolean[filterCount][];
+            int f = 0;
+            for (Map.Entry<Dimension, boolean[]> filter : plan.filters().entrySet()) {
+                filterColumns[f] = segment.column(filter.getKey(), plan.weekdayByDate());
+                masks[f++] = filter.getValue();
+            }
+            long[] cardinality = plan.cardinality();
+
+            int size = segment.size;
+            rows:
+            for (int row = 0; row < size; row++) {
+                if (segment.deleted[row]) continue;
+                for (int i = 0; i < filterCount; i++) {
+                    int code = filterColumns[i].code(row);
+                    if (code >= masks[i].length || !masks[i][code]) continue rows;
+                }
+                long key = 0L;
+                for (int i = 0; i < dims; i++) {
+                    key = key * cardinality[i] + keyColumns[i].code(row);
+                }
+                partial.add(key, 1L, segment.paise[row]);
+            }
+            return partial;
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.moviebooking.service;
+
+import com.moviebooking.entity.enums.SeatType;
+
+import java.math.BigDecimal;
+import java.util.*;
+
+/**
+ * Immutable seat layout of one screen, stored column-wise: index i across the arrays describes
+ * one seat. Layouts are shared by every showtime on the screen, and repeated values (row letters,
+ * base prices) are shared within a layout.
+ */
+public final class ScreenLayout {
+
+    private final Long screenId;
+    private final long[] seatIds;
+    private final String[] rowLetters;
+    private final int[] seatNumbers;
+    private final String[] labels;
+    private final SeatType[] seatTypes;
+    private final BigDecimal[] basePrices;
+    private final BitSet unavailable;
+    private final BitSet aisle;
+    private final BitSet wheelchair;
+    private final Map<Long, Integer> positions;
+    private final Map<SeatType, PriceBand> priceBands;
+
+    private ScreenLayout(Builder b) {
+        int n = b.seatIds.size();
+        this.screenId = b.screenId;
+        this.seatIds = new long[n];
+        this.seatNumbers = new int[n];
+        this.positions = new HashMap<>(n * 2);
+        for (int i = 0; i < n; i++) {
+            seatIds[i] = b.seatIds.get(i);
+            seatNumbers[i] = b.seatNumbers.get(i);
+            positions.put(seatIds[i], i);
+        }
+        this.rowLetters = b.rowLetters.toArray(new String[0]);
+        this.labels = b.labels.toArray(new String[0]);
+        this.seatTypes = b.seatTypes.toArray(new SeatType[0]);
+        this.basePrices = b.basePrices.toArray(new BigDecimal[0]);
+        this.unavailable = (BitSet) b.unavailable.clone();
+        this.aisle = (BitSet) b.aisle.clone();
+        this.wheelchair = (BitSet) b.wheelchair.clone();
+
+        Map<SeatType, PriceBand> bands = new EnumMap<>(SeatType.class);
+        for (int i = 0; i < n; i++) {
+            BigDecimal base = basePrices[i];
+            bands.merge(seatTypes[i], new PriceBand(base, base, 1), (a, c) -> new PriceBand(
+                    a.minBase().min(base), a.maxBase().max(base), a.seats() + 1));
+        }
+        this.priceBands = Collections.unmodifiableMap(bands);
+    }
+
+    public Long getScreenId() {
+        return screenId;
+    }
+
+    public int size() {
+        return seatIds.length;
+    }
+
+    /** @return position of the seat in this layout, or -1 if it is not on this screen */
+    public int indexOf(Long seatId) {
+        Integer index = positions.get(seatId);
+        return index != null ? index : -1;
+    }
+
+    public boolean contains(Long seatId) {
+        return positions.containsKey(seatId);
+    }
+
+    public long seatId(int i) {
+        return seatIds[i];
+    }
+
+    public String rowLetter(int i) {
+        return rowLetters[i];
+    }
+
+    public int seatNumber(int i) {
+        return seatNumbers[i];
+    }
+
+    public String label(int i) {
+        return labels[i];
+    }
+
+    public SeatType seatType(int i) {
+        return seatTypes[i];
+    }
+
+    public BigDecimal basePrice(int i) {
+        return basePrices[i];
+    }
+
+    public boolean isAvailable(int i) {
+        return !unavailable.get(i);
+    }
+
+    public boolean isAisle(int i) {
+        return aisle.get(i);
+    }
+
+    public boolean isWheelchair(int i) {
+        return wheelchair.get(i);
+    }
+
+    /** Lowest and highest base price per seat type, in seat type order */
+    public Map<SeatType, PriceBand> priceBands() {
+        return priceBands;
+    }
+
+    public record PriceBand(BigDecimal minBase, BigDecimal maxBase, int seats) {}
+
+    static final class Builder {
+        private final Long screenId;
+        private final List<Long> seatIds = new ArrayList<>();
+        private final List<String> rowLetters = new ArrayList<>();
+        private final List<Integer> seatNumbers = new ArrayList<>();
+        private final List<String> labels = new ArrayList<>();
+        private final List<SeatType> seatTypes = new ArrayList<>();
+        private final List<BigDecimal> basePrices = new ArrayList<>();
+        private final BitSet unavailable = new BitSet();
+        private final BitSet aisle = new BitSet();
+        private final BitSet wheelchair = new BitSet();
+        private final Map<Object, Object> shared = new HashMap<>();
+
+        Builder(Long screenId) {
+            this.screenId = screenId;
+        }
+
+        Builder add(Long seatId, String rowLetter, Integer seatNumber, String label, SeatType seatType,
+                    BigDecimal basePrice, Boolean isAvailable, Boolean isAisle, Boolean isWheelchair) {
+            int i = seatIds.size();
+            seatIds.add(seatId);
+            rowLetters.add(share(rowLetter));
+            seatNumbers.add(seatNumber);
+            labels.add(label);
+            seatTypes.add(seatType);
+            basePrices.add(share(basePrice));
+            // Null flags keep the entity defaults: available, not aisle, not wheelchair
+            if (Boolean.FALSE.equals(isAvailable)) unavailable.set(i);
+            if (Boolean.TRUE.equals(isAisle)) aisle.set(i);
+            if (Boolean.TRUE.equals(isWheelchair)) wheelchair.set(i);
+            return this;
+        }
+
+        @SuppressWarnings("unchecked")
+        private <T> T share(T value) {
+            return value == null ? null : (T) shared.computeIfAbsent(value, v -> v);
+        }
+
+        ScreenLayout build() {
+            return new ScreenLayout(this);
+        }
+    }
+}
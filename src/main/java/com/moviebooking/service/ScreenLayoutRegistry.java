@@ -0,0 +1,100 @@
+package com.moviebooking.service;
+
+import com.moviebooking.entity.enums.SeatType;
+import com.moviebooking.repository.SeatRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-screen seat layouts, read once from a scalar projection and reused by every seat map,
+ * lock and booking on that screen. Seats only change through TheaterService, which invalidates
+ * the affected screens after its transaction commits.
+ *
+ * Misses are loaded outside the map and published with putIfAbsent, so a slow query never holds
+ * up other screens. A load that overlapped an invalidation is dropped again after publishing, and
+ * empty layouts (unknown screens, or screens whose seats are not created yet) are never cached.
+ */
+@Component
+public class ScreenLayoutRegistry {
+
+    private static final Logger log = LoggerFactory.getLogger(ScreenLayoutRegistry.class);
+
+    private final SeatRepository seatRepository;
+    private final Map<Long, ScreenLayout> layouts = new ConcurrentHashMap<>();
+    /** Bumped before every invalidation, so a load can tell whether it may have read stale seats */
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public ScreenLayoutRegistry(SeatRepository seatRepository) {
+        this.seatRepository = seatRepository;
+    }
+
+    public ScreenLayout get(Long screenId) {
+        ScreenLayout cached = layouts.get(screenId);
+        if (cached != null) return cached;
+
+        long generation = invalidations.get();
+        ScreenLayout.Builder builder = new ScreenLayout.Builder(screenId);
+        seatRepository.findLayoutRows(screenId).forEach(row -> addRow(builder, row, 0));
+        ScreenLayout loaded = builder.build();
+        if (loaded.size() == 0) return loaded;
+
+        ScreenLayout existing = layouts.putIfAbsent(screenId, loaded);
+        if (existing != null) return existing;
+        if (invalidations.get() != generation) {
+            layouts.remove(screenId, loaded);
+        }
+        return loaded;
+    }
+
+    /** Load every screen's layout with a single query */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        Map<Long, ScreenLayout.Builder> builders = new LinkedHashMap<>();
+        for (Object[] row : seatRepository.findAllLayoutRows()) {
+            Long screenId = (Long) row[0];
+            addRow(builders.computeIfAbsent(screenId, ScreenLayout.Builder::new), row, 1);
+        }
+        long generation = invalidations.get();
+        builders.forEach((screenId, builder) -> layouts.putIfAbsent(screenId, builder.build()));
+        if (invalidations.get() != generation) {
+            layouts.clear();
+        }
+        log.info("Screen layouts loaded for {} screens", layouts.size());
+    }
+
+    /** Drop cached layouts once the current transaction commits (immediately when there is none) */
+    public void invalidateAfterCommit(Collection<Long> screenIds) {
+        List<Long> ids = List.copyOf(screenIds);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidate(ids);
+                }
+            });
+        } else {
+            invalidate(ids);
+        }
+    }
+
+    private void invalidate(List<Long> screenIds) {
+        invalidations.incrementAndGet();
+        screenIds.forEach(layouts::remove);
+    }
+
+    private void addRow(ScreenLayout.Builder builder, Object[] row, int offset) {
+        builder.add((Long) row[offset], (String) row[offset + 1], (Integer) row[offset + 2], (String) row[offset + 3],
+                (SeatType) row[offset + 4], (BigDecimal) row[offset + 5], (Boolean) row[offset + 6],
+                (Boolean) row[offset + 7], (Boolean) row[offset + 8]);
+    }
+}
@@ -0,0 +1,296 @@
+package com.moviebooking.service;
+
+import com.moviebooking.entity.enums.BookingStatus;
+import com.moviebooking.entity.enums.SeatType;
+import com.moviebooking.event.BookingLifecycleEvent;
+import com.moviebooking.exception.ResourceNotFoundException;
+import com.moviebooking.repository.BookingRepository;
+import com.moviebooking.repository.BookingSeatRepository;
+import com.moviebooking.repository.ShowtimeRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Per-seat sell-through for each screen: how often a seat has been sold and how long after the
+ * showtime went on sale (its creation) the sale was confirmed, on average.
+ *
+ * Counters are in memory, rebuilt by a backfill over booking_seats at startup and on demand, and
+ * bumped by each confirmation in between. Cancelling a confirmed booking subtracts its seats again,
+ * using the seat ids carried on the event because the booking seats are deleted with the
+ * cancellation. Updates and backfill are applied on one thread, so a backfill replaces the
+ * counters wholesale; a change that commits while a backfill is scanning may be counted twice or
+ * not at all until the next one, and counters never go below zero.
+ */
+@Service
+public class SeatHeatmapService {
+
+    private static final Logger log = LoggerFactory.getLogger(SeatHeatmapService.class);
+
+    private final BookingSeatRepository bookingSeatRepository;
+    private final BookingRepository bookingRepository;
+    private final ShowtimeRepository showtimeRepository;
+    private final ScreenLayoutRegistry layoutRegistry;
+    private final int partitionSize;
+    private final int threads;
+
+    private final ExecutorService updateExecutor = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "seat-heatmap");
+        t.setDaemon(true);
+        return t;
+    });
+    private ExecutorService backfillPool;
+    private volatile Map<Long, ScreenHeat> screens = new ConcurrentHashMap<>();
+    private volatile LocalDateTime backfilledAt;
+
+    public SeatHeatmapService(BookingSeatRepository bookingSeatRepository, BookingRepository bookingRepository,
+                              ShowtimeRepository showtimeRepository, ScreenLayoutRegistry layoutRegistry,
+                              @Value("${heatmap.backfill.partition-size:50000}") int partitionSize,
+                              @Value("${heatmap.backfill.threads:4}") int threads) {
+        this.bookingSeatRepository = bookingSeatRepository;
+        this.bookingRepository = bookingRepository;
+        this.showtimeRepository = showtimeRepository;
+        this.layoutRegistry = layoutRegistry;
+        this.partitionSize = Math.max(1, partitionSize);
+        this.threads = Math.max(1, threads);
+    }
+
+    @PostConstruct
+    public void init() {
+        AtomicInteger threadIndex = new AtomicInteger();
+        backfillPool = Executors.newFixedThreadPool(threads, r -> {
+            Thread t = new Thread(r, "heatmap-backfill-" + threadIndex.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        updateExecutor.shutdownNow();
+        backfillPool.shutdown();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady() {
+        updateExecutor.execute(this::runBackfill);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookingEvent(BookingLifecycleEvent event) {
+        boolean confirmed = event.getStatus() == BookingStatus.CONFIRMED && event.getPreviousStatus() != BookingStatus.CONFIRMED;
+        boolean released = event.getPreviousStatus() == BookingStatus.CONFIRMED && event.getStatus() != BookingStatus.CONFIRMED
+                && !event.getReleasedSeatIds().isEmpty();
+        if (!confirmed && !released) return;
+        Long bookingId = event.getBookingId();
+        updateExecutor.execute(() -> {
+            try {
+                Map<Long, ScreenHeat> current = screens;
+                if (confirmed) {
+                    for (Object[] row : bookingSeatRepository.findHeatFactsForBooking(bookingId)) {
+                        record(current, row);
+                    }
+                } else {
+                    for (Object[] row : bookingRepository.findHeatFacts(bookingId)) {
+                        ScreenHeat heat = current.get((Long) row[0]);
+                        if (heat == null) continue;
+                        long minutes = minutesToSell((LocalDateTime) row[1], (LocalDateTime) row[2]);
+                        for (Long seatId : event.getReleasedSeatIds()) heat.remove(seatId, minutes);
+                    }
+                }
+            } catch (RuntimeException e) {
+                log.warn("Seat heatmap update for booking {} failed: {}", bookingId, e.getMessage());
+            }
+        });
+    }
+
+    /** Rebuild every screen's counters from booking_seats; waits for the rebuild to finish */
+    public Map<String, Object> backfill() {
+        try {
+            return updateExecutor.submit(this::runBackfill).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for heatmap backfill");
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Heatmap backfill failed: " + e.getCause().getMessage(), e.getCause());
+        }
+    }
+
+    private Map<String, Object> runBackfill() {
+        long start = System.currentTimeMillis();
+        Map<Long, ScreenHeat> rebuilt = new ConcurrentHashMap<>();
+        List<Callable<Integer>> partitions = new ArrayList<>();
+        List<Object[]> bounds = bookingSeatRepository.findIdBounds();
+        if (!bounds.isEmpty() && bounds.get(0)[0] != null) {
+            long minId = (Long) bounds.get(0)[0];
+            long maxId = (Long) bounds.get(0)[1];
+            for (long from = minId; from <= maxId; from += partitionSize) {
+                long fromId = from;
+                long toId = Math.min(from + partitionSize, maxId + 1);
+                partitions.add(() -> {
+                    List<Object[]> rows = bookingSeatRepository.findHeatFactsInIdRange(fromId, toId);
+                    for (Object[] row : rows) record(rebuilt, row);
+                    return rows.size();
+                });
+            }
+        }
+
+        int seats = 0;
+        int failed = 0;
+        try {
+            for (Future<Integer> future : backfillPool.invokeAll(partitions)) {
+                try {
+                    seats += future.get();
+                } catch (ExecutionException e) {
+                    failed++;
+                    log.error("Heatmap backfill partition failed: {}", e.getCause().getMessage());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (failed == 0) {
+            screens = rebuilt;
+            backfilledAt = LocalDateTime.now();
+        }
+
+        long elapsed = System.currentTimeMillis() - start;
+        log.info("Seat heatmap backfill: {} partitions, {} seat sales, {} screens, {} failed in {} ms",
+                partitions.size(), seats, rebuilt.size(), failed, elapsed);
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("partitions", partitions.size());
+        result.put("failedPartitions", failed);
+        result.put("seatSales", seats);
+        result.put("screens", rebuilt.size());
+        result.put("applied", failed == 0);
+        result.put("elapsedMs", elapsed);
+        return result;
+    }
+
+    private void record(Map<Long, ScreenHeat> target, Object[] row) {
+        long minutes = minutesToSell((LocalDateTime) row[2], (LocalDateTime) row[3]);
+        target.computeIfAbsent((Long) row[0], id -> new ScreenHeat()).record((Long) row[1], minutes);
+    }
+
+    /** Minutes from on-sale to confirmation, or -1 when either is unknown */
+    private static long minutesToSell(LocalDateTime onSale, LocalDateTime confirmed) {
+        return onSale != null && confirmed != null ? Math.max(0, Duration.between(onSale, confirmed).toMinutes()) : -1;
+    }
+
+    /**
+     * Seats of the screen in layout order with their sale count, sell rate across the screen's
+     * showtimes, relative heat (1.0 = most sold seat) and average minutes from on-sale to sale,
+     * plus per seat type averages.
+     */
+    public Map<String, Object> getHeatmap(Long screenId) {
+        ScreenLayout layout = layoutRegistry.get(screenId);
+        if (layout.size() == 0) {
+            throw new ResourceNotFoundException("Screen", "id", screenId);
+        }
+        long showtimes = showtimeRepository.countByScreenId(screenId);
+        ScreenHeat heat = screens.get(screenId);
+
+        long[] sold = new long[layout.size()];
+        long[] avgMinutes = new long[layout.size()];
+        long maxSold = 0;
+        long totalSold = 0;
+        for (int i = 0; i < layout.size(); i++) {
+            long[] counters = heat != null ? heat.get(layout.seatId(i)) : null;
+            sold[i] = counters != null ? counters[0] : 0;
+            avgMinutes[i] = counters != null && counters[1] > 0 ? counters[2] / counters[1] : -1;
+            maxSold = Math.max(maxSold, sold[i]);
+            totalSold += sold[i];
+        }
+
+        Map<String, List<Map<String, Object>>> rows = new LinkedHashMap<>();
+        Map<SeatType, long[]> byType = new EnumMap<>(SeatType.class);
+        for (int i = 0; i < layout.size(); i++) {
+            Map<String, Object> seat = new LinkedHashMap<>();
+            seat.put("seatId", layout.seatId(i));
+            seat.put("label", layout.label(i));
+            seat.put("seatNumber", layout.seatNumber(i));
+            seat.put("seatType", layout.seatType(i));
+            seat.put("sold", sold[i]);
+            seat.put("sellRate", showtimes > 0 ? (double) sold[i] / showtimes : 0.0);
+            seat.put("heat", maxSold > 0 ? (double) sold[i] / maxSold : 0.0);
+            seat.put("avgMinutesToSell", avgMinutes[i] >= 0 ? avgMinutes[i] : null);
+            rows.computeIfAbsent(layout.rowLetter(i), r -> new ArrayList<>()).add(seat);
+
+            long[] typeTotals = byType.computeIfAbsent(layout.seatType(i), t -> new long[2]);
+            typeTotals[0]++;
+            typeTotals[1] += sold[i];
+        }
+
+        Map<String, Object> seatTypes = new LinkedHashMap<>();
+        byType.forEach((type, totals) -> {
+            Map<String, Object> summary = new LinkedHashMap<>();
+            summary.put("seats", totals[0]);
+            summary.put("sold", totals[1]);
+            summary.put("sellRate", showtimes > 0 ? (double) totals[1] / (totals[0] * showtimes) : 0.0);
+            seatTypes.put(type.name(), summary);
+        });
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("screenId", screenId);
+        result.put("showtimes", showtimes);
+        result.put("totalSold", totalSold);
+        result.put("bySeatType", seatTypes);
+        result.put("rows", rows);
+        result.put("backfilledAt", backfilledAt);
+        return result;
+    }
+
+    /** Counters of one screen keyed by seat id: sold, timed sales, total minutes to sell */
+    private static final class ScreenHeat {
+        private final Map<Long, Integer> positions = new HashMap<>();
+        private long[] sold = new long[64];
+        private long[] timed = new long[64];
+        private long[] minutes = new long[64];
+
+        synchronized void record(Long seatId, long minutesToSell) {
+            Integer position = positions.get(seatId);
+            if (position == null) {
+                position = positions.size();
+                positions.put(seatId, position);
+                if (position == sold.length) {
+                    sold = Arrays.copyOf(sold, position * 2);
+                    timed = Arrays.copyOf(timed, position * 2);
+                    minutes = Arrays.copyOf(minutes, position * 2);
+                }
+            }
+            sold[position]++;
+            if (minutesToSell >= 0) {
+                timed[position]++;
+                minutes[position] += minutesToSell;
+            }
+        }
+
+        /** Undo one record() of the seat, as far as the counters still hold it */
+        synchronized void remove(Long seatId, long minutesToSell) {
+            Integer position = positions.get(seatId);
+            if (position == null || sold[position] == 0) return;
+            sold[position]--;
+            if (minutesToSell >= 0 && timed[position] > 0) {
+                timed[position]--;
+                minutes[position] = Math.max(0, minutes[position] - minutesToSell);
+            }
+        }
+
+        synchronized long[] get(long seatId) {
+            Integer position = positions.get(seatId);
+            return position != null ? new long[]{sold[position], timed[position], minutes[position]} : null;
+        }
+    }
+}
@@ -5,13 +5,18 @@ import com.moviebooking.exception.BadRequestException;
 import com.moviebooking.exception.ResourceNotFoundException;
 import com.moviebooking.patterns.observer.SeatAvailabilitySubject;
 import com.moviebooking.patterns.observer.SeatUpdateEvent;
+import com.moviebooking.patterns.singleton.AppConfigManager;
+import com.moviebooking.patterns.singleton.ConfigSnapshot;
 import com.moviebooking.patterns.strategy.PricingEngine;
+import com.moviebooking.patterns.strategy.PricingRules;
+import com.moviebooking.patterns.strategy.SalesVelocityTracker;
 import com.moviebooking.repository.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.*;
 import java.util.stream.Collectors;
@@ -20,8 +25,6 @@ import java.util.stream.Collectors;
 public class SeatService {
 
     private static final Logger log = LoggerFactory.getLogger(SeatService.class);
-    private static final int MAX_SEATS_PER_BOOKING = 10;
-    private static final int LOCK_DURATION_MINUTES = 10;
 
     private final SeatRepository seatRepository;
     private final SeatLockRepository seatLockRepository;
@@ -29,48 +32,65 @@ public class SeatService {
     private final ShowtimeRepository showtimeRepository;
     private final SeatAvailabilitySubject seatAvailabilitySubject;
     private final PricingEngine pricingEngine;
+    private final ScreenLayoutRegistry layoutRegistry;
+    private final SalesVelocityTracker velocityTracker;
+    private final PriceQuoteService priceQuotes;
 
     public SeatService(SeatRepository seatRepository, SeatLockRepository seatLockRepository,
                        BookingSeatRepository bookingSeatRepository, ShowtimeRepository showtimeRepository,
-                       SeatAvailabilitySubject seatAvailabilitySubject, PricingEngine pricingEngine) {
+                       SeatAvailabilitySubject seatAvailabilitySubject, PricingEngine pricingEngine,
+                       ScreenLayoutRegistry layoutRegistry, SalesVelocityTracker velocityTracker,
+                       PriceQuoteService priceQuotes) {
         this.seatRepository = seatRepository;
         this.seatLockRepository = seatLockRepository;
         this.bookingSeatRepository = bookingSeatRepository;
         this.showtimeRepository = showtimeRepository;
         this.seatAvailabilitySubject = seatAvailabilitySubject;
         this.pricingEngine = pricingEngine;
+        this.layoutRegistry = layoutRegistry;
+        this.velocityTracker = velocityTracker;
+        this.priceQuotes = priceQuotes;
     }
 
     public Map<String, Object> getSeatMapForShowtime(Long showtimeId) {
         Showtime showtime = showtimeRepository.findById(showtimeId)
                 .orElseThrow(() -> new ResourceNotFoundException("Showtime", "id", showtimeId));
 
-        List<Seat> seats = seatRepository.findByScreenId(showtime.getScreen().getId());
-        List<Long> bookedSeatIds = bookingSeatRepository.findBookedSeatIdsForShowtime(showtimeId);
-        List<Long> lockedSeatIds = seatLockRepository.findLockedSeatIdsForShowtime(showtimeId, LocalDateTime.now());
-
-        List<Map<String, Object>> seatData = seats.stream().map(seat -> {
+        ScreenLayout layout = layoutRegistry.get(showtime.getScreen().getId());
+        Set<Long> bookedSeatIds = new HashSet<>(bookingSeatRepository.findBookedSeatIdsForShowtime(showtimeId));
+        Set<Long> lockedSeatIds = new HashSet<>(seatLockRepository.findLockedSeatIdsForShowtime(showtimeId, LocalDateTime.now()));
+        // Final price depends only on the base price for a given showtime; a screen has few distinct ones.
+        // One rules snapshot prices the whole map so every seat quotes the same version.
+        PricingRules rules = pricingEngine.currentRules();
+        Map<BigDecimal, BigDecimal> finalPrices = new HashMap<>();
+
+        List<Map<String, Object>> seatData = new ArrayList<>(layout.size());
+        for (int i = 0; i < layout.size(); i++) {
+            long seatId = layout.seatId(i);
             Map<String, Object> seatInfo = new LinkedHashMap<>();
-            seatInfo.put("id", seat.getId());
-            seatInfo.put("label", seat.getSeatLabel());
-            seatInfo.put("row", seat.getRowLetter());
-            seatInfo.put("number", seat.getSeatNumber());
-            seatInfo.put("type", seat.getSeatType().name());
+            seatInfo.put("id", seatId);
+            seatInfo.put("label", layout.label(i));
+            seatInfo.put("row", layout.rowLetter(i));
+            seatInfo.put("number", layout.seatNumber(i));
+            seatInfo.put("type", layout.seatType(i).name());
+            seatInfo.put("aisle", layout.isAisle(i));
+            seatInfo.put("wheelchair", layout.isWheelchair(i));
             // Strategy Pattern: Apply dynamic pricing
-            seatInfo.put("basePrice", seat.getBasePrice());
-            seatInfo.put("price", pricingEngine.calculateFinalPrice(seat.getBasePrice(), showtime));
+            seatInfo.put("basePrice", layout.basePrice(i));
+            seatInfo.put("price", finalPrices.computeIfAbsent(layout.basePrice(i),
+                    base -> pricingEngine.calculateFinalPrice(base, showtime, rules)));
 
-            if (bookedSeatIds.contains(seat.getId())) {
+            if (bookedSeatIds.contains(seatId)) {
                 seatInfo.put("status", "BOOKED");
-            } else if (lockedSeatIds.contains(seat.getId())) {
+            } else if (lockedSeatIds.contains(seatId)) {
                 seatInfo.put("status", "LOCKED");
-            } else if (!seat.getIsAvailable()) {
+            } else if (!layout.isAvailable(i)) {
                 seatInfo.put("status", "UNAVAILABLE");
             } else {
                 seatInfo.put("status", "AVAILABLE");
             }
-            return seatInfo;
-        }).collect(Collectors.toList());
+            seatData.add(seatInfo);
+        }
 
         Map<String, Object> result = new LinkedHashMap<>();
         result.put("showtimeId", showtimeId);
@@ -80,23 +100,34 @@ public class SeatService {
         result.put("totalSeats", showtime.getTotalSeats());
         result.put("availableSeats", showtime.getAvailableSeats());
         result.put("pricingStrategy", showtime.getPricingStrategy());
+        result.put("pricingVersion", rules.getVersion());
+        SalesVelocityTracker.Velocity velocity = velocityTracker.measure(showtime, rules.getVelocityForecastThreshold());
+        result.put("recentSeatsSold", velocity.windowSeats());
+        result.put("fillingFast", velocity.fillingFast());
         result.put("seats", seatData);
         return result;
     }
 
     @Transactional
     public List<SeatLock> lockSeats(Long showtimeId, List<Long> seatIds, User user) {
-        if (seatIds.size() > MAX_SEATS_PER_BOOKING) {
-            throw new BadRequestException("Maximum " + MAX_SEATS_PER_BOOKING + " seats allowed per booking");
+        ConfigSnapshot config = AppConfigManager.getInstance().snapshot();
+        if (seatIds.size() > config.seatMaxPerBooking()) {
+            throw new BadRequestException("Maximum " + config.seatMaxPerBooking() + " seats allowed per booking");
         }
 
         Showtime showtime = showtimeRepository.findById(showtimeId)
                 .orElseThrow(() -> new ResourceNotFoundException("Showtime", "id", showtimeId));
 
         List<Long> bookedSeatIds = bookingSeatRepository.findBookedSeatIdsForShowtime(showtimeId);
-        List<Long> lockedSeatIds = seatLockRepository.findLockedSeatIdsForShowtime(showtimeId, LocalDateTime.now());
+        // The user's own holds are replaced below, so only other users' live locks block re-locking
+        List<Long> lockedSeatIds = seatLockRepository.findSeatIdsLockedByOthers(showtimeId, user.getId(), LocalDateTime.now());
+        List<SeatLock> existingLocks = seatLockRepository.findByUserIdAndShowtimeIdAndIsActiveTrue(user.getId(), showtimeId);
 
+        ScreenLayout layout = layoutRegistry.get(showtime.getScreen().getId());
         for (Long seatId : seatIds) {
+            if (!layout.contains(seatId)) {
+                throw new BadRequestException("Seat " + seatId + " is not part of this showtime's screen");
+            }
             if (bookedSeatIds.contains(seatId)) {
                 throw new BadRequestException("Seat is already booked");
             }
@@ -106,31 +137,32 @@ public class SeatService {
         }
 
         // Release any existing locks by this user for this showtime
-        List<SeatLock> existingLocks = seatLockRepository.findByUserIdAndShowtimeIdAndIsActiveTrue(user.getId(), showtimeId);
         for (SeatLock lock : existingLocks) {
             lock.setIsActive(false);
         }
         seatLockRepository.saveAll(existingLocks);
+        priceQuotes.discard(existingLocks);
 
-        List<Seat> seats = seatRepository.findByIdIn(seatIds);
+        Set<Long> seatsToLock = new LinkedHashSet<>(seatIds);
         LocalDateTime now = LocalDateTime.now();
         List<SeatLock> newLocks = new ArrayList<>();
 
-        for (Seat seat : seats) {
+        for (Long seatId : seatsToLock) {
             SeatLock lock = new SeatLock();
-            lock.setSeat(seat);
+            lock.setSeat(seatRepository.getReferenceById(seatId));
             lock.setShowtime(showtime);
             lock.setUser(user);
             lock.setLockedAt(now);
-            lock.setLockedUntil(now.plusMinutes(LOCK_DURATION_MINUTES));
+            lock.setLockedUntil(now.plusMinutes(config.seatLockTimeoutMinutes()));
             lock.setIsActive(true);
             newLocks.add(lock);
         }
 
         List<SeatLock> savedLocks = seatLockRepository.saveAll(newLocks);
+        priceQuotes.quoteLocks(showtime, layout, savedLocks);
 
         // Observer Pattern: Broadcast seat status change
-        broadcastSeatUpdate(showtimeId, seats, "LOCKED", user.getId());
+        broadcastSeatUpdate(showtimeId, layout, seatsToLock, "LOCKED", user.getId());
 
         log.info("User {} locked {} seats for showtime {}", user.getEmail(), seatIds.size(), showtimeId);
         return savedLocks;
@@ -139,39 +171,48 @@ public class SeatService {
     @Transactional
     public void unlockSeats(Long showtimeId, List<Long> seatIds, User user) {
         List<SeatLock> locks = seatLockRepository.findByUserIdAndShowtimeIdAndIsActiveTrue(user.getId(), showtimeId);
-        List<Seat> releasedSeats = new ArrayList<>();
+        List<Long> releasedSeatIds = new ArrayList<>();
+        List<SeatLock> released = new ArrayList<>();
 
         for (SeatLock lock : locks) {
             if (seatIds.contains(lock.getSeat().getId())) {
                 lock.setIsActive(false);
-                releasedSeats.add(lock.getSeat());
+                releasedSeatIds.add(lock.getSeat().getId());
+                released.add(lock);
             }
         }
         seatLockRepository.saveAll(locks);
+        priceQuotes.discard(released);
 
-        if (!releasedSeats.isEmpty()) {
-            broadcastSeatUpdate(showtimeId, releasedSeats, "RELEASED", user.getId());
+        if (!releasedSeatIds.isEmpty()) {
+            broadcastSeatUpdate(showtimeId, layoutFor(locks.get(0)), releasedSeatIds, "RELEASED", user.getId());
         }
     }
 
     @Transactional
     public void releaseLocksForBooking(Long showtimeId, Long userId) {
         List<SeatLock> locks = seatLockRepository.findByUserIdAndShowtimeIdAndIsActiveTrue(userId, showtimeId);
-        List<Seat> releasedSeats = new ArrayList<>();
+        List<Long> releasedSeatIds = new ArrayList<>();
         for (SeatLock lock : locks) {
             lock.setIsActive(false);
-            releasedSeats.add(lock.getSeat());
+            releasedSeatIds.add(lock.getSeat().getId());
         }
         seatLockRepository.saveAll(locks);
+        priceQuotes.discard(locks);
 
-        if (!releasedSeats.isEmpty()) {
-            broadcastSeatUpdate(showtimeId, releasedSeats, "BOOKED", userId);
+        if (!releasedSeatIds.isEmpty()) {
+            broadcastSeatUpdate(showtimeId, layoutFor(locks.get(0)), releasedSeatIds, "BOOKED", userId);
         }
     }
 
-    private void broadcastSeatUpdate(Long showtimeId, List<Seat> seats, String eventType, Long userId) {
-        List<SeatUpdateEvent.SeatStatusDto> seatDtos = seats.stream()
-                .map(s -> new SeatUpdateEvent.SeatStatusDto(s.getId(), s.getSeatLabel(),
+    private ScreenLayout layoutFor(SeatLock lock) {
+        return layoutRegistry.get(lock.getShowtime().getScreen().getId());
+    }
+
+    private void broadcastSeatUpdate(Long showtimeId, ScreenLayout layout, Collection<Long> seatIds,
+                                     String eventType, Long userId) {
+        List<SeatUpdateEvent.SeatStatusDto> seatDtos = seatIds.stream()
+                .map(id -> new SeatUpdateEvent.SeatStatusDto(id, layout.label(layout.indexOf(id)),
                         eventType.equals("RELEASED") ? "AVAILABLE" : eventType, userId))
                 .collect(Collectors.toList());
 
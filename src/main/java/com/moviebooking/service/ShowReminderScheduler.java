@@ -0,0 +1,179 @@
+package com.moviebooking.service;
+
+import com.moviebooking.entity.enums.BookingStatus;
+import com.moviebooking.event.BookingLifecycleEvent;
+import com.moviebooking.repository.BookingRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Time-bucketed show reminder engine.
+ *
+ * Upcoming CONFIRMED bookings are loaded into fixed-width buckets keyed by
+ * (show time - lead time). The loader only ever reads the next unseen slice of
+ * show_datetime, so each booking is read once regardless of how often it runs.
+ * Each due bucket is handed to the email outbox as one batch. Cancellations
+ * tombstone their entry so the bucket skips it when it fires.
+ *
+ * A bucket is closed when it fires; a booking that races the firing finds it closed and
+ * goes into a fresh bucket under the same key, which fires on the next tick.
+ */
+@Component
+public class ShowReminderScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(ShowReminderScheduler.class);
+    private static final ZoneId ZONE = ZoneId.systemDefault();
+
+    private final BookingRepository bookingRepository;
+    private final EmailService emailService;
+    private final TransactionTemplate transactionTemplate;
+
+    private final long leadMinutes;
+    private final long bucketMinutes;
+    private final long lookaheadMinutes;
+
+    /** bucket key (epoch minute / bucket width) -> bookings due in that bucket */
+    private final ConcurrentSkipListMap<Long, Bucket> buckets = new ConcurrentSkipListMap<>();
+    /** booking id -> bucket key, for every booking currently scheduled */
+    private final Map<Long, Long> scheduled = new ConcurrentHashMap<>();
+    private final Set<Long> tombstones = ConcurrentHashMap.newKeySet();
+
+    /** Shows starting before this instant have already been loaded into buckets */
+    private volatile LocalDateTime loadedUntil;
+
+    public ShowReminderScheduler(BookingRepository bookingRepository,
+                                 EmailService emailService, PlatformTransactionManager transactionManager,
+                                 @Value("${reminder.lead-minutes:120}") long leadMinutes,
+                                 @Value("${reminder.bucket-minutes:5}") long bucketMinutes,
+                                 @Value("${reminder.lookahead-minutes:360}") long lookaheadMinutes) {
+        this.bookingRepository = bookingRepository;
+        this.emailService = emailService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.leadMinutes = leadMinutes;
+        this.bucketMinutes = bucketMinutes;
+        this.lookaheadMinutes = lookaheadMinutes;
+    }
+
+    @PostConstruct
+    public void init() {
+        // Only shows whose reminder time is still ahead; earlier ones were handled before the restart
+        loadedUntil = LocalDateTime.now().plusMinutes(leadMinutes);
+    }
+
+    /**
+     * Load the next slice of upcoming shows into buckets.
+     */
+    @Scheduled(fixedRateString = "${reminder.load-interval-ms:60000}")
+    public void loadUpcoming() {
+        LocalDateTime from = loadedUntil;
+        LocalDateTime to = LocalDateTime.now().plusMinutes(leadMinutes + lookaheadMinutes);
+        if (!to.isAfter(from)) return;
+
+        List<Object[]> rows = bookingRepository.findReminderCandidates(from, to);
+        for (Object[] row : rows) {
+            schedule((Long) row[0], (LocalDateTime) row[1]);
+        }
+        loadedUntil = to;
+        if (!rows.isEmpty()) {
+            log.info("Loaded {} show reminders for shows between {} and {}", rows.size(), from, to);
+        }
+    }
+
+    /**
+     * Fire every bucket whose reminder time has arrived.
+     */
+    @Scheduled(fixedRateString = "${reminder.fire-interval-ms:60000}")
+    public void fireDueBuckets() {
+        long currentBucket = bucketKey(LocalDateTime.now());
+        Map.Entry<Long, Bucket> entry;
+        while ((entry = buckets.firstEntry()) != null && entry.getKey() <= currentBucket) {
+            Set<Long> bookingIds = entry.getValue().close();
+            buckets.remove(entry.getKey(), entry.getValue());
+
+            List<Long> batch = new ArrayList<>(bookingIds.size());
+            for (Long bookingId : bookingIds) {
+                scheduled.remove(bookingId);
+                if (!tombstones.remove(bookingId)) {
+                    batch.add(bookingId);
+                }
+            }
+            if (!batch.isEmpty()) {
+                transactionTemplate.executeWithoutResult(status -> emailService.sendShowReminders(batch));
+                log.info("Fired reminder bucket {} with {} bookings", entry.getKey(), batch.size());
+            }
+        }
+    }
+
+    /**
+     * Register a newly confirmed booking. Shows up to one lookahead past the loaded window are
+     * scheduled here too, so a booking committed while the loader is between its query and moving
+     * the window is not missed; the loader reading it again is a no-op. Later shows are left to the
+     * loader. A cancellation tombstones the booking's entry.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookingEvent(BookingLifecycleEvent event) {
+        if (event.getStatus() == BookingStatus.CONFIRMED && event.getPreviousStatus() != BookingStatus.CONFIRMED) {
+            LocalDateTime showDatetime = event.getShowDatetime();
+            if (showDatetime.isBefore(loadedUntil.plusMinutes(lookaheadMinutes))
+                    && showDatetime.isAfter(LocalDateTime.now().plusMinutes(leadMinutes))) {
+                schedule(event.getBookingId(), showDatetime);
+            }
+        } else if (event.getStatus() == BookingStatus.CANCELLED && scheduled.containsKey(event.getBookingId())) {
+            tombstones.add(event.getBookingId());
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("buckets", buckets.size());
+        stats.put("scheduled", scheduled.size());
+        stats.put("tombstones", tombstones.size());
+        stats.put("loadedUntil", loadedUntil);
+        return stats;
+    }
+
+    private void schedule(Long bookingId, LocalDateTime showDatetime) {
+        long key = bucketKey(showDatetime.minusMinutes(leadMinutes));
+        if (scheduled.putIfAbsent(bookingId, key) != null) return;
+        while (true) {
+            Bucket bucket = buckets.computeIfAbsent(key, k -> new Bucket());
+            if (bucket.add(bookingId)) return;
+            buckets.remove(key, bucket); // closed while firing; retry on a fresh bucket
+        }
+    }
+
+    private long bucketKey(LocalDateTime time) {
+        long epochMinute = time.atZone(ZONE).toEpochSecond() / 60;
+        return epochMinute / bucketMinutes;
+    }
+
+    /** Bookings due at one bucket time; closed once it fires, after which adds are refused */
+    private static final class Bucket {
+        private final Set<Long> bookingIds = new HashSet<>();
+        private boolean closed;
+
+        synchronized boolean add(Long bookingId) {
+            if (closed) return false;
+            bookingIds.add(bookingId);
+            return true;
+        }
+
+        synchronized Set<Long> close() {
+            closed = true;
+            return bookingIds;
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.moviebooking.service;
+
+import com.moviebooking.entity.Showtime;
+import com.moviebooking.entity.enums.BookingStatus;
+import com.moviebooking.entity.enums.SeatType;
+import com.moviebooking.event.BookingLifecycleEvent;
+import com.moviebooking.exception.BadRequestException;
+import com.moviebooking.patterns.strategy.PricingEngine;
+import com.moviebooking.patterns.strategy.PricingRules;
+import com.moviebooking.repository.ShowtimeRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Lowest and highest final price per seat type for many showtimes at once, for "from ₹X" labels
+ * on showtime listings without loading each seat map.
+ *
+ * A showtime's summary is priced from its screen's layout price bands (lowest and highest base
+ * price per seat type), so each costs at most two pricing calls per seat type. Summaries are cached
+ * per showtime and recomputed when the pricing rules version changes, when a booking on the
+ * showtime is confirmed or cancelled, or after the TTL, which covers the time-dependent strategies.
+ * Cache misses in one call are loaded with a single query. Summaries past the TTL are swept every
+ * minute, so the cache only holds showtimes asked for recently.
+ */
+@Service
+public class ShowtimePriceSummaryService {
+
+    private static final Logger log = LoggerFactory.getLogger(ShowtimePriceSummaryService.class);
+
+    private final ShowtimeRepository showtimeRepository;
+    private final ScreenLayoutRegistry layoutRegistry;
+    private final PricingEngine pricingEngine;
+    private final int maxShowtimes;
+    private final long ttlMillis;
+    private final Map<Long, Summary> cache = new ConcurrentHashMap<>();
+
+    public ShowtimePriceSummaryService(ShowtimeRepository showtimeRepository, ScreenLayoutRegistry layoutRegistry,
+                                       PricingEngine pricingEngine,
+                                       @Value("${pricing.summary.max-showtimes:50}") int maxShowtimes,
+                                       @Value("${pricing.summary.ttl-seconds:60}") int ttlSeconds) {
+        this.showtimeRepository = showtimeRepository;
+        this.layoutRegistry = layoutRegistry;
+        this.pricingEngine = pricingEngine;
+        this.maxShowtimes = maxShowtimes;
+        this.ttlMillis = Duration.ofSeconds(ttlSeconds).toMillis();
+    }
+
+    /** Summaries in request order; ids of unknown showtimes are left out */
+    public List<Map<String, Object>> getSummaries(List<Long> showtimeIds) {
+        if (showtimeIds == null || showtimeIds.isEmpty()) {
+            throw new BadRequestException("At least one showtime id is required");
+        }
+        Set<Long> ids = new LinkedHashSet<>(showtimeIds);
+        if (ids.size() > maxShowtimes) {
+            throw new BadRequestException("At most " + maxShowtimes + " showtimes per request");
+        }
+
+        PricingRules rules = pricingEngine.currentRules();
+        long now = System.currentTimeMillis();
+        Map<Long, Summary> found = new HashMap<>();
+        List<Long> missing = new ArrayList<>();
+        for (Long id : ids) {
+            Summary summary = cache.get(id);
+            if (summary != null && summary.pricingVersion() == rules.getVersion() && now - summary.computedAt() < ttlMillis) {
+                found.put(id, summary);
+            } else {
+                missing.add(id);
+            }
+        }
+        if (!missing.isEmpty()) {
+            for (Showtime showtime : showtimeRepository.findWithScreenByIdIn(missing)) {
+                Summary summary = compute(showtime, rules, now);
+                cache.put(showtime.getId(), summary);
+                found.put(showtime.getId(), summary);
+            }
+        }
+
+        List<Map<String, Object>> result = new ArrayList<>(found.size());
+        for (Long id : ids) {
+            Summary summary = found.get(id);
+            if (summary != null) result.add(summary.body());
+        }
+        return result;
+    }
+
+    @Scheduled(fixedRate = 60000)
+    public void evictExpired() {
+        long now = System.currentTimeMillis();
+        int before = cache.size();
+        cache.values().removeIf(summary -> now - summary.computedAt() >= ttlMillis);
+        if (before != cache.size()) {
+            log.debug("Evicted {} expired price summaries", before - cache.size());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookingEvent(BookingLifecycleEvent event) {
+        if (event.getStatus() == BookingStatus.CONFIRMED || event.getPreviousStatus() == BookingStatus.CONFIRMED) {
+            cache.remove(event.getShowtimeId());
+        }
+    }
+
+    private Summary compute(Showtime showtime, PricingRules rules, long now) {
+        ScreenLayout layout = layoutRegistry.get(showtime.getScreen().getId());
+        Map<BigDecimal, BigDecimal> finalPrices = new HashMap<>();
+        Map<String, Object> seatTypes = new LinkedHashMap<>();
+        BigDecimal minPrice = null;
+        BigDecimal maxPrice = null;
+        for (Map.Entry<SeatType, ScreenLayout.PriceBand> entry : layout.priceBands().entrySet()) {
+            ScreenLayout.PriceBand band = entry.getValue();
+            BigDecimal min = finalPrices.computeIfAbsent(band.minBase(),
+                    base -> pricingEngine.calculateFinalPrice(base, showtime, rules));
+            BigDecimal max = finalPrices.computeIfAbsent(band.maxBase(),
+                    base -> pricingEngine.calculateFinalPrice(base, showtime, rules));
+            Map<String, Object> type = new LinkedHashMap<>();
+            type.put("seats", band.seats());
+            type.put("minPrice", min);
+            type.put("maxPrice", max);
+            seatTypes.put(entry.getKey().name(), type);
+            minPrice = minPrice == null ? min : minPrice.min(min);
+            maxPrice = maxPrice == null ? max : maxPrice.max(max);
+        }
+
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("showtimeId", showtime.getId());
+        body.put("availableSeats", showtime.getAvailableSeats());
+        body.put("minPrice", minPrice);
+        body.put("maxPrice", maxPrice);
+        body.put("seatTypes", seatTypes);
+        body.put("pricingVersion", rules.getVersion());
+        return new Summary(rules.getVersion(), now, Collections.unmodifiableMap(body));
+    }
+
+    private record Summary(long pricingVersion, long computedAt, Map<String, Object> body) {}
+}
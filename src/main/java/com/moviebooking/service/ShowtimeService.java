@@ -1,5 +1,7 @@
 package com.moviebooking.service;
 
+import com.moviebooking.dto.CursorPage;
+import com.moviebooking.dto.ScheduleGridDto;
 import com.moviebooking.dto.ShowtimeDto;
 import com.moviebooking.entity.Movie;
 import com.moviebooking.entity.Screen;
@@ -12,6 +14,7 @@ import com.moviebooking.repository.ScreenRepository;
 import com.moviebooking.repository.ShowtimeRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -19,8 +22,8 @@ import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Service
 public class ShowtimeService {
@@ -30,42 +33,75 @@ public class ShowtimeService {
     private final ShowtimeRepository showtimeRepository;
     private final MovieRepository movieRepository;
     private final ScreenRepository screenRepository;
+    private final ContentVersions contentVersions;
+    private final LiveAnalyticsStore liveAnalytics;
 
     public ShowtimeService(ShowtimeRepository showtimeRepository, MovieRepository movieRepository,
-                          ScreenRepository screenRepository) {
+                          ScreenRepository screenRepository, ContentVersions contentVersions,
+                          LiveAnalyticsStore liveAnalytics) {
         this.showtimeRepository = showtimeRepository;
         this.movieRepository = movieRepository;
         this.screenRepository = screenRepository;
+        this.contentVersions = contentVersions;
+        this.liveAnalytics = liveAnalytics;
     }
 
+    // Listings read ShowtimeDto projections directly: one statement per request regardless of row count
+
     public List<ShowtimeDto> getShowtimesForMovie(Long movieId) {
-        return showtimeRepository.findUpcomingShowtimes(movieId, LocalDateTime.now()).stream()
-                .map(ShowtimeDto::fromEntity)
-                .collect(Collectors.toList());
+        return showtimeRepository.findUpcomingDtos(movieId, LocalDateTime.now());
     }
 
     public List<ShowtimeDto> getShowtimesForMovieAndDate(Long movieId, LocalDate date) {
-        return showtimeRepository.findByMovieIdAndShowDateAndStatus(movieId, date, ShowtimeStatus.ACTIVE).stream()
-                .map(ShowtimeDto::fromEntity)
-                .collect(Collectors.toList());
+        return showtimeRepository.findDtosByMovieAndDate(movieId, date);
     }
 
     public List<ShowtimeDto> getShowtimesForTheaterAndDate(Long theaterId, LocalDate date) {
-        return showtimeRepository.findByTheaterAndDate(theaterId, date).stream()
-                .map(ShowtimeDto::fromEntity)
-                .collect(Collectors.toList());
+        return showtimeRepository.findDtosByTheaterAndDate(theaterId, date);
     }
 
     public List<ShowtimeDto> getShowtimesByDate(LocalDate date) {
-        return showtimeRepository.findByShowDateAndActive(date).stream()
-                .map(ShowtimeDto::fromEntity)
-                .collect(Collectors.toList());
+        return showtimeRepository.findDtosByDate(date);
     }
 
     public ShowtimeDto getShowtimeById(Long id) {
-        Showtime showtime = showtimeRepository.findById(id)
+        return showtimeRepository.findDtoById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Showtime", "id", id));
-        return ShowtimeDto.fromEntity(showtime);
+    }
+
+    /**
+     * All showtimes on a date across every theater, grouped theater -> screen.
+     */
+    public ScheduleGridDto getScheduleGrid(LocalDate date) {
+        ScheduleGridDto grid = new ScheduleGridDto();
+        grid.setDate(date);
+        List<ScheduleGridDto.TheaterSchedule> theaters = new ArrayList<>();
+        ScheduleGridDto.TheaterSchedule theater = null;
+        ScheduleGridDto.ScreenSchedule screen = null;
+        // Rows arrive ordered by theater then screen, so each group is contiguous
+        for (ShowtimeDto s : showtimeRepository.findScheduleForDate(date)) {
+            if (theater == null || !theater.getTheaterId().equals(s.getTheaterId())) {
+                theater = new ScheduleGridDto.TheaterSchedule();
+                theater.setTheaterId(s.getTheaterId());
+                theater.setTheaterName(s.getTheaterName());
+                theater.setTheaterCity(s.getTheaterCity());
+                theater.setTheaterType(s.getTheaterType());
+                theater.setScreens(new ArrayList<>());
+                theaters.add(theater);
+                screen = null;
+            }
+            if (screen == null || !screen.getScreenId().equals(s.getScreenId())) {
+                screen = new ScheduleGridDto.ScreenSchedule();
+                screen.setScreenId(s.getScreenId());
+                screen.setScreenName(s.getScreenName());
+                screen.setScreenType(s.getScreenType());
+                screen.setShowtimes(new ArrayList<>());
+                theater.getScreens().add(screen);
+            }
+            screen.getShowtimes().add(s);
+        }
+        grid.setTheaters(theaters);
+        return grid;
     }
 
     @Transactional
@@ -99,6 +135,8 @@ public class ShowtimeService {
         showtime.setStatus(ShowtimeStatus.ACTIVE);
 
         showtime = showtimeRepository.save(showtime);
+        contentVersions.bumpAfterCommit(ContentVersions.Scope.SHOWTIMES);
+        liveAnalytics.refreshTheatersAfterCommit();
         log.info("Created showtime {} for movie '{}' on screen '{}' at {}",
                 showtime.getId(), movie.getTitle(), screen.getScreenName(), startTime);
 
@@ -111,10 +149,22 @@ public class ShowtimeService {
                 .orElseThrow(() -> new ResourceNotFoundException("Showtime", "id", id));
         showtime.setStatus(ShowtimeStatus.CANCELLED);
         showtimeRepository.save(showtime);
+        contentVersions.bumpAfterCommit(ContentVersions.Scope.SHOWTIMES);
         log.info("Cancelled showtime {}", id);
     }
 
-    public List<Showtime> getAllShowtimes() {
-        return showtimeRepository.findAll();
+    /**
+     * All showtimes, cancelled ones included, one keyset page at a time in show order, starting
+     * with the shows on the given date (or the earliest show when it is null).
+     */
+    public CursorPage<ShowtimeDto> getShowtimesPage(LocalDate from, String cursor, int size) {
+        CursorPage.validateSize(size);
+        CursorPage.Cursor after = CursorPage.Cursor.decode(cursor);
+        LocalDateTime first = from != null ? from.atStartOfDay() : CursorPage.FIRST_DATETIME_ASC;
+        List<ShowtimeDto> showtimes = showtimeRepository.findDtoPage(
+                after != null ? after.dateTimeKey() : first,
+                after != null ? after.id() : 0L,
+                PageRequest.of(0, size + 1));
+        return CursorPage.of(showtimes, size, s -> CursorPage.Cursor.of(s.getShowDatetime(), s.getId()));
     }
 }
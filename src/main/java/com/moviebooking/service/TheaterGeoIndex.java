@@ -0,0 +1,144 @@
+package com.moviebooking.service;
+
+import com.moviebooking.entity.Theater;
+import com.moviebooking.repository.TheaterRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Grid-bucket spatial index over active theaters with coordinates.
+ *
+ * The globe is cut into cells of roughly cellKm on a side (longitude cells are the same number of
+ * degrees, so narrower in km away from the equator). A nearest query walks rings of cells outward
+ * from the query point and stops once the ring is farther than both the radius and the current
+ * k-th hit, so its cost depends on how many theaters are nearby, not on how many exist.
+ */
+@Component
+public class TheaterGeoIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(TheaterGeoIndex.class);
+    private static final double KM_PER_DEGREE = 111.32;
+    private static final double EARTH_RADIUS_KM = 6371.0;
+
+    private final TheaterRepository theaterRepository;
+    private final double cellKm;
+    private final double cellDegrees;
+
+    private final Map<Long, Map<Long, Point>> cells = new ConcurrentHashMap<>();
+    private final Map<Long, Point> points = new ConcurrentHashMap<>();
+
+    public TheaterGeoIndex(TheaterRepository theaterRepository,
+                           @Value("${geo.cell-km:5}") double cellKm) {
+        this.theaterRepository = theaterRepository;
+        this.cellKm = cellKm;
+        this.cellDegrees = cellKm / KM_PER_DEGREE;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        theaterRepository.findByIsActiveTrue().forEach(this::put);
+        log.info("Theater geo index loaded with {} theaters in {} cells", points.size(), cells.size());
+    }
+
+    /**
+     * Add or move a theater. Theaters without coordinates or no longer active are removed.
+     */
+    public void put(Theater theater) {
+        remove(theater.getId());
+        if (theater.getLatitude() == null || theater.getLongitude() == null || !Boolean.TRUE.equals(theater.getIsActive())) {
+            return;
+        }
+        Point point = new Point(theater.getId(), theater.getLatitude().doubleValue(), theater.getLongitude().doubleValue());
+        points.put(point.theaterId, point);
+        cells.computeIfAbsent(cellKey(latCell(point.lat), lonCell(point.lon)), k -> new ConcurrentHashMap<>())
+                .put(point.theaterId, point);
+    }
+
+    public void remove(Long theaterId) {
+        Point previous = points.remove(theaterId);
+        if (previous != null) {
+            Map<Long, Point> cell = cells.get(cellKey(latCell(previous.lat), lonCell(previous.lon)));
+            if (cell != null) cell.remove(theaterId);
+        }
+    }
+
+    /**
+     * @return up to k theaters within radiusKm, nearest first
+     */
+    public List<Hit> nearest(double lat, double lon, double radiusKm, int k) {
+        if (k <= 0) return List.of();
+        double cosLat = Math.max(Math.cos(Math.toRadians(lat)), 0.01);
+        int centerLat = latCell(lat);
+        int centerLon = lonCell(lon);
+        int maxRing = (int) Math.ceil(radiusKm / cellKm) + 1;
+
+        // Max-heap on distance holding the best k so far
+        PriorityQueue<Hit> best = new PriorityQueue<>(Comparator.comparingDouble(Hit::distanceKm).reversed());
+        for (int ring = 0; ring <= maxRing; ring++) {
+            int lonSpan = lonSpan(ring, cosLat);
+            int innerLonSpan = ring == 0 ? -1 : lonSpan(ring - 1, cosLat);
+            for (int dLat = -ring; dLat <= ring; dLat++) {
+                for (int dLon = -lonSpan; dLon <= lonSpan; dLon++) {
+                    if (Math.abs(dLat) < ring && Math.abs(dLon) <= innerLonSpan) continue; // visited in an inner ring
+                    Map<Long, Point> cell = cells.get(cellKey(centerLat + dLat, centerLon + dLon));
+                    if (cell == null) continue;
+                    for (Point p : cell.values()) {
+                        double distance = haversineKm(lat, lon, p.lat, p.lon);
+                        if (distance > radiusKm) continue;
+                        best.add(new Hit(p.theaterId, distance));
+                        if (best.size() > k) best.poll();
+                    }
+                }
+            }
+            // Every unvisited cell is at least ring * cellKm away
+            double unvisitedDistance = ring * cellKm;
+            if (unvisitedDistance > radiusKm || (best.size() == k && best.peek().distanceKm() <= unvisitedDistance)) {
+                break;
+            }
+        }
+
+        List<Hit> result = new ArrayList<>(best);
+        result.sort(Comparator.comparingDouble(Hit::distanceKm));
+        return result;
+    }
+
+    public int size() {
+        return points.size();
+    }
+
+    /** Longitude cells needed to cover ring * cellKm of east-west distance at this latitude */
+    private int lonSpan(int ring, double cosLat) {
+        return (int) Math.ceil(ring / cosLat);
+    }
+
+    private int latCell(double lat) {
+        return (int) Math.floor(lat / cellDegrees);
+    }
+
+    private int lonCell(double lon) {
+        return (int) Math.floor(lon / cellDegrees);
+    }
+
+    private static long cellKey(int latCell, int lonCell) {
+        return ((long) latCell << 32) | (lonCell & 0xffffffffL);
+    }
+
+    static double haversineKm(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.sqrt(a));
+    }
+
+    private record Point(Long theaterId, double lat, double lon) {}
+
+    public record Hit(Long theaterId, double distanceKm) {}
+}
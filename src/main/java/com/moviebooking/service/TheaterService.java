@@ -1,23 +1,34 @@
 package com.moviebooking.service;
 
+import com.moviebooking.dto.CursorPage;
+import com.moviebooking.dto.NearbyTheaterDto;
+import com.moviebooking.dto.ShowtimeDto;
 import com.moviebooking.dto.TheaterDto;
 import com.moviebooking.entity.Screen;
 import com.moviebooking.entity.Seat;
 import com.moviebooking.entity.Theater;
 import com.moviebooking.entity.enums.TheaterType;
+import com.moviebooking.exception.BadRequestException;
 import com.moviebooking.exception.ResourceNotFoundException;
 import com.moviebooking.patterns.factory.TheaterFactory;
 import com.moviebooking.patterns.factory.TheaterFactoryProvider;
+import com.moviebooking.patterns.strategy.HolidayCalendar;
 import com.moviebooking.repository.ScreenRepository;
 import com.moviebooking.repository.SeatRepository;
+import com.moviebooking.repository.ShowtimeRepository;
 import com.moviebooking.repository.TheaterRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.math.BigDecimal;
-import java.util.List;
+import java.time.LocalDateTime;
+import java.util.*;
 import java.util.stream.Collectors;
 
 @Service
@@ -25,25 +36,57 @@ public class TheaterService {
 
     private static final Logger log = LoggerFactory.getLogger(TheaterService.class);
 
+    private static final int MAX_NEARBY_RESULTS = 50;
+
     private final TheaterRepository theaterRepository;
     private final ScreenRepository screenRepository;
     private final SeatRepository seatRepository;
+    private final ShowtimeRepository showtimeRepository;
     private final TheaterFactoryProvider factoryProvider;
+    private final TheaterGeoIndex geoIndex;
+    private final ScreenLayoutRegistry layoutRegistry;
+    private final LiveAnalyticsStore liveAnalytics;
+    private final HolidayCalendar holidayCalendar;
+    private final double maxRadiusKm;
 
     public TheaterService(TheaterRepository theaterRepository, ScreenRepository screenRepository,
-                         SeatRepository seatRepository, TheaterFactoryProvider factoryProvider) {
+                         SeatRepository seatRepository, ShowtimeRepository showtimeRepository,
+                         TheaterFactoryProvider factoryProvider, TheaterGeoIndex geoIndex,
+                         ScreenLayoutRegistry layoutRegistry, LiveAnalyticsStore liveAnalytics,
+                         HolidayCalendar holidayCalendar,
+                         @Value("${geo.max-radius-km:100}") double maxRadiusKm) {
         this.theaterRepository = theaterRepository;
         this.screenRepository = screenRepository;
         this.seatRepository = seatRepository;
+        this.showtimeRepository = showtimeRepository;
         this.factoryProvider = factoryProvider;
+        this.geoIndex = geoIndex;
+        this.layoutRegistry = layoutRegistry;
+        this.liveAnalytics = liveAnalytics;
+        this.holidayCalendar = holidayCalendar;
+        this.maxRadiusKm = maxRadiusKm;
     }
 
+    /** @deprecated unbounded; use {@link #getTheatersPage} */
+    @Deprecated
     public List<TheaterDto> getAllTheaters() {
         return theaterRepository.findAll().stream()
                 .map(TheaterDto::fromEntity)
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Theaters one keyset page at a time, ordered by name.
+     */
+    public CursorPage<TheaterDto> getTheatersPage(String cursor, int size) {
+        CursorPage.validateSize(size);
+        CursorPage.Cursor after = CursorPage.Cursor.decode(cursor);
+        List<Theater> theaters = theaterRepository.findPage(after != null ? after.key() : "",
+                after != null ? after.id() : 0L, PageRequest.of(0, size + 1));
+        return CursorPage.of(theaters, size, th -> CursorPage.Cursor.of(th.getName(), th.getId()))
+                .map(TheaterDto::fromEntity);
+    }
+
     public List<TheaterDto> getActiveTheaters() {
         return theaterRepository.findByIsActiveTrue().stream()
                 .map(TheaterDto::fromEntity)
@@ -88,7 +131,7 @@ public class TheaterService {
     @Transactional
     public TheaterDto createTheater(String name, String location, String city, String state,
                                     String pincode, TheaterType theaterType, int numScreens,
-                                    String facilities) {
+                                    String facilities, BigDecimal latitude, BigDecimal longitude) {
         Theater theater = new Theater();
         theater.setName(name);
         theater.setLocation(location);
@@ -98,16 +141,21 @@ public class TheaterService {
         theater.setTheaterType(theaterType);
         theater.setTotalScreens(numScreens);
         theater.setFacilities(facilities);
+        theater.setLatitude(latitude);
+        theater.setLongitude(longitude);
         theater.setIsActive(true);
         theater = theaterRepository.save(theater);
+        indexAfterCommit(theater);
 
         // Use Abstract Factory to create screens and seats
         TheaterFactory factory = factoryProvider.getFactory(theaterType);
         BigDecimal basePrice = factory.getBaseTicketPrice();
 
+        List<Long> screenIds = new ArrayList<>();
         for (int i = 1; i <= numScreens; i++) {
             Screen screen = factory.createScreen(theater, i, null);
             screen = screenRepository.save(screen);
+            screenIds.add(screen.getId());
 
             List<Seat> seats = factory.createSeats(screen, basePrice);
             seatRepository.saveAll(seats);
@@ -115,6 +163,10 @@ public class TheaterService {
             log.info("Created screen '{}' with {} seats for theater '{}'",
                     screen.getScreenName(), seats.size(), theater.getName());
         }
+        // A seat map read during this transaction could have cached an empty layout for a new screen
+        layoutRegistry.invalidateAfterCommit(screenIds);
+        holidayCalendar.invalidateScreensAfterCommit(screenIds);
+        liveAnalytics.refreshTheatersAfterCommit();
 
         return getTheaterById(theater.getId());
     }
@@ -122,4 +174,82 @@ public class TheaterService {
     public List<Screen> getScreensForTheater(Long theaterId) {
         return screenRepository.findByTheaterIdAndIsActiveTrue(theaterId);
     }
+
+    /**
+     * The k nearest active theaters within radiusKm, nearest first.
+     */
+    public List<NearbyTheaterDto> getNearbyTheaters(double lat, double lng, double radiusKm, int limit) {
+        validateGeoQuery(lat, lng, radiusKm);
+        List<TheaterGeoIndex.Hit> hits = geoIndex.nearest(lat, lng, radiusKm, Math.max(1, Math.min(limit, MAX_NEARBY_RESULTS)));
+        Map<Long, Theater> theaters = loadTheaters(hits);
+
+        List<NearbyTheaterDto> result = new ArrayList<>();
+        for (TheaterGeoIndex.Hit hit : hits) {
+            Theater theater = theaters.get(hit.theaterId());
+            if (theater != null) result.add(toNearbyDto(theater, hit));
+        }
+        return result;
+    }
+
+    /**
+     * Upcoming showtimes of a movie at the k nearest theaters within radiusKm.
+     * Theaters are ordered by distance and each theater's showtimes by start time;
+     * theaters not showing the movie are left out.
+     */
+    public List<NearbyTheaterDto> getNearbyShowtimes(Long movieId, double lat, double lng, double radiusKm, int limit) {
+        validateGeoQuery(lat, lng, radiusKm);
+        List<TheaterGeoIndex.Hit> hits = geoIndex.nearest(lat, lng, radiusKm, Math.max(1, Math.min(limit, MAX_NEARBY_RESULTS)));
+        if (hits.isEmpty()) return List.of();
+
+        Map<Long, List<ShowtimeDto>> showtimesByTheater = new HashMap<>();
+        List<Long> theaterIds = hits.stream().map(TheaterGeoIndex.Hit::theaterId).toList();
+        for (ShowtimeDto s : showtimeRepository.findUpcomingDtosAtTheaters(movieId, theaterIds, LocalDateTime.now())) {
+            showtimesByTheater.computeIfAbsent(s.getTheaterId(), id -> new ArrayList<>()).add(s);
+        }
+        Map<Long, Theater> theaters = loadTheaters(hits);
+
+        List<NearbyTheaterDto> result = new ArrayList<>();
+        for (TheaterGeoIndex.Hit hit : hits) {
+            List<ShowtimeDto> showtimes = showtimesByTheater.get(hit.theaterId());
+            if (showtimes == null) continue;
+            NearbyTheaterDto dto = toNearbyDto(theaters.get(hit.theaterId()), hit);
+            dto.setShowtimes(showtimes);
+            result.add(dto);
+        }
+        return result;
+    }
+
+    private void validateGeoQuery(double lat, double lng, double radiusKm) {
+        if (lat < -90 || lat > 90 || lng < -180 || lng > 180) {
+            throw new BadRequestException("Invalid coordinates");
+        }
+        if (radiusKm <= 0 || radiusKm > maxRadiusKm) {
+            throw new BadRequestException("Radius must be between 0 and " + maxRadiusKm + " km");
+        }
+    }
+
+    private Map<Long, Theater> loadTheaters(List<TheaterGeoIndex.Hit> hits) {
+        return theaterRepository.findAllById(hits.stream().map(TheaterGeoIndex.Hit::theaterId).toList()).stream()
+                .collect(Collectors.toMap(Theater::getId, t -> t));
+    }
+
+    private NearbyTheaterDto toNearbyDto(Theater theater, TheaterGeoIndex.Hit hit) {
+        NearbyTheaterDto dto = new NearbyTheaterDto();
+        dto.setTheater(TheaterDto.fromEntity(theater));
+        dto.setDistanceKm(Math.round(hit.distanceKm() * 100) / 100.0);
+        return dto;
+    }
+
+    private void indexAfterCommit(Theater theater) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    geoIndex.put(theater);
+                }
+            });
+        } else {
+            geoIndex.put(theater);
+        }
+    }
 }
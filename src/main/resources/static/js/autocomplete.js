@@ -0,0 +1,25 @@
+// Type-ahead suggestions for a movie search box, debounced so fast typing sends one request.
+// Options are built as DOM nodes so suggestion text is never parsed as HTML.
+function attachMovieAutocomplete(inputId, listId) {
+    const input = document.getElementById(inputId);
+    const list = document.getElementById(listId);
+    let suggestTimer;
+    input.addEventListener('input', function() {
+        clearTimeout(suggestTimer);
+        const query = this.value.trim();
+        if (!query) return;
+        suggestTimer = setTimeout(() => {
+            fetch('/api/movies/search/autocomplete?q=' + encodeURIComponent(query))
+                .then(r => r.json())
+                .then(res => {
+                    list.replaceChildren(...(res.data || []).map(s => {
+                        const option = document.createElement('option');
+                        option.value = s.text;
+                        option.textContent = s.type;
+                        return option;
+                    }));
+                })
+                .catch(() => {});
+        }, 150);
+    });
+}
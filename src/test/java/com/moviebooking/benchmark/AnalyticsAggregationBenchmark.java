@@ -0,0 +1,152 @@
+package com.moviebooking.benchmark;
+
+import com.moviebooking.MovieBookingApplication;
+import com.moviebooking.repository.BookingRepository;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Analytics reports over a large bookings table: the GROUP BY aggregate queries against the
+ * load-everything-and-filter approach they replaced.
+ *
+ * Boots the application on the dev H2 database, then bulk-inserts synthetic bookings spread over
+ * the seeded showtimes, users and the last 90 days. Each operation produces the movie performance,
+ * status distribution and summary figures.
+ *
+ * The baseline reads the bookings table once per report as plain JDBC rows and filters in Java
+ * the way the old code did (one pass per movie and per status). The old code went through
+ * findAll(), which also built entities and loaded each booking's payment, so the baseline is a
+ * lower bound. H2 runs in the benchmark JVM, so the profiler's allocation figures include the
+ * database engine's own work; on H2 the status GROUP BY also walks idx_bookings_status_datetime
+ * and fetches every row, so compare latency on PostgreSQL before drawing conclusions from it.
+ * Run with the GC profiler to compare heap allocated per report:
+ *
+ *   mvn -q test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt
+ *   java -cp target/test-classes:target/classes:$(cat target/cp.txt) org.openjdk.jmh.Main AnalyticsAggregationBenchmark -prof gc
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgs = {"-Xmx3g"})
+@State(Scope.Benchmark)
+public class AnalyticsAggregationBenchmark {
+
+    private static final String[] STATUSES = {"PENDING", "LOCKED", "CONFIRMED", "CANCELLED", "REFUNDED"};
+    private static final int INSERT_BATCH = 10_000;
+
+    @Param("1000000")
+    public int bookings;
+
+    private ConfigurableApplicationContext context;
+    private BookingRepository bookingRepository;
+    private JdbcTemplate jdbc;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(MovieBookingApplication.class)
+                .properties("server.port=0",
+                        "spring.jpa.show-sql=false",
+                        "logging.level.root=WARN",
+                        "email.dispatch.interval-ms=3600000",
+                        "reminder.load-interval-ms=3600000")
+                .run();
+        bookingRepository = context.getBean(BookingRepository.class);
+        jdbc = context.getBean(JdbcTemplate.class);
+        insertBookings();
+    }
+
+    /** Live bookings change between reports; without a write H2 hands back the previous result */
+    @Setup(Level.Invocation)
+    public void touchBookings() {
+        jdbc.update("UPDATE bookings SET num_seats = num_seats WHERE id = 1");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void groupByQueries(Blackhole bh) {
+        bh.consume(bookingRepository.aggregateMoviePerformance());
+        bh.consume(bookingRepository.aggregateByStatus()); // status distribution
+        bh.consume(bookingRepository.aggregateByStatus()); // summary
+    }
+
+    @Benchmark
+    public void fullTableInJava(Blackhole bh) {
+        // Movie performance: every movie, three passes over all bookings each
+        List<Long> movieIds = jdbc.queryForList("SELECT id FROM movies", Long.class);
+        List<Row> all = loadAll();
+        for (Long movieId : movieIds) {
+            bh.consume(all.stream().filter(b -> b.movieId == movieId && "CONFIRMED".equals(b.status)).count());
+            bh.consume(all.stream().filter(b -> b.movieId == movieId && "CONFIRMED".equals(b.status))
+                    .map(b -> b.totalAmount).reduce(BigDecimal.ZERO, BigDecimal::add));
+            bh.consume(all.stream().filter(b -> b.movieId == movieId && "CONFIRMED".equals(b.status))
+                    .mapToLong(b -> b.numSeats).sum());
+        }
+
+        // Status distribution: one pass per status
+        all = loadAll();
+        for (String status : STATUSES) {
+            bh.consume(all.stream().filter(b -> status.equals(b.status)).count());
+        }
+
+        // Summary: confirmed revenue, confirmed and cancelled counts
+        all = loadAll();
+        bh.consume(all.stream().filter(b -> "CONFIRMED".equals(b.status))
+                .map(b -> b.totalAmount).reduce(BigDecimal.ZERO, BigDecimal::add));
+        bh.consume(all.stream().filter(b -> "CONFIRMED".equals(b.status)).count());
+        bh.consume(all.stream().filter(b -> "CANCELLED".equals(b.status)).count());
+    }
+
+    private List<Row> loadAll() {
+        return jdbc.query("SELECT id, movie_id, status, total_amount, num_seats, booking_datetime FROM bookings",
+                (rs, i) -> new Row(rs.getLong(1), rs.getLong(2), rs.getString(3), rs.getBigDecimal(4),
+                        rs.getInt(5), rs.getTimestamp(6).toLocalDateTime()));
+    }
+
+    private void insertBookings() {
+        List<long[]> showtimes = jdbc.query(
+                "SELECT s.id, s.movie_id, s.screen_id, sc.theater_id FROM showtimes s JOIN screens sc ON sc.id = s.screen_id",
+                (rs, i) -> new long[]{rs.getLong(1), rs.getLong(2), rs.getLong(3), rs.getLong(4)});
+        List<Long> users = jdbc.queryForList("SELECT id FROM users", Long.class);
+        Random random = new Random(42);
+        LocalDateTime now = LocalDateTime.now();
+
+        String sql = "INSERT INTO bookings (booking_reference, user_id, showtime_id, movie_id, screen_id, theater_id, " +
+                "num_seats, ticket_amount, food_amount, tax_amount, discount_amount, total_amount, status, " +
+                "booking_datetime, confirmed_datetime) VALUES (?, ?, ?, ?, ?, ?, ?, ?, 0, ?, 0, ?, ?, ?, ?)";
+        List<Object[]> batch = new ArrayList<>(INSERT_BATCH);
+        for (int i = 0; i < bookings; i++) {
+            long[] showtime = showtimes.get(random.nextInt(showtimes.size()));
+            int seats = 1 + random.nextInt(6);
+            BigDecimal ticket = BigDecimal.valueOf(seats * (150L + random.nextInt(250)));
+            BigDecimal tax = ticket.multiply(new BigDecimal("0.18"));
+            int roll = random.nextInt(100);
+            String status = roll < 75 ? "CONFIRMED" : roll < 88 ? "CANCELLED" : roll < 95 ? "PENDING" : roll < 98 ? "LOCKED" : "REFUNDED";
+            Timestamp bookedAt = Timestamp.valueOf(now.minusMinutes(random.nextInt(90 * 24 * 60)));
+            batch.add(new Object[]{"BM" + i, users.get(random.nextInt(users.size())), showtime[0], showtime[1],
+                    showtime[2], showtime[3], seats, ticket, tax, ticket.add(tax), status, bookedAt,
+                    "CONFIRMED".equals(status) ? bookedAt : null});
+            if (batch.size() == INSERT_BATCH) {
+                jdbc.batchUpdate(sql, batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) jdbc.batchUpdate(sql, batch);
+    }
+
+    private record Row(long id, long movieId, String status, BigDecimal totalAmount, int numSeats,
+                       LocalDateTime bookingDatetime) {}
+}
@@ -0,0 +1,155 @@
+package com.moviebooking.benchmark;
+
+import com.moviebooking.entity.Movie;
+import com.moviebooking.repository.MovieCastRepository;
+import com.moviebooking.repository.MovieRepository;
+import com.moviebooking.service.MovieSearchIndex;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Movie search on a synthetic catalog: MovieSearchIndex against the LIKE query it replaced.
+ *
+ * Titles, directors and cast names are drawn from a generated vocabulary, so every query kind has
+ * matches: an exact word, a three-letter prefix, a word with one typo, and two words. The LIKE
+ * query runs on an in-memory H2 movies table with the same columns the old repository query
+ * scanned; it cannot match typos, so the typo row shows cost only.
+ *
+ *   mvn -q test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt
+ *   java -cp target/test-classes:target/classes:$(cat target/cp.txt) org.openjdk.jmh.Main MovieSearchBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xmx2g"})
+@State(Scope.Benchmark)
+public class MovieSearchBenchmark {
+
+    private static final String[] GENRES = {"Action", "Drama", "Comedy", "Thriller", "Sci-Fi", "Horror", "Romance", "Animation"};
+    private static final String[] LANGUAGES = {"English", "Hindi", "Tamil", "Telugu", "Malayalam", "Kannada", "Bengali"};
+    private static final String LIKE_SQL = "SELECT id FROM movies WHERE LOWER(title) LIKE LOWER(CONCAT('%', ?, '%')) " +
+            "OR LOWER(genre) LIKE LOWER(CONCAT('%', ?, '%')) OR LOWER(language) LIKE LOWER(CONCAT('%', ?, '%')) " +
+            "OR LOWER(director) LIKE LOWER(CONCAT('%', ?, '%'))";
+
+    @Param("100000")
+    public int movies;
+
+    @Param({"exact", "prefix", "typo", "twoWords"})
+    public String queryKind;
+
+    private MovieSearchIndex index;
+    private Connection connection;
+    private PreparedStatement likeQuery;
+    private String query;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        Random random = new Random(42);
+        List<String> words = vocabulary(random, 5_000);
+        List<Movie> catalog = new ArrayList<>(movies);
+        List<Object[]> cast = new ArrayList<>();
+        for (long id = 1; id <= movies; id++) {
+            Movie movie = new Movie();
+            movie.setId(id);
+            movie.setTitle(phrase(random, words, 1 + random.nextInt(4)));
+            movie.setDirector(phrase(random, words, 2));
+            movie.setGenre(GENRES[random.nextInt(GENRES.length)]);
+            movie.setLanguage(LANGUAGES[random.nextInt(LANGUAGES.length)]);
+            catalog.add(movie);
+            for (int c = 0; c < 4; c++) {
+                cast.add(new Object[]{id, phrase(random, words, 2), random.nextBoolean() ? phrase(random, words, 1) : null});
+            }
+        }
+
+        MovieRepository movieRepository = mock(MovieRepository.class);
+        MovieCastRepository movieCastRepository = mock(MovieCastRepository.class);
+        when(movieRepository.findAll()).thenReturn(catalog);
+        when(movieCastRepository.findAllSearchFields()).thenReturn(cast);
+        index = new MovieSearchIndex(movieRepository, movieCastRepository);
+        index.rebuild();
+
+        connection = DriverManager.getConnection("jdbc:h2:mem:search_benchmark");
+        try (Statement ddl = connection.createStatement()) {
+            ddl.execute("CREATE TABLE movies (id BIGINT PRIMARY KEY, title VARCHAR(255), genre VARCHAR(100), " +
+                    "language VARCHAR(50), director VARCHAR(255))");
+        }
+        try (PreparedStatement insert = connection.prepareStatement("INSERT INTO movies VALUES (?, ?, ?, ?, ?)")) {
+            for (Movie movie : catalog) {
+                insert.setLong(1, movie.getId());
+                insert.setString(2, movie.getTitle());
+                insert.setString(3, movie.getGenre());
+                insert.setString(4, movie.getLanguage());
+                insert.setString(5, movie.getDirector());
+                insert.addBatch();
+            }
+            insert.executeBatch();
+        }
+        likeQuery = connection.prepareStatement(LIKE_SQL);
+
+        String word = words.get(random.nextInt(words.size()));
+        query = switch (queryKind) {
+            case "exact" -> word;
+            case "prefix" -> word.substring(0, 3);
+            case "typo" -> word.substring(0, 2) + (word.charAt(2) == 'z' ? 'b' : 'z') + word.substring(3);
+            case "twoWords" -> word + " " + words.get(random.nextInt(words.size()));
+            default -> throw new IllegalArgumentException(queryKind);
+        };
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    @Benchmark
+    public List<Long> invertedIndex() {
+        return index.search(query, 20);
+    }
+
+    @Benchmark
+    public void likeQuery(Blackhole bh) throws SQLException {
+        for (int i = 1; i <= 4; i++) likeQuery.setString(i, query);
+        try (ResultSet rs = likeQuery.executeQuery()) {
+            while (rs.next()) bh.consume(rs.getLong(1));
+        }
+    }
+
+    /** Pronounceable words of 5 to 9 letters */
+    private static List<String> vocabulary(Random random, int size) {
+        String consonants = "bcdfghklmnprstvz";
+        String vowels = "aeiou";
+        Set<String> words = new LinkedHashSet<>();
+        while (words.size() < size) {
+            StringBuilder word = new StringBuilder();
+            int length = 5 + random.nextInt(5);
+            for (int i = 0; i < length; i++) {
+                String letters = i % 2 == 0 ? consonants : vowels;
+                word.append(letters.charAt(random.nextInt(letters.length())));
+            }
+            words.add(word.toString());
+        }
+        return new ArrayList<>(words);
+    }
+
+    private static String phrase(Random random, List<String> words, int count) {
+        StringJoiner joiner = new StringJoiner(" ");
+        for (int i = 0; i < count; i++) {
+            String word = words.get(random.nextInt(words.size()));
+            joiner.add(Character.toUpperCase(word.charAt(0)) + word.substring(1));
+        }
+        return joiner.toString();
+    }
+}
@@ -0,0 +1,62 @@
+package com.moviebooking.controller;
+
+import com.moviebooking.repository.MovieRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class MovieBrowseControllerEtagTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MovieRepository movieRepository;
+
+    @Test
+    void matchingIfNoneMatchReturnsNotModifiedWithoutBody() throws Exception {
+        String url = "/api/movies/browse/" + movieRepository.findAll().get(0).getId();
+        String etag = mockMvc.perform(get(url))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get(url).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void weakFormOfCurrentEtagAlsoMatches() throws Exception {
+        String url = "/api/movies/browse/now-showing/page";
+        String etag = mockMvc.perform(get(url)).andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get(url).header(HttpHeaders.IF_NONE_MATCH, "W/" + etag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void staleIfNoneMatchReturnsFullBody() throws Exception {
+        Long id = movieRepository.findAll().get(0).getId();
+
+        mockMvc.perform(get("/api/movies/browse/" + id).header(HttpHeaders.IF_NONE_MATCH, "\"catalog-stale\""))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andExpect(jsonPath("$.success").value(true))
+                .andExpect(jsonPath("$.data.id").value(id));
+    }
+
+    @Test
+    void wildcardIfNoneMatchDoesNotHideMissingMovie() throws Exception {
+        mockMvc.perform(get("/api/movies/browse/999999").header(HttpHeaders.IF_NONE_MATCH, "*"))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,84 @@
+package com.moviebooking.patterns.singleton;
+
+import com.moviebooking.patterns.strategy.PricingEngine;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.function.Executable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * update() applies a batch of changes as one snapshot or not at all. Each rejected batch below
+ * leads with a valid change so a partial apply would show up.
+ */
+@SpringBootTest
+class AppConfigManagerTest {
+
+    private final AppConfigManager config = AppConfigManager.getInstance();
+
+    @Autowired
+    private PricingEngine pricingEngine;
+
+    @Test
+    void unknownKeyRejectsTheWholeBatch() {
+        assertRejected("Unknown configuration key: no.such.key", () -> config.update(batch("no.such.key", "1")));
+    }
+
+    @Test
+    void readOnlyKeyRejectsTheWholeBatch() {
+        assertRejected("app.name is read-only", () -> config.update(batch("app.name", "Other")));
+    }
+
+    @Test
+    void unparseableValueRejectsTheWholeBatch() {
+        assertRejected("seat.lock.timeout.minutes must be a whole number",
+                () -> config.update(batch("seat.lock.timeout.minutes", "ten")));
+        assertRejected("pricing.gst.rate must be between 0 and 1", () -> config.update(batch("pricing.gst.rate", "1.5")));
+        assertRejected("booking.cancellation.half.refund.hours must not exceed booking.cancellation.full.refund.hours",
+                () -> config.update(batch("booking.cancellation.half.refund.hours", "48")));
+    }
+
+    @Test
+    void pricingRuleRejectedByListenerKeepsRulesAndSnapshot() {
+        long rulesVersion = pricingEngine.currentRules().getVersion();
+        assertThrows(IllegalArgumentException.class, () -> config.update(batch("pricing.peak.start", "evening")));
+        assertThrows(IllegalArgumentException.class, () -> config.update(batch("pricing.profile.custom", "NO_SUCH_STRATEGY")));
+        assertEquals(rulesVersion, pricingEngine.currentRules().getVersion());
+        assertFalse(config.getAllConfig().containsKey("pricing.profile.CUSTOM"));
+    }
+
+    @Test
+    void validBatchIsPublishedAsOneVersion() {
+        ConfigSnapshot before = config.snapshot();
+        try {
+            ConfigSnapshot after = config.update(Map.of("seat.max.per.booking", "12", "seat.lock.timeout.minutes", "15"));
+            assertEquals(before.version() + 1, after.version());
+            assertSame(after, config.snapshot());
+            assertEquals(12, after.seatMaxPerBooking());
+            assertEquals(15, after.seatLockTimeoutMinutes());
+        } finally {
+            config.update(Map.of("seat.max.per.booking", before.values().get("seat.max.per.booking"),
+                    "seat.lock.timeout.minutes", before.values().get("seat.lock.timeout.minutes")));
+        }
+    }
+
+    /** A valid change followed by the one under test */
+    private static Map<String, String> batch(String key, String value) {
+        Map<String, String> changes = new LinkedHashMap<>();
+        changes.put("seat.max.per.booking", "7");
+        changes.put(key, value);
+        return changes;
+    }
+
+    private void assertRejected(String message, Executable update) {
+        ConfigSnapshot before = config.snapshot();
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, update);
+        assertEquals(message, e.getMessage());
+        assertSame(before, config.snapshot());
+        assertEquals(before.seatMaxPerBooking(), config.snapshot().seatMaxPerBooking());
+    }
+}
@@ -0,0 +1,78 @@
+package com.moviebooking.patterns.strategy;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Ring bookkeeping of SalesVelocityTracker. With a 120-minute window over 12 buckets each bucket
+ * is 10 minutes; times are whole buckets away from now so they land in predictable slots.
+ */
+class SalesVelocityTrackerTest {
+
+    private static final long BUCKET = 10 * 60_000L;
+    private static final Long SHOWTIME = 1L;
+
+    private final SalesVelocityTracker tracker = new SalesVelocityTracker(null, 120, 12);
+
+    @Test
+    void windowSumsEveryBucketStillInside() {
+        long now = System.currentTimeMillis();
+        tracker.record(SHOWTIME, 2, now);
+        tracker.record(SHOWTIME, 3, now);
+        tracker.record(SHOWTIME, 4, now - 5 * BUCKET);
+        tracker.record(SHOWTIME, 1, now - 11 * BUCKET);
+
+        assertEquals(10, tracker.windowSeats(SHOWTIME));
+        assertEquals(0, tracker.windowSeats(2L));
+    }
+
+    @Test
+    void salesOlderThanTheWindowAreIgnored() {
+        long now = System.currentTimeMillis();
+        tracker.record(SHOWTIME, 5, now - 12 * BUCKET);
+        tracker.record(SHOWTIME, 7, now - 30 * BUCKET);
+
+        assertEquals(0, tracker.windowSeats(SHOWTIME));
+    }
+
+    @Test
+    void laterLapResetsTheSlotItReuses() {
+        long now = System.currentTimeMillis();
+        // Eleven buckets back and one ahead share a slot
+        tracker.record(SHOWTIME, 5, now - 11 * BUCKET);
+        tracker.record(SHOWTIME, 3, now + BUCKET);
+
+        assertEquals(3, tracker.windowSeats(SHOWTIME));
+    }
+
+    @Test
+    void earlierLapDoesNotOverwriteALaterOne() {
+        long now = System.currentTimeMillis();
+        tracker.record(SHOWTIME, 3, now + BUCKET);
+        tracker.record(SHOWTIME, 5, now - 11 * BUCKET);
+
+        assertEquals(3, tracker.windowSeats(SHOWTIME));
+    }
+
+    @Test
+    void cancellationTakesTheSaleBackOutOfItsBucket() {
+        long now = System.currentTimeMillis();
+        tracker.record(SHOWTIME, 4, now - 3 * BUCKET);
+        tracker.record(SHOWTIME, 2, now);
+
+        tracker.record(SHOWTIME, -3, now - 3 * BUCKET);
+        assertEquals(3, tracker.windowSeats(SHOWTIME));
+
+        // Never below zero, and the other bucket is untouched
+        tracker.record(SHOWTIME, -5, now - 3 * BUCKET);
+        assertEquals(2, tracker.windowSeats(SHOWTIME));
+
+        // A sale from a bucket with nothing counted, or outside the window, has nothing to take back
+        tracker.record(SHOWTIME, -2, now - 6 * BUCKET);
+        tracker.record(SHOWTIME, -2, now - 20 * BUCKET);
+        tracker.record(2L, -2, now);
+        assertEquals(2, tracker.windowSeats(SHOWTIME));
+        assertEquals(0, tracker.windowSeats(2L));
+    }
+}
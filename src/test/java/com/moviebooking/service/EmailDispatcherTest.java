@@ -0,0 +1,182 @@
+package com.moviebooking.service;
+
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import com.moviebooking.entity.Booking;
+import com.moviebooking.entity.EmailOutbox;
+import com.moviebooking.entity.Showtime;
+import com.moviebooking.entity.enums.EmailStatus;
+import com.moviebooking.entity.enums.EmailType;
+import com.moviebooking.repository.BookingRepository;
+import com.moviebooking.repository.EmailOutboxRepository;
+import com.moviebooking.repository.ShowtimeRepository;
+import com.moviebooking.repository.UserRepository;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Drives the outbox through EmailDispatcher against an in-process SMTP server.
+ * The scheduled poll is pushed out of the way so each test calls dispatch() itself.
+ */
+@SpringBootTest(properties = {
+        "spring.mail.host=localhost",
+        "spring.mail.port=3025",
+        "email.dispatch.interval-ms=3600000",
+        "email.dispatch.max-attempts=2",
+        "email.dispatch.backoff-seconds=30"
+})
+class EmailDispatcherTest {
+
+    @RegisterExtension
+    static GreenMailExtension smtp = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    @Autowired
+    private EmailDispatcher dispatcher;
+
+    @Autowired
+    private EmailOutboxRepository emailOutboxRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private ShowtimeRepository showtimeRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Long bookingId;
+
+    @BeforeEach
+    void setUp() {
+        emailOutboxRepository.deleteAll();
+        bookingId = createBooking();
+    }
+
+    @Test
+    void dueEmailsAreSentOverSmtpAndMarkedSent() throws Exception {
+        Long first = enqueue(bookingId);
+        Long second = enqueue(bookingId);
+
+        dispatcher.dispatch();
+
+        MimeMessage[] received = smtp.getReceivedMessages();
+        assertEquals(2, received.length);
+        assertEquals("shrish@example.com", received[0].getAllRecipients()[0].toString());
+        for (Long id : List.of(first, second)) {
+            EmailOutbox email = emailOutboxRepository.findById(id).orElseThrow();
+            assertEquals(EmailStatus.SENT, email.getStatus());
+            assertEquals(1, email.getAttempts());
+            assertNotNull(email.getSentAt());
+        }
+    }
+
+    @Test
+    void smtpOutageIsRetriedAfterBackoff() {
+        Long id = enqueue(bookingId);
+        smtp.stop();
+
+        LocalDateTime before = LocalDateTime.now();
+        dispatcher.dispatch();
+
+        EmailOutbox failed = emailOutboxRepository.findById(id).orElseThrow();
+        assertEquals(EmailStatus.PENDING, failed.getStatus());
+        assertEquals(1, failed.getAttempts());
+        assertNotNull(failed.getLastError());
+        assertFalse(failed.getNextAttemptAt().isBefore(before.plusSeconds(30)));
+
+        // Not due yet: the next poll leaves it alone
+        smtp.start();
+        dispatcher.dispatch();
+        assertEquals(1, emailOutboxRepository.findById(id).orElseThrow().getAttempts());
+        assertEquals(0, smtp.getReceivedMessages().length);
+
+        makeDue(id);
+        dispatcher.dispatch();
+
+        EmailOutbox sent = emailOutboxRepository.findById(id).orElseThrow();
+        assertEquals(EmailStatus.SENT, sent.getStatus());
+        assertEquals(2, sent.getAttempts());
+        assertNull(sent.getLastError());
+        assertEquals(1, smtp.getReceivedMessages().length);
+    }
+
+    @Test
+    void emailFailsPermanentlyAfterMaxAttempts() {
+        Long id = enqueue(Long.MAX_VALUE);
+
+        dispatcher.dispatch();
+        assertEquals(EmailStatus.PENDING, emailOutboxRepository.findById(id).orElseThrow().getStatus());
+
+        makeDue(id);
+        dispatcher.dispatch();
+
+        EmailOutbox email = emailOutboxRepository.findById(id).orElseThrow();
+        assertEquals(EmailStatus.FAILED, email.getStatus());
+        assertEquals(2, email.getAttempts());
+        assertTrue(email.getLastError().contains("not found"));
+        assertEquals(0, smtp.getReceivedMessages().length);
+    }
+
+    @Test
+    void claimedRowsAreNotClaimedAgainUntilReleased() {
+        Long id = enqueue(bookingId);
+        List<Long> ids = List.of(id);
+
+        assertEquals(1, (int) transactionTemplate.execute(status -> emailOutboxRepository.claim(ids)));
+        assertEquals(0, (int) transactionTemplate.execute(status -> emailOutboxRepository.claim(ids)));
+        assertTrue(emailOutboxRepository.findDue(LocalDateTime.now(), PageRequest.of(0, 10)).isEmpty());
+
+        assertEquals(1, (int) transactionTemplate.execute(status -> emailOutboxRepository.release(ids)));
+        assertEquals(EmailStatus.PENDING, emailOutboxRepository.findById(id).orElseThrow().getStatus());
+
+        dispatcher.dispatch();
+        assertEquals(EmailStatus.SENT, emailOutboxRepository.findById(id).orElseThrow().getStatus());
+    }
+
+    private Long enqueue(Long forBooking) {
+        EmailOutbox email = new EmailOutbox();
+        email.setEmailType(EmailType.BOOKING_CONFIRMATION);
+        email.setBookingId(forBooking);
+        return emailOutboxRepository.save(email).getId();
+    }
+
+    private void makeDue(Long id) {
+        EmailOutbox email = emailOutboxRepository.findById(id).orElseThrow();
+        email.setNextAttemptAt(LocalDateTime.now().minusSeconds(1));
+        emailOutboxRepository.save(email);
+    }
+
+    private Long createBooking() {
+        return transactionTemplate.execute(status -> {
+            Showtime showtime = showtimeRepository.findAll().get(0);
+            Booking booking = new Booking();
+            booking.setBookingReference("BKTEST" + System.nanoTime() % 100000);
+            booking.setUser(userRepository.findByEmail("shrish@example.com").orElseThrow());
+            booking.setShowtime(showtime);
+            booking.setMovie(showtime.getMovie());
+            booking.setScreen(showtime.getScreen());
+            booking.setTheater(showtime.getScreen().getTheater());
+            booking.setNumSeats(2);
+            booking.setTicketAmount(new BigDecimal("400.00"));
+            booking.setTaxAmount(new BigDecimal("72.00"));
+            booking.setTotalAmount(new BigDecimal("472.00"));
+            return bookingRepository.save(booking).getId();
+        });
+    }
+}
@@ -0,0 +1,113 @@
+package com.moviebooking.service;
+
+import com.moviebooking.entity.Seat;
+import com.moviebooking.entity.SeatLock;
+import com.moviebooking.entity.Showtime;
+import com.moviebooking.patterns.strategy.PricingEngine;
+import com.moviebooking.repository.ShowtimeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@Transactional
+class PriceQuoteServiceTest {
+
+    @Autowired
+    private PriceQuoteService priceQuotes;
+
+    @Autowired
+    private PricingEngine pricingEngine;
+
+    @Autowired
+    private ShowtimeRepository showtimeRepository;
+
+    @Autowired
+    private ScreenLayoutRegistry layouts;
+
+    private Showtime showtime;
+    private ScreenLayout layout;
+    private long nextLockId = 1_000_000;
+
+    @BeforeEach
+    void setUp() {
+        showtime = showtimeRepository.findAll().get(0);
+        layout = layouts.get(showtime.getScreen().getId());
+    }
+
+    @Test
+    void quotesFromOneRulesVersionAreReused() {
+        List<SeatLock> locks = List.of(lock(0, 10), lock(1, 10));
+        List<PriceQuoteService.Quote> quoted = priceQuotes.quoteLocks(showtime, layout, locks);
+
+        PriceQuoteService.BookingPrice price = priceQuotes.priceBooking(showtime, layout, new int[]{1, 0}, locks);
+
+        assertTrue(price.fromQuotes());
+        assertEquals(quoted.get(0).pricingVersion(), price.pricingVersion());
+        assertEquals(quoted.get(1).price(), price.prices()[0]);
+        assertEquals(quoted.get(0).price(), price.prices()[1]);
+    }
+
+    @Test
+    void quotesFromMixedRulesVersionsAreRepricedTogether() {
+        SeatLock first = lock(0, 10);
+        long oldVersion = priceQuotes.quoteLocks(showtime, layout, List.of(first)).get(0).pricingVersion();
+        pricingEngine.reload();
+        SeatLock second = lock(1, 10);
+        long newVersion = priceQuotes.quoteLocks(showtime, layout, List.of(second)).get(0).pricingVersion();
+        assertNotEquals(oldVersion, newVersion);
+
+        PriceQuoteService.BookingPrice price = priceQuotes.priceBooking(showtime, layout, new int[]{0, 1}, List.of(first, second));
+
+        assertFalse(price.fromQuotes());
+        assertEquals(pricingEngine.currentRules().getVersion(), price.pricingVersion());
+        for (int i = 0; i < 2; i++) {
+            assertEquals(pricingEngine.calculateFinalPrice(layout.basePrice(i), showtime, pricingEngine.currentRules()),
+                    price.prices()[i]);
+        }
+    }
+
+    @Test
+    void seatWithoutQuoteRepricesTheWholeBooking() {
+        SeatLock held = lock(0, 10);
+        priceQuotes.quoteLocks(showtime, layout, List.of(held));
+
+        PriceQuoteService.BookingPrice price = priceQuotes.priceBooking(showtime, layout, new int[]{0, 1}, List.of(held));
+
+        assertFalse(price.fromQuotes());
+        assertEquals(pricingEngine.currentRules().getVersion(), price.pricingVersion());
+    }
+
+    @Test
+    void expiredOrDiscardedQuotesAreNotReused() {
+        SeatLock expired = lock(0, -1);
+        priceQuotes.quoteLocks(showtime, layout, List.of(expired));
+        assertFalse(priceQuotes.priceBooking(showtime, layout, new int[]{0}, List.of(expired)).fromQuotes());
+
+        SeatLock released = lock(1, 10);
+        priceQuotes.quoteLocks(showtime, layout, List.of(released));
+        priceQuotes.discard(List.of(released));
+        // Discarding waits for the surrounding transaction to commit
+        assertTrue(priceQuotes.priceBooking(showtime, layout, new int[]{1}, List.of(released)).fromQuotes());
+        assertEquals(1, priceQuotes.quotesFor(List.of(released)).size());
+    }
+
+    private SeatLock lock(int position, int minutesLeft) {
+        Seat seat = new Seat();
+        seat.setId(layout.seatId(position));
+        SeatLock lock = new SeatLock();
+        lock.setId(nextLockId++);
+        lock.setSeat(seat);
+        lock.setShowtime(showtime);
+        lock.setLockedAt(LocalDateTime.now());
+        lock.setLockedUntil(LocalDateTime.now().plusMinutes(minutesLeft));
+        return lock;
+    }
+}
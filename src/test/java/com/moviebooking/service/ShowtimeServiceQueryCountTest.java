@@ -0,0 +1,105 @@
+package com.moviebooking.service;
+
+import com.moviebooking.dto.ScheduleGridDto;
+import com.moviebooking.dto.ShowtimeDto;
+import com.moviebooking.entity.Showtime;
+import com.moviebooking.entity.enums.ShowtimeStatus;
+import com.moviebooking.repository.ShowtimeRepository;
+import com.moviebooking.repository.TheaterRepository;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The showtime listings are single projection queries; these pin that down so a lazy association
+ * slipping back into the DTO mapping shows up as extra statements. Statements are counted per
+ * thread, so the scheduled jobs running alongside do not skew the numbers.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.moviebooking.service.ShowtimeServiceQueryCountTest$StatementCounter")
+class ShowtimeServiceQueryCountTest {
+
+    @Autowired
+    private ShowtimeService showtimeService;
+
+    @Autowired
+    private ShowtimeRepository showtimeRepository;
+
+    @Autowired
+    private TheaterRepository theaterRepository;
+
+    private final LocalDate date = LocalDate.now().plusDays(1);
+
+    @Test
+    void showtimesByDateUseOneQuery() {
+        StatementCounter.reset();
+        List<ShowtimeDto> showtimes = showtimeService.getShowtimesByDate(date);
+
+        assertThat(StatementCounter.count()).isEqualTo(1);
+        assertThat(showtimes).isNotEmpty();
+    }
+
+    @Test
+    void showtimesByTheaterAndDateUseOneQuery() {
+        Long theaterId = theaterRepository.findAll().get(0).getId();
+
+        StatementCounter.reset();
+        List<ShowtimeDto> showtimes = showtimeService.getShowtimesForTheaterAndDate(theaterId, date);
+
+        assertThat(StatementCounter.count()).isEqualTo(1);
+        assertThat(showtimes).isNotEmpty().allMatch(s -> s.getTheaterId().equals(theaterId));
+    }
+
+    @Test
+    void scheduleGridUsesOneQuery() {
+        StatementCounter.reset();
+        ScheduleGridDto grid = showtimeService.getScheduleGrid(date);
+
+        assertThat(StatementCounter.count()).isEqualTo(1);
+        assertThat(grid.getTheaters()).isNotEmpty();
+    }
+
+    @Test
+    @Transactional
+    void scheduleGridLeavesOutCancelledShowtimes() {
+        Showtime cancelled = showtimeRepository.findById(showtimeService.getShowtimesByDate(date).get(0).getId())
+                .orElseThrow();
+        cancelled.setStatus(ShowtimeStatus.CANCELLED);
+        showtimeRepository.flush();
+
+        ScheduleGridDto grid = showtimeService.getScheduleGrid(date);
+
+        assertThat(grid.getTheaters())
+                .flatMap(ScheduleGridDto.TheaterSchedule::getScreens)
+                .flatMap(ScheduleGridDto.ScreenSchedule::getShowtimes)
+                .isNotEmpty()
+                .noneMatch(s -> s.getId().equals(cancelled.getId()));
+    }
+
+    /** Counts the statements Hibernate prepares on the current thread */
+    public static class StatementCounter implements StatementInspector {
+
+        private static final ThreadLocal<Integer> COUNT = ThreadLocal.withInitial(() -> 0);
+
+        static void reset() {
+            COUNT.set(0);
+        }
+
+        static int count() {
+            return COUNT.get();
+        }
+
+        @Override
+        public String inspect(String sql) {
+            COUNT.set(COUNT.get() + 1);
+            return sql;
+        }
+    }
+}